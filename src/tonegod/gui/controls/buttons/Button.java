@@ -25,7 +25,7 @@ import tonegod.gui.core.Element;
 import tonegod.gui.core.ElementManager;
 import tonegod.gui.core.Screen;
 import tonegod.gui.style.StyleManager.CursorType;
-import tonegod.gui.core.utils.BitmapTextUtil;
+import tonegod.gui.core.utils.TextMetrics;
 import tonegod.gui.core.utils.UIDUtil;
 import tonegod.gui.effects.Effect;
 import tonegod.gui.listeners.KeyboardListener;
@@ -33,12 +33,21 @@ import tonegod.gui.listeners.MouseButtonListener;
 import tonegod.gui.listeners.MouseFocusListener;
 import tonegod.gui.listeners.TabFocusListener;
 import tonegod.gui.style.Style;
+import tonegod.gui.style.StyleKey;
 
 /**
  *
  * @author t0neg0d
  */
 public abstract class Button extends Element implements Control, MouseButtonListener, MouseFocusListener, KeyboardListener, TabFocusListener {
+	private static final StyleKey TILE_IMAGES = StyleKey.get("tileImages");
+	private static final StyleKey HOVER_SOUND = StyleKey.get("hoverSound");
+	private static final StyleKey USE_HOVER_SOUND = StyleKey.get("useHoverSound");
+	private static final StyleKey HOVER_SOUND_VOLUME = StyleKey.get("hoverSoundVolume");
+	private static final StyleKey PRESSED_SOUND = StyleKey.get("pressedSound");
+	private static final StyleKey USE_PRESSED_SOUND = StyleKey.get("usePressedSound");
+	private static final StyleKey PRESSED_SOUND_VOLUME = StyleKey.get("pressedSoundVolume");
+	
 	protected String hoverSound, pressedSound;
 	protected boolean useHoverSound, usePressedSound;
 	protected float hoverSoundVolume, pressedSoundVolume;
@@ -69,9 +78,9 @@ public abstract class Button extends Element implements Control, MouseButtonList
 	 */
 	public Button(ElementManager screen) {
 		this(screen, UIDUtil.getUID(), Vector2f.ZERO,
-			screen.getStyle("Button").getVector2f("defaultSize"),
-			screen.getStyle("Button").getVector4f("resizeBorders"),
-			screen.getStyle("Button").getString("defaultImg")
+			screen.getStyle("Button").getVector2f(StyleKey.DEFAULT_SIZE),
+			screen.getStyle("Button").getVector4f(StyleKey.RESIZE_BORDERS),
+			screen.getStyle("Button").getString(StyleKey.DEFAULT_IMG)
 		);
 	}
 	
@@ -83,9 +92,9 @@ public abstract class Button extends Element implements Control, MouseButtonList
 	 */
 	public Button(ElementManager screen, Vector2f position) {
 		this(screen, UIDUtil.getUID(), position,
-			screen.getStyle("Button").getVector2f("defaultSize"),
-			screen.getStyle("Button").getVector4f("resizeBorders"),
-			screen.getStyle("Button").getString("defaultImg")
+			screen.getStyle("Button").getVector2f(StyleKey.DEFAULT_SIZE),
+			screen.getStyle("Button").getVector4f(StyleKey.RESIZE_BORDERS),
+			screen.getStyle("Button").getString(StyleKey.DEFAULT_IMG)
 		);
 	}
 	
@@ -98,8 +107,8 @@ public abstract class Button extends Element implements Control, MouseButtonList
 	 */
 	public Button(ElementManager screen, Vector2f position, Vector2f dimensions) {
 		this(screen, UIDUtil.getUID(), position, dimensions,
-			screen.getStyle("Button").getVector4f("resizeBorders"),
-			screen.getStyle("Button").getString("defaultImg")
+			screen.getStyle("Button").getVector4f(StyleKey.RESIZE_BORDERS),
+			screen.getStyle("Button").getString(StyleKey.DEFAULT_IMG)
 		);
 	}
 	
@@ -125,9 +134,9 @@ public abstract class Button extends Element implements Control, MouseButtonList
 	 */
 	public Button(ElementManager screen, String UID, Vector2f position) {
 		this(screen, UID, position,
-			screen.getStyle("Button").getVector2f("defaultSize"),
-			screen.getStyle("Button").getVector4f("resizeBorders"),
-			screen.getStyle("Button").getString("defaultImg")
+			screen.getStyle("Button").getVector2f(StyleKey.DEFAULT_SIZE),
+			screen.getStyle("Button").getVector4f(StyleKey.RESIZE_BORDERS),
+			screen.getStyle("Button").getString(StyleKey.DEFAULT_IMG)
 		);
 	}
 	
@@ -141,8 +150,8 @@ public abstract class Button extends Element implements Control, MouseButtonList
 	 */
 	public Button(ElementManager screen, String UID, Vector2f position, Vector2f dimensions) {
 		this(screen, UID, position, dimensions,
-			screen.getStyle("Button").getVector4f("resizeBorders"),
-			screen.getStyle("Button").getString("defaultImg")
+			screen.getStyle("Button").getVector4f(StyleKey.RESIZE_BORDERS),
+			screen.getStyle("Button").getString(StyleKey.DEFAULT_IMG)
 		);
 	}
 	
@@ -159,47 +168,48 @@ public abstract class Button extends Element implements Control, MouseButtonList
 	public Button(ElementManager screen, String UID, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String defaultImg) {
 		super(screen, UID, position, dimensions, resizeBorders, defaultImg);
 		
+		Style style = screen.getStyle("Button");
+		
 		this.setScaleNS(false);
 		this.setScaleEW(false);
-		this.setFontSize(screen.getStyle("Button").getFloat("fontSize"));
-		this.setFontColor(screen.getStyle("Button").getColorRGBA("fontColor"));
-		this.setTextVAlign(BitmapFont.VAlign.valueOf(screen.getStyle("Button").getString("textVAlign")));
-		this.setTextAlign(BitmapFont.Align.valueOf(screen.getStyle("Button").getString("textAlign")));
-		this.setTextWrap(LineWrapMode.valueOf(screen.getStyle("Button").getString("textWrap")));
+		this.setFontSize(style.getFloat(StyleKey.FONT_SIZE));
+		this.setFontColor(style.getColorRGBA(StyleKey.FONT_COLOR).clone());
+		this.setTextVAlign(BitmapFont.VAlign.valueOf(style.getString(StyleKey.TEXT_V_ALIGN)));
+		this.setTextAlign(BitmapFont.Align.valueOf(style.getString(StyleKey.TEXT_ALIGN)));
+		this.setTextWrap(LineWrapMode.valueOf(style.getString(StyleKey.TEXT_WRAP)));
 		setTextPaddingByKey("Button","textPadding");
 		
 		if (getUseLocalTexture()) {
 		//	setBackgroundTexture(screen.getStyle("Button").getString("defaultImg"));
-			boolean tile = false;
-			try {
-				tile = screen.getStyle("Button").getBoolean("tileImages");
-			} catch (Exception ex) {  }
-			this.setTileImage(tile);
+			Object tile = style.get(TILE_IMAGES);
+			this.setTileImage(tile instanceof Boolean && (Boolean)tile);
 		}
 		
 		this.setMinDimensions(dimensions.clone());
 		
-		if (screen.getStyle("Button").getString("hoverImg") != null) {
+		if (style.getString(StyleKey.HOVER_IMG) != null) {
+			ColorRGBA hoverColor = style.getColorRGBA(StyleKey.HOVER_COLOR);
 			setButtonHoverInfo(
-				screen.getStyle("Button").getString("hoverImg"),
-				screen.getStyle("Button").getColorRGBA("hoverColor")
+				style.getString(StyleKey.HOVER_IMG),
+				hoverColor == null ? null : hoverColor.clone()
 			);
 		}
-		if (screen.getStyle("Button").getString("pressedImg") != null) {
+		if (style.getString(StyleKey.PRESSED_IMG) != null) {
+			ColorRGBA pressedColor = style.getColorRGBA(StyleKey.PRESSED_COLOR);
 			setButtonPressedInfo(
-				screen.getStyle("Button").getString("pressedImg"),
-				screen.getStyle("Button").getColorRGBA("pressedColor")
+				style.getString(StyleKey.PRESSED_IMG),
+				pressedColor == null ? null : pressedColor.clone()
 			);
 		}
 		
 		originalFontColor = fontColor.clone();
 		
-		hoverSound = screen.getStyle("Button").getString("hoverSound");
-		useHoverSound = screen.getStyle("Button").getBoolean("useHoverSound");
-		hoverSoundVolume = screen.getStyle("Button").getFloat("hoverSoundVolume");
-		pressedSound = screen.getStyle("Button").getString("pressedSound");
-		usePressedSound = screen.getStyle("Button").getBoolean("usePressedSound");
-		pressedSoundVolume = screen.getStyle("Button").getFloat("pressedSoundVolume");
+		hoverSound = style.getString(HOVER_SOUND);
+		useHoverSound = style.getBoolean(USE_HOVER_SOUND);
+		hoverSoundVolume = style.getFloat(HOVER_SOUND_VOLUME);
+		pressedSound = style.getString(PRESSED_SOUND);
+		usePressedSound = style.getBoolean(USE_PRESSED_SOUND);
+		pressedSoundVolume = style.getFloat(PRESSED_SOUND_VOLUME);
 		
 		populateEffects("Button");
 		if (Screen.isAndroid()) {
@@ -882,7 +892,7 @@ public abstract class Button extends Element implements Control, MouseButtonList
 	 * @param text 
 	 */
 	private void centerTextVertically(String text) {
-		float height = BitmapTextUtil.getTextLineHeight(this, text);
+		float height = TextMetrics.get(font).getLineHeight(fontSize);
 		setTextPosition(getTextPosition().x, getHeight()/2-((height-(height*.1f))/2));
 	}
 }
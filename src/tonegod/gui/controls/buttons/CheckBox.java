@@ -13,7 +13,7 @@ import com.jme3.math.Vector4f;
 import tonegod.gui.controls.text.Label;
 import tonegod.gui.core.ElementManager;
 import tonegod.gui.core.Screen;
-import tonegod.gui.core.utils.BitmapTextUtil;
+import tonegod.gui.core.utils.TextMetrics;
 import tonegod.gui.core.utils.UIDUtil;
 import tonegod.gui.effects.Effect;
 import tonegod.gui.listeners.MouseButtonListener;
@@ -185,8 +185,9 @@ public class CheckBox extends ButtonAdapter {
 			label.removeFromParent();
 		}
 		
-		float width = BitmapTextUtil.getTextWidth(this, text);
-		float height = BitmapTextUtil.getTextLineHeight(this, text);
+		TextMetrics metrics = TextMetrics.get(font);
+		float width = metrics.getLineWidth(text, fontSize);
+		float height = metrics.getLineHeight(fontSize);
 		float nextY = height-getHeight();
 		nextY /= 2;
 		nextY = (float) Math.ceil(nextY+1);
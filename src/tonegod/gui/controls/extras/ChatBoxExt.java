@@ -6,6 +6,7 @@ import com.jme3.input.event.MouseButtonEvent;
 import com.jme3.math.ColorRGBA;
 import com.jme3.math.Vector2f;
 import com.jme3.math.Vector4f;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
 import tonegod.gui.controls.buttons.ButtonAdapter;
@@ -20,8 +21,7 @@ import tonegod.gui.controls.windows.Panel;
 import tonegod.gui.controls.windows.Window;
 import tonegod.gui.core.Element;
 import tonegod.gui.core.ElementManager;
-import tonegod.gui.core.layouts.FlowLayout;
-import tonegod.gui.core.utils.BitmapTextUtil;
+import tonegod.gui.core.utils.TextMetrics;
 import tonegod.gui.core.utils.UIDUtil;
 
 /**
@@ -50,12 +50,45 @@ public abstract class ChatBoxExt extends Panel {
 
 	private int sendKey;
 	private int chatHistorySize = 30;
-	protected List<ChatMessage> chatMessages = new ArrayList();
+
+	// Ring buffer of the chat history, oldest message at chatHead.  messageLabels holds the
+	// Label displaying the message in the same slot or null if it's channel is filtered.
+	private ChatMessage[] messageRing = new ChatMessage[chatHistorySize];
+	private Label[] messageLabels = new Label[chatHistorySize];
+	private int chatHead = 0;
+	private int chatCount = 0;
+
+	/**
+	 * Read only view of the chat history, oldest message first.  Messages are added through
+	 * receiveMsg and the size of the history is set with setChatHistorySize.
+	 */
+	protected final List<ChatMessage> chatMessages = new AbstractList<ChatMessage>() {
+		@Override
+		public ChatMessage get(int index) {
+			if (index < 0 || index >= chatCount)
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + chatCount);
+			return messageRing[(chatHead + index) % messageRing.length];
+		}
+		
+		@Override
+		public int size() {
+			return chatCount;
+		}
+	};
+
+	// Container of the message labels.  Labels are stacked downwards from stackTop and keep their
+	// place in it, a new message only moves the container to keep the newest label at the bottom.
+	private Element messageStack;
+	private float stackTop = 0;
+	private float stackBottom = 0;
+	private float maxStackOffset = 100000;
 
 	protected List<ChatChannel> channels = new ArrayList();
 	private String defaultCommand;
 
-	List<Label> displayMessages = new ArrayList();
+	private final List<Label> spareLabels = new ArrayList();
+	private int labelIndex = 0;
+	private float messageMargin = 8;
 
 	/**
 	 * Creates a new instance of the ChatBoxExt control
@@ -167,15 +200,7 @@ public abstract class ChatBoxExt extends Panel {
 		) {
 			@Override
 			public void controlResizeHook() {
-				for (Label l : displayMessages) {
-					l.setWidth(getScrollBoundsWidth()-(textPadding.x+textPadding.y));
-					l.setHeight(l.getTextElement().getHeight());
-				}
-				getScrollableArea().layoutChildren();
-				reshape();
-				updateForResize();
-				if (getVerticalScrollDistance() > 0)
-					scrollToBottom();
+				resizeMessages();
 			}
 		};
 		saChatArea.setIsResizable(false);
@@ -184,12 +209,18 @@ public abstract class ChatBoxExt extends Panel {
 		saChatArea.getScrollableArea().setDocking(Docking.SW);
 		saChatArea.getScrollableArea().setTextPaddingByKey("ScrollArea", "textPadding");
 		saChatArea.setUseVerticalWrap(true);
-		saChatArea.getScrollableArea().setLayout(
-			new FlowLayout(screen, "margins 8 8 8 8", "padding 0 0 0 0")
-		);
 		
 		addChild(saChatArea);
 
+		messageStack = new Element(screen, UID + ":MessageStack", Vector2f.ZERO, saChatArea.getScrollableArea().getDimensions().clone(), Vector4f.ZERO, null);
+		messageStack.setAsContainerOnly();
+		messageStack.setIsMovable(false);
+		messageStack.setIsResizable(false);
+		messageStack.setIgnoreMouse(true);
+		messageStack.setScaleEW(true);
+		messageStack.setScaleNS(false);
+		saChatArea.addScrollableContent(messageStack, false);
+
 
 		btnChatFilter = new ButtonAdapter(
 			screen,
@@ -367,46 +398,180 @@ public abstract class ChatBoxExt extends Panel {
 			channel = getChannelByStringCommand((String)command);
 		else
 			channel = getChannelByCommand(command);
-		chatMessages.add(new ChatMessage(channel, msg));
-		updateChatHistory();
+		ChatMessage cm = new ChatMessage(channel, msg);
+		Label l = null;
+
+		// Drop the oldest message and keep it's label for the new one
+		if (chatCount == messageRing.length) {
+			l = messageLabels[chatHead];
+			if (l != null) stackTop -= l.getHeight();
+			messageRing[chatHead] = null;
+			messageLabels[chatHead] = null;
+			chatHead = (chatHead + 1) % messageRing.length;
+			chatCount--;
+		}
+
+		int slot = (chatHead + chatCount) % messageRing.length;
+		messageRing[slot] = cm;
+		chatCount++;
+
+		if (!channel.getIsFiltered()) {
+			if (l == null) l = obtainMessageLabel();
+			bindMessageLabel(l, cm);
+			messageLabels[slot] = l;
+			stackMessageLabel(l);
+		} else if (l != null) {
+			releaseMessageLabel(l);
+		}
+
+		// Restack from the top once in a while so the label offsets keep their precision
+		if (stackBottom < -maxStackOffset)
+			layoutMessages();
+		else
+			updateMessageStack();
+	}
+
+	/**
+	 * Returns the stored chat history, oldest message first
+	 * @return List<ChatMessage>
+	 */
+	public List<ChatMessage> getChatMessages() {
+		return new ArrayList<ChatMessage>(chatMessages);
 	}
 
-	private void updateChatHistory() {
-		if (chatMessages.size() > chatHistorySize) {
-			chatMessages.remove(0);
+	/**
+	 * Sets the number of messages kept in the chat history.  The oldest messages are dropped
+	 * if the history is larger than the new size.
+	 * @param chatHistorySize int
+	 */
+	public void setChatHistorySize(int chatHistorySize) {
+		chatHistorySize = Math.max(1, chatHistorySize);
+		ChatMessage[] messages = new ChatMessage[chatHistorySize];
+		Label[] labels = new Label[chatHistorySize];
+		int count = Math.min(chatCount, chatHistorySize);
+		int dropped = chatCount - count;
+
+		for (int i = 0; i < chatCount; i++) {
+			int slot = (chatHead + i) % messageRing.length;
+			if (i < dropped) {
+				if (messageLabels[slot] != null) releaseMessageLabel(messageLabels[slot]);
+			} else {
+				messages[i - dropped] = messageRing[slot];
+				labels[i - dropped] = messageLabels[slot];
+			}
 		}
-		rebuildChat();
+
+		this.chatHistorySize = chatHistorySize;
+		this.messageRing = messages;
+		this.messageLabels = labels;
+		this.chatHead = 0;
+		this.chatCount = count;
+		layoutMessages();
 	}
 
+	/**
+	 * Returns the number of messages kept in the chat history
+	 * @return int
+	 */
+	public int getChatHistorySize() {
+		return this.chatHistorySize;
+	}
+
+	/**
+	 * Shows or hides the labels of all stored messages to match the current channel filters
+	 */
 	private void rebuildChat() {
-		int index = 0;
-		for (Label l : displayMessages) {
-			saChatArea.removeScrollableContent(l);
+		for (int i = 0; i < chatCount; i++) {
+			int slot = (chatHead + i) % messageRing.length;
+			ChatMessage cm = messageRing[slot];
+			Label l = messageLabels[slot];
+			if (cm.getChannel().getIsFiltered()) {
+				if (l != null) {
+					releaseMessageLabel(l);
+					messageLabels[slot] = null;
+				}
+			} else if (l == null) {
+				l = obtainMessageLabel();
+				bindMessageLabel(l, cm);
+				messageLabels[slot] = l;
+			}
 		}
-		displayMessages.clear();
-		
-		for (ChatMessage cm : chatMessages) {
-			if (!cm.getChannel().getIsFiltered()) {
-				Label l = createMessageLabel(index, cm);
-				l.getLayoutHints().define("wrap");
-				displayMessages.add(l);
-				saChatArea.addScrollableContent(l,true);
-				l.setWidth(saChatArea.getScrollBoundsWidth()-(textPadding.x+textPadding.y));
+		layoutMessages();
+	}
+
+	private void resizeMessages() {
+		float width = saChatArea.getScrollBoundsWidth()-(textPadding.x+textPadding.y);
+		for (Label l : messageLabels) {
+			if (l != null) {
+				l.setWidth(width);
 				l.setHeight(l.getTextElement().getHeight());
-				index++;
 			}
 		}
-		saChatArea.getScrollableArea().layoutChildren();
-		saChatArea.reshape();
+		layoutMessages();
+	}
+
+	/**
+	 * Stacks the displayed labels from oldest to newest and sizes the scrollable area to fit them
+	 */
+	private void layoutMessages() {
+		stackTop = 0;
+		stackBottom = 0;
+		for (int i = 0; i < chatCount; i++) {
+			Label l = messageLabels[(chatHead + i) % messageRing.length];
+			if (l != null) stackMessageLabel(l);
+		}
+		updateMessageStack();
+	}
+
+	/**
+	 * Places the label below the newest displayed message
+	 */
+	private void stackMessageLabel(Label l) {
+		stackBottom -= l.getHeight();
+		l.setPosition(messageMargin, stackBottom);
+	}
+
+	/**
+	 * Sizes the scrollable area to the stacked labels and moves the message stack to fit it
+	 */
+	private void updateMessageStack() {
+		saChatArea.getScrollableArea().setHeight(messageMargin*2+stackTop-stackBottom);
+		messageStack.setPosition(0, messageMargin-stackBottom);
+
+		saChatArea.setVThumbSize();
 		saChatArea.updateForResize();
-		saChatArea.controlResizeHook();
-		saChatArea.reshape();
+		saChatArea.scrollToTop();
 		if (saChatArea.getVerticalScrollDistance() > 0)
 			saChatArea.scrollToBottom();
 	}
 
-	private Label createMessageLabel(int index, ChatMessage cm) {
-		String s = cm.getMsg();
+	private Label obtainMessageLabel() {
+		if (!spareLabels.isEmpty()) {
+			Label l = spareLabels.remove(spareLabels.size()-1);
+			l.show();
+			return l;
+		}
+		Label l = createMessageLabel(labelIndex++);
+		messageStack.addChild(l);
+		l.setClipPadding(saChatArea.getScrollBounds().getClipPaddingVec());
+		return l;
+	}
+
+	private void releaseMessageLabel(Label l) {
+		l.hide();
+		spareLabels.add(l);
+	}
+
+	private void bindMessageLabel(Label l, ChatMessage cm) {
+		String channelLabel = "";
+		if (showChannelLabels) channelLabel = "[" + cm.getChannel().getName() + "] ";
+		l.setFontColor(cm.getChannel().getColor());
+		l.setWidth(saChatArea.getScrollBoundsWidth()-(textPadding.x+textPadding.y));
+		l.setText(channelLabel + cm.getMsg());
+		l.setHeight(l.getTextElement().getHeight());
+	}
+
+	private Label createMessageLabel(int index) {
 		Label l = new Label(
 			screen,
 			getUID() + ":Label" + index,
@@ -423,12 +588,7 @@ public abstract class ChatBoxExt extends Panel {
 	//	l.setClippingLayer(saChatArea);
 		l.addClippingLayer(saChatArea);
 		l.setClipPadding(saContentPadding);
-		l.setFontColor(cm.getChannel().getColor());
 		l.setFontSize(saChatArea.getFontSize());
-		String channelLabel = "";
-		if (showChannelLabels) channelLabel = "[" + cm.getChannel().getName() + "] ";
-		l.setText(channelLabel + s);
-		l.setHeight(l.getTextElement().getHeight());
 		l.setIgnoreMouse(true);
 
 		return l;
@@ -637,7 +797,7 @@ public abstract class ChatBoxExt extends Panel {
 		float currentHeight = 0;
 		int index = 0;
 
-		filterLineHeight = BitmapTextUtil.getTextLineHeight(scrollableArea, "Xg");
+		filterLineHeight = TextMetrics.get(scrollableArea.getFont()).getLineHeight(scrollableArea.getFontSize());
 
 		for (ChatChannel channel : channels) {
 			if (!channel.getFilterDisplayText().equals("")) {
@@ -24,6 +24,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import tonegod.gui.core.Screen;
+import tonegod.gui.core.utils.ListUtil;
 import tonegod.gui.framework.animation.Interpolation;
 import tonegod.gui.framework.animation.TemporalAction;
 import tonegod.gui.framework.core.AnimElement;
@@ -231,15 +232,17 @@ public class ElementEmitter implements Control, Transformable {
 	
 	@Override
 	public void update(float tpf) {
-		for (TemporalAction a : actions) {
+		int count = actions.size(), live = 0;
+		for (int i = 0; i < count; i++) {
+			TemporalAction a = actions.get(i);
 			a.act(tpf);
-		}
-		for (TemporalAction a : actions) {
 			if (a.getTime() >= a.getDuration()) {
-				actions.remove(a);
-				break;
+				a.setIsActive(false);
+				continue;
 			}
+			actions.set(live++, a);
 		}
+		ListUtil.compact(actions, count, live);
 		for (ElementParticle p : quads) {
 			if (p.active) {
 				p.update(tpf);
@@ -776,11 +779,12 @@ public class ElementEmitter implements Control, Transformable {
 	@Override
 	public void addAction(TemporalAction action) {
 		action.setTransformable(this);
+		action.setIsActive(true);
 		actions.add(action);
 	}
 	@Override
 	public boolean getContainsAction(TemporalAction action) {
-		return actions.contains(action);
+		return action.getIsActive() && action.getTransformable() == this;
 	}
 	//</editor-fold>
 	
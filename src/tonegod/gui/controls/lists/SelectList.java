@@ -19,7 +19,7 @@ import java.util.List;
 import tonegod.gui.controls.scrolling.ScrollArea;
 import tonegod.gui.core.Element;
 import tonegod.gui.core.ElementManager;
-import tonegod.gui.core.utils.BitmapTextUtil;
+import tonegod.gui.core.utils.TextMetrics;
 import tonegod.gui.core.utils.UIDUtil;
 import tonegod.gui.listeners.KeyboardListener;
 import tonegod.gui.listeners.MouseButtonListener;
@@ -160,7 +160,7 @@ public abstract class SelectList extends ScrollArea implements MouseMovementList
 		scrollableArea.setTextClipPadding(listPadding+screen.getStyle("Menu").getFloat("textPadding"));
 		scrollableArea.setScaleEW(false);
 		
-		listItemHeight = BitmapTextUtil.getTextLineHeight(this, "Xg");
+		listItemHeight = TextMetrics.get(font).getLineHeight(fontSize);
 		
 		scrollableArea.setText(" ");
 		scrollableArea.setIgnoreMouse(true);
@@ -460,9 +460,10 @@ public abstract class SelectList extends ScrollArea implements MouseMovementList
 	 * Forces the SelectList to rebuild all ListItems.  This does not need to be called, however it will not effect anything negatively if it is.
 	 */
 	public void pack() {
-		String finalString = "";
+		StringBuilder finalString = new StringBuilder();
+		TextMetrics metrics = TextMetrics.get(font);
 		
-		listItemHeight = BitmapTextUtil.getTextLineHeight(this, "Xg");
+		listItemHeight = metrics.getLineHeight(fontSize);
 		
 		scrollableArea.removeAllChildren();
 		scrollableArea.setHeight(listItemHeight);
@@ -470,20 +471,16 @@ public abstract class SelectList extends ScrollArea implements MouseMovementList
 		int index = 0;
 		float currentHeight = 0;
 		float width = listItemHeight*3;
-		boolean init = true;
 		
 		String leftSpacer = "  ";
 		String rightSpacer = "  ";
 		
 		for (ListItem mi : listItems) {
-			float tWidth = (listItemHeight*2)+BitmapTextUtil.getTextWidth(this, leftSpacer + mi.getCaption() + rightSpacer);
+			if (finalString.length() > 0) finalString.append('\n');
+			int start = finalString.length();
+			finalString.append(leftSpacer).append(mi.getCaption()).append(rightSpacer);
+			float tWidth = (listItemHeight*2)+metrics.getLineWidth(finalString, start, finalString.length(), fontSize);
 			width = (tWidth > width) ? tWidth : width;
-			if (init) {
-				finalString = leftSpacer + mi.getCaption() + rightSpacer;
-				init = false;
-			} else {
-				finalString += "\n" + leftSpacer + mi.getCaption() + rightSpacer;
-			}
 			if (selectedIndexes.contains(index)) {
 				Element highlight = createHighlight(index);
 				highlight.setX(0);
@@ -500,7 +497,7 @@ public abstract class SelectList extends ScrollArea implements MouseMovementList
 			index++;
 		}
 		scrollableArea.setFontSize(fontSize);
-		scrollableArea.setText(finalString);
+		scrollableArea.setText(finalString.toString());
 		scrollableArea.setTextPosition(0, listPadding);
 		
 		scrollableArea.setX(listPadding);
@@ -29,6 +29,8 @@ import tonegod.gui.listeners.MouseButtonListener;
 import tonegod.gui.listeners.MouseMovementListener;
 import tonegod.gui.listeners.MouseWheelListener;
 import tonegod.gui.listeners.TabFocusListener;
+import tonegod.gui.style.Style;
+import tonegod.gui.style.StyleKey;
 
 /**
  * A table control that can act like a tree, a table, a tree table or a list, depending
@@ -128,6 +130,28 @@ import tonegod.gui.listeners.TabFocusListener;
  * </pre>
  * </code>
  * 
+ * <h4>Virtualized Tables</h4>
+ * <p>
+ * For very large tables, call {@link #setVirtualized(boolean)} and add {@link VirtualRow}s
+ * instead of {@link TableRow}s. The table then only keeps the plain row model and builds a
+ * small pool of TableRow and TableCell elements, enough to fill the viewport plus
+ * {@link #setOverscan(int) overscan}, which are rebound to model rows as the table scrolls.
+ * Sorting, expanding / collapsing and selection work on the model and never rebuild
+ * elements. All virtual rows share the default row height.
+ * 
+ * <code>
+ * <pre>
+ *     table.setVirtualized(true);
+ *     for (int i = 0; i &lt; 20000; i++) {
+ *         Table.VirtualRow row = new Table.VirtualRow();
+ *         row.addCell(String.format("Row %d, Cell 1", i), i);
+ *         row.addCell(String.format("Row %d, Cell 2", i), i);
+ *         table.addRow(row, false);
+ *     }
+ *     table.pack();
+ * </pre>
+ * </code>
+ * 
  * <h4>Example of a List</h4>
  * <p>
  * As an alternative to the building in lists, you can use this control, turn off
@@ -159,6 +183,16 @@ import tonegod.gui.listeners.TabFocusListener;
  */
 public abstract class Table extends ScrollArea implements MouseMovementListener, MouseWheelListener, MouseButtonListener, TabFocusListener, KeyboardListener {
 
+    private static final StyleKey TABLE_PADDING = StyleKey.get("tablePadding");
+    private static final StyleKey ARROW_SIZE = StyleKey.get("arrowSize");
+    private static final StyleKey ARROW_UP_IMG = StyleKey.get("arrowUpImg");
+    private static final StyleKey ARROW_DOWN_IMG = StyleKey.get("arrowDownImg");
+    private static final StyleKey NO_ARROW_IMG = StyleKey.get("noArrowImg");
+    private static final StyleKey ARROW_IMG = StyleKey.get("arrowImg");
+    private static final StyleKey ARROW_RESIZE_BORDERS = StyleKey.get("arrowResizeBorders");
+    private static final StyleKey EXPAND_IMG = StyleKey.get("expandImg");
+    private static final StyleKey COLLAPSE_IMG = StyleKey.get("collapseImg");
+
     public enum ColumnResizeMode {
 
         NONE, AUTO_ALL, AUTO_FIRST, AUTO_LAST;
@@ -205,6 +239,12 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
     private boolean headersVisible = true;
     private boolean collapseChildrenOnParentCollapse = true;
     private boolean enableKeyboardNavigation = true;
+    private boolean virtualized = false;
+    private int overscan = 2;
+    private final List<VirtualRow> virtualRows = new ArrayList<VirtualRow>();
+    private final List<VirtualRow> flatVirtualRows = new ArrayList<VirtualRow>();
+    private final List<TableRow> rowPool = new ArrayList<TableRow>();
+    private final List<Element> highlightPool = new ArrayList<Element>();
 
     public static class TableCell extends Element implements Comparable<TableCell> {
 
@@ -217,7 +257,7 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
         private Vector4f cellArrowResizeBorders;
 
         public TableCell(ElementManager screen, String label, Object value) {
-            super(screen, UIDUtil.getUID(), Vector2f.ZERO, screen.getStyle("Table#Cell").getVector2f("defaultSize"), screen.getStyle("Table#Cell").getVector4f("resizeBorders"), screen.getStyle("Table#Cell").getString("defaultImg"));
+            super(screen, UIDUtil.getUID(), Vector2f.ZERO, screen.getStyle("Table#Cell").getVector2f(StyleKey.DEFAULT_SIZE), screen.getStyle("Table#Cell").getVector4f(StyleKey.RESIZE_BORDERS), screen.getStyle("Table#Cell").getString(StyleKey.DEFAULT_IMG));
             init(label, value);
         }
 
@@ -236,15 +276,8 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
             if (row != null) {
 
                 final int cellIndex = new ArrayList<Element>(row.getElements()).indexOf(this);
-                TableRow r = row;
-                int depth = 0;
-                if (cellIndex == 0) {
-                    // Find the depth of row (this determines indent). Only need to do this on first row
-                    while (r.parentRow != null) {
-                        r = r.parentRow;
-                        depth++;
-                    }
-                }
+                // Find the depth of row (this determines indent). Only need to do this on first row
+                final int depth = cellIndex == 0 ? row.getDepth() : 0;
 
                 // Should we actually show a button?
                 boolean shouldShow = row.table.isTree && cellIndex == 0 && !row.isLeaf();
@@ -256,7 +289,6 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
                             row.setExpanded(!row.isExpanded());
                         }
                     };
-                    expanderButton.setX((depth * cellArrowSize.x));
                     expanderButton.setDocking(null);
                     expanderButton.setScaleEW(false);
                     expanderButton.setScaleNS(false);
@@ -270,7 +302,7 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
 
                 // Set the icon
                 if (expanderButton != null) {
-                    expanderButton.setY((row.getHeight() - cellArrowSize.y) / 2f);
+                    expanderButton.setPosition(depth * cellArrowSize.x, (row.getHeight() - cellArrowSize.y) / 2f);
                     if (row.isExpanded()) {
                         expanderButton.setButtonIcon(cellArrowSize.x, cellArrowSize.y, collapseImg);
                     } else {
@@ -283,20 +315,23 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
 
         private void init(String label, Object value) {
 
-            expandImg = screen.getStyle("Table#Cell").getString("expandImg");
-            collapseImg = screen.getStyle("Table#Cell").getString("collapseImg");
-            cellArrowSize = screen.getStyle("Table#Cell").getVector2f("arrowSize");
-            cellArrowResizeBorders = screen.getStyle("Table#Cell").getVector4f("arrowResizeBorders");
-            cellArrowImg = screen.getStyle("Table#Cell").getString("arrowImg");
+            final Style style = screen.getStyle("Table#Cell");
+
+            // The arrow size and borders are only read, so the shared style instances are kept
+            expandImg = style.getString(EXPAND_IMG);
+            collapseImg = style.getString(COLLAPSE_IMG);
+            cellArrowSize = style.getVector2f(ARROW_SIZE);
+            cellArrowResizeBorders = style.getVector4f(ARROW_RESIZE_BORDERS);
+            cellArrowImg = style.getString(ARROW_IMG);
 
             // Load default font info
-            setFontColor(screen.getStyle("Table#Cell").getColorRGBA("fontColor"));
-            setFontSize(screen.getStyle("Table#Cell").getFloat("fontSize"));
-            setTextAlign(BitmapFont.Align.valueOf(screen.getStyle("Table#Cell").getString("textAlign")));
-            setTextVAlign(BitmapFont.VAlign.valueOf(screen.getStyle("Table#Cell").getString("textVAlign")));
-            setTextWrap(LineWrapMode.valueOf(screen.getStyle("Table#Cell").getString("textWrap")));
-            setTextPadding(screen.getStyle("Table#Cell").getFloat("textPadding"));
-            setTextClipPadding(screen.getStyle("Table#Cell").getFloat("textPadding"));
+            setFontColor(style.getColorRGBA(StyleKey.FONT_COLOR).clone());
+            setFontSize(style.getFloat(StyleKey.FONT_SIZE));
+            setTextAlign(BitmapFont.Align.valueOf(style.getString(StyleKey.TEXT_ALIGN)));
+            setTextVAlign(BitmapFont.VAlign.valueOf(style.getString(StyleKey.TEXT_V_ALIGN)));
+            setTextWrap(LineWrapMode.valueOf(style.getString(StyleKey.TEXT_WRAP)));
+            setTextPadding(style.getFloat(StyleKey.TEXT_PADDING));
+            setTextClipPadding(style.getFloat(StyleKey.TEXT_PADDING));
 
             setText(label);
             setIgnoreMouse(true);
@@ -330,7 +365,7 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
         private boolean resized;
 
         public TableColumn(Table table, ElementManager screen, String UID) {
-            super(screen, UID, Vector2f.ZERO, screen.getStyle("Table#Header").getVector2f("defaultSize"), screen.getStyle("Table#Header").getVector4f("resizeBorders"), screen.getStyle("Table#Header").getString("defaultImg"));
+            super(screen, UID, Vector2f.ZERO, screen.getStyle("Table#Header").getVector2f(StyleKey.DEFAULT_SIZE), screen.getStyle("Table#Header").getVector4f(StyleKey.RESIZE_BORDERS), screen.getStyle("Table#Header").getString(StyleKey.DEFAULT_IMG));
             init(table);
         }
 
@@ -382,29 +417,31 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
 
         private void init(Table table) {
 
+            final Style style = screen.getStyle("Table#Header");
+
             // Load default font info
-            setFontColor(screen.getStyle("Table#Header").getColorRGBA("fontColor"));
-            setFontSize(screen.getStyle("Table#Header").getFloat("fontSize"));
-            setTextAlign(BitmapFont.Align.valueOf(screen.getStyle("Table#Header").getString("textAlign")));
-            setTextVAlign(BitmapFont.VAlign.valueOf(screen.getStyle("Table#Header").getString("textVAlign")));
-            setTextWrap(LineWrapMode.valueOf(screen.getStyle("Table#Header").getString("textWrap")));
-            setTextPadding(screen.getStyle("Table#Header").getFloat("textPadding"));
-            setTextClipPadding(screen.getStyle("Table#Header").getFloat("textPadding"));
+            setFontColor(style.getColorRGBA(StyleKey.FONT_COLOR).clone());
+            setFontSize(style.getFloat(StyleKey.FONT_SIZE));
+            setTextAlign(BitmapFont.Align.valueOf(style.getString(StyleKey.TEXT_ALIGN)));
+            setTextVAlign(BitmapFont.VAlign.valueOf(style.getString(StyleKey.TEXT_V_ALIGN)));
+            setTextWrap(LineWrapMode.valueOf(style.getString(StyleKey.TEXT_WRAP)));
+            setTextPadding(style.getFloat(StyleKey.TEXT_PADDING));
+            setTextClipPadding(style.getFloat(StyleKey.TEXT_PADDING));
 
             // TODO weird bug that shows when removeAllColumns() is used.
             setButtonIcon(table.arrowSize.x, table.arrowSize.y, table.noArrowImg); // start with the blank icon
             getButtonIcon().setX(getWidth() - getButtonIcon().getWidth() - borders.z - getTextPadding());
 
             this.table = table;
-            if (screen.getStyle("Table#Header").getString("hoverImg") != null) {
+            if (style.getString(StyleKey.HOVER_IMG) != null) {
                 setButtonHoverInfo(
-                        screen.getStyle("Table#Header").getString("hoverImg"),
-                        screen.getStyle("Table#Header").getColorRGBA("hoverColor"));
+                        style.getString(StyleKey.HOVER_IMG),
+                        style.getColorRGBA(StyleKey.HOVER_COLOR).clone());
             }
-            if (screen.getStyle("Table#Header").getString("pressedImg") != null) {
+            if (style.getString(StyleKey.PRESSED_IMG) != null) {
                 setButtonPressedInfo(
-                        screen.getStyle("Table#Header").getString("pressedImg"),
-                        screen.getStyle("Table#Header").getColorRGBA("pressedColor"));
+                        style.getString(StyleKey.PRESSED_IMG),
+                        style.getColorRGBA(StyleKey.PRESSED_COLOR).clone());
             }
             setResizeN(false);
             setResizeS(false);
@@ -442,9 +479,9 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
      */
     public Table(ElementManager screen, Vector2f position) {
         this(screen, UIDUtil.getUID(), position,
-                screen.getStyle("Table").getVector2f("defaultSize"),
-                screen.getStyle("Table").getVector4f("resizeBorders"),
-                screen.getStyle("Table").getString("defaultImg"));
+                screen.getStyle("Table").getVector2f(StyleKey.DEFAULT_SIZE),
+                screen.getStyle("Table").getVector4f(StyleKey.RESIZE_BORDERS),
+                screen.getStyle("Table").getString(StyleKey.DEFAULT_IMG));
     }
 
     /**
@@ -456,8 +493,8 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
      */
     public Table(ElementManager screen, Vector2f position, Vector2f dimensions) {
         this(screen, UIDUtil.getUID(), position, dimensions,
-                screen.getStyle("Table").getVector4f("resizeBorders"),
-                screen.getStyle("Table").getString("defaultImg"));
+                screen.getStyle("Table").getVector4f(StyleKey.RESIZE_BORDERS),
+                screen.getStyle("Table").getString(StyleKey.DEFAULT_IMG));
     }
 
     /**
@@ -483,9 +520,9 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
      */
     public Table(ElementManager screen, String UID, Vector2f position) {
         this(screen, UID, position,
-                screen.getStyle("Table").getVector2f("defaultSize"),
-                screen.getStyle("Table").getVector4f("resizeBorders"),
-                screen.getStyle("Table").getString("defaultImg"));
+                screen.getStyle("Table").getVector2f(StyleKey.DEFAULT_SIZE),
+                screen.getStyle("Table").getVector4f(StyleKey.RESIZE_BORDERS),
+                screen.getStyle("Table").getString(StyleKey.DEFAULT_IMG));
     }
 
     /**
@@ -498,8 +535,8 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
      */
     public Table(ElementManager screen, String UID, Vector2f position, Vector2f dimensions) {
         this(screen, UID, position, dimensions,
-                screen.getStyle("Table").getVector4f("resizeBorders"),
-                screen.getStyle("Table").getString("defaultImg"));
+                screen.getStyle("Table").getVector4f(StyleKey.RESIZE_BORDERS),
+                screen.getStyle("Table").getString(StyleKey.DEFAULT_IMG));
     }
 
     /**
@@ -516,19 +553,21 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
     public Table(ElementManager screen, String UID, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String defaultImg) {
         super(screen, UID, position, dimensions, resizeBorders, defaultImg, false);
 
-        arrowSize = screen.getStyle("Table#Header").getVector2f("arrowSize");
-        arrowUpImg = screen.getStyle("Table#Header").getString("arrowUpImg");
-        arrowDownImg = screen.getStyle("Table#Header").getString("arrowDownImg");
-        noArrowImg = screen.getStyle("Table#Header").getString("noArrowImg");
+        final Style headerStyle = screen.getStyle("Table#Header");
+
+        arrowSize = headerStyle.getVector2f(ARROW_SIZE).clone();
+        arrowUpImg = headerStyle.getString(ARROW_UP_IMG);
+        arrowDownImg = headerStyle.getString(ARROW_DOWN_IMG);
+        noArrowImg = headerStyle.getString(NO_ARROW_IMG);
 
-        tablePadding = screen.getStyle("Table").getFloat("tablePadding");
-        headerHeight = screen.getStyle("Table#Header").getVector2f("defaultSize").y;
-        highlightColor = screen.getStyle("Table").getColorRGBA("highlightColor");
+        tablePadding = screen.getStyle("Table").getFloat(TABLE_PADDING);
+        headerHeight = headerStyle.getVector2f(StyleKey.DEFAULT_SIZE).y;
+        highlightColor = screen.getStyle("Table").getColorRGBA(StyleKey.HIGHLIGHT_COLOR).clone();
         // Load default font info
         scrollableArea.setScaleEW(false);
         scrollableArea.setScaleNS(false);
 
-        rowHeight = screen.getStyle("Table#Cell").getVector2f("defaultSize").y;
+        rowHeight = screen.getStyle("Table#Cell").getVector2f(StyleKey.DEFAULT_SIZE).y;
 
         scrollableArea.setScaleEW(true);
         scrollableArea.setText(" ");
@@ -584,6 +623,60 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
         this.collapseChildrenOnParentCollapse = collapseChildrenOnParentCollapse;
     }
 
+    /**
+     * Get whether the table is virtualized.
+     *
+     * @return virtualized
+     */
+    public boolean getIsVirtualized() {
+        return virtualized;
+    }
+
+    /**
+     * Set whether the table is virtualized. A virtualized table holds {@link VirtualRow}s
+     * and only builds enough {@link TableRow} elements to fill the viewport, rebinding
+     * them to model rows as the table scrolls. Switching mode removes all rows.
+     *
+     * @param virtualized virtualized
+     */
+    public void setVirtualized(boolean virtualized) {
+        if (this.virtualized == virtualized) {
+            return;
+        }
+        this.virtualized = virtualized;
+        rows.clear();
+        virtualRows.clear();
+        flatVirtualRows.clear();
+        selectedRows.clear();
+        selectedCells.clear();
+        scrollableArea.removeAllChildren();
+        highlights.clear();
+        rowPool.clear();
+        highlightPool.clear();
+        pack();
+    }
+
+    /**
+     * Get the number of rows built above and below the viewport of a virtualized table.
+     *
+     * @return overscan
+     */
+    public int getOverscan() {
+        return overscan;
+    }
+
+    /**
+     * Set the number of rows built above and below the viewport of a virtualized table.
+     *
+     * @param overscan overscan
+     */
+    public void setOverscan(int overscan) {
+        this.overscan = Math.max(0, overscan);
+        if (virtualized) {
+            bindVirtualRows(true);
+        }
+    }
+
     /**
      * Get the size of the visible scrolling area
      *
@@ -633,6 +726,25 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
         // Sort rows
         final int columnIndex = columns.indexOf(column);
         selectedRows.clear();
+        if (virtualized) {
+            sortVirtualRows(virtualRows, columnIndex, ascending);
+        } else {
+            sortRows(columnIndex, ascending);
+        }
+
+        // Set header button images
+        for (TableColumn tc : columns) {
+            if (tc == column) {
+                tc.getButtonIcon().setBackgroundTexture((ascending) ? arrowDownImg : arrowUpImg);
+            } else {
+                tc.getButtonIcon().setBackgroundTexture(noArrowImg);
+            }
+        }
+
+        pack();
+    }
+
+    private void sortRows(final int columnIndex, boolean ascending) {
         Collections.sort(rows, new Comparator<TableRow>() {
             @Override
             public int compare(TableRow o1, TableRow o2) {
@@ -647,17 +759,18 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
         if (!ascending) {
             Collections.reverse(rows);
         }
+    }
 
-        // Set header button images
-        for (TableColumn tc : columns) {
-            if (tc == column) {
-                tc.getButtonIcon().setBackgroundTexture((ascending) ? arrowDownImg : arrowUpImg);
-            } else {
-                tc.getButtonIcon().setBackgroundTexture(noArrowImg);
+    private void sortVirtualRows(List<VirtualRow> list, final int columnIndex, boolean ascending) {
+        Collections.sort(list, new Comparator<VirtualRow>() {
+            @Override
+            public int compare(VirtualRow o1, VirtualRow o2) {
+                return o1.compareTo(o2, columnIndex);
             }
+        });
+        if (!ascending) {
+            Collections.reverse(list);
         }
-
-        pack();
     }
 
     /**
@@ -724,6 +837,9 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
         for(TableRow row : rows) {
             row.removeColumn(index);
         }
+        for (VirtualRow row : virtualRows) {
+            row.removeColumn(index);
+        }
     }
 
     /**
@@ -815,6 +931,35 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
         return addRow(row, true);
     }
 
+    /**
+     * Adds a VirtualRow to a virtualized Table and optionally calls {@link #pack() } to
+     * recalculate layout. No elements are created for the row.
+     *
+     * @param row row
+     * @param pack recalculate layout
+     */
+    public int addRow(VirtualRow row, boolean pack) {
+        if (!virtualized) {
+            throw new IllegalStateException("Cannot add virtual rows to a table that is not virtualized");
+        }
+        row.parentRow = null;
+        this.virtualRows.add(row);
+        if (pack) {
+            pack();
+        }
+        return virtualRows.size() - 1;
+    }
+
+    /**
+     * Adds a VirtualRow to a virtualized Table and calls {@link #pack()} to recalculate
+     * layout.
+     *
+     * @param row row
+     */
+    public int addRow(VirtualRow row) {
+        return addRow(row, true);
+    }
+
     /**
      * Inserts a new row at the provided index and optionally calls {@link #pack() } to
      * recalculate layout. Note, if you have lots of rows to insert, it is much faster to
@@ -860,9 +1005,10 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
         selectedCells.remove(index);
         selectedRows.remove(index);
         this.getVScrollBar().hide();
-        if (!rows.isEmpty()) {
-            if (index >= 0 && index < rows.size()) {
-                rows.remove(index);
+        final List<?> rootRows = virtualized ? virtualRows : rows;
+        if (!rootRows.isEmpty()) {
+            if (index >= 0 && index < rootRows.size()) {
+                rootRows.remove(index);
                 pack();
             }
         }
@@ -883,7 +1029,7 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
      * Removes the first row in the Table
      */
     public int removeFirstRow() {
-        if (!rows.isEmpty()) {
+        if (getRowCount() > 0) {
             removeRow(0);
             return 0;
         } else {
@@ -895,9 +1041,9 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
      * Removes the last TableRow in the Table
      */
     public int removeLastRow() {
-        if (!rows.isEmpty()) {
-            removeRow(rows.size() - 1);
-            return rows.size();
+        if (getRowCount() > 0) {
+            removeRow(getRowCount() - 1);
+            return getRowCount();
         } else {
             return -1;
         }
@@ -908,6 +1054,7 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
      */
     public void removeAllRows() {
         rows.clear();
+        virtualRows.clear();
         selectedRows.clear();
         selectedCells.clear();
         pack();
@@ -921,7 +1068,7 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
     public void setSelectColumn(int column) {
         selectedCells.clear();
         selectedRows.clear();
-        for (int i = 0; i < rows.size(); i++) {
+        for (int i = 0; i < getRowCount(); i++) {
             selectedRows.add(i);
             selectedCells.put(i, new ArrayList<Integer>(Arrays.asList(column)));
         }
@@ -937,9 +1084,9 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
         if (index < 0) {
             index = 0;
         } else {
-            List<TableRow> allRows = getAllRows();
-            if (index >= allRows.size()) {
-                index = allRows.size() - 1;
+            final int allRowCount = getAllRowCount();
+            if (index >= allRowCount) {
+                index = allRowCount - 1;
             }
         }
         selectedRows.clear();
@@ -958,9 +1105,9 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
         if (rowIndex < 0) {
             rowIndex = 0;
         } else {
-            List<TableRow> allRows = getAllRows();
-            if (rowIndex >= allRows.size()) {
-                rowIndex = allRows.size() - 1;
+            final int allRowCount = getAllRowCount();
+            if (rowIndex >= allRowCount) {
+                rowIndex = allRowCount - 1;
             }
         }
         selectedRows.clear();
@@ -1174,24 +1321,84 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
     /**
      * Returns a List containing all ListItems corresponding to the list of
      * selectedIndexes
+     * <p>
+     * A virtualized Table only holds pooled TableRows that are rebound while scrolling, so
+     * this returns an empty List for it. Use {@link #getSelectedVirtualRows()} instead.
      *
      * @return List<ListItem>
      */
     public List<TableRow> getSelectedRows() {
         List<TableRow> ret = new ArrayList();
+        if (virtualized) {
+            return ret;
+        }
         for (Integer i : selectedRows) {
             ret.add(getRow(i));
         }
         return ret;
     }
 
+    /**
+     * Returns a List containing the VirtualRows corresponding to the list of selected
+     * indexes of a virtualized Table
+     *
+     * @return List<VirtualRow>
+     */
+    public List<VirtualRow> getSelectedVirtualRows() {
+        List<VirtualRow> ret = new ArrayList<VirtualRow>();
+        for (Integer i : selectedRows) {
+            if (i >= 0 && i < flatVirtualRows.size()) {
+                ret.add(flatVirtualRows.get(i));
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Returns the VirtualRow displayed at the specified index of a virtualized Table
+     *
+     * @param index int
+     * @return VirtualRow
+     */
+    public VirtualRow getVirtualRow(int index) {
+        if (index >= 0 && index < flatVirtualRows.size()) {
+            return flatVirtualRows.get(index);
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Get the root rows of a virtualized Table.
+     *
+     * @return root virtual rows
+     */
+    public List<VirtualRow> getVirtualRows() {
+        return this.virtualRows;
+    }
+
+    /**
+     * Expands or collapses a VirtualRow and recalculates layout.
+     *
+     * @param row row
+     * @param expanded expanded
+     */
+    public void setRowExpanded(VirtualRow row, boolean expanded) {
+        if (!expanded && collapseChildrenOnParentCollapse) {
+            row.collapse();
+        } else {
+            row.expanded = expanded;
+        }
+        pack();
+    }
+
     /**
      * Get the number of rows in the table.
      *
      * @return row count
      */
     public int getRowCount() {
-        return rows.size();
+        return virtualized ? virtualRows.size() : rows.size();
     }
 
     /**
@@ -1219,6 +1426,11 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
     public void pack() {
         isTree = getIsTree();
 
+        if (virtualized) {
+            packVirtual();
+            return;
+        }
+
         scrollableArea.removeAllChildren();
         highlights.clear();
 
@@ -1282,6 +1494,121 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
         scrollToTop();
     }
 
+    private void packVirtual() {
+        flatVirtualRows.clear();
+        for (VirtualRow row : virtualRows) {
+            addVirtualRows(flatVirtualRows, row);
+        }
+
+        scrollableArea.setWidth(getWidth() - (tablePadding * 2));
+        scrollableArea.setHeight((headersVisible ? headerHeight : 0) + (tablePadding * 2) + (flatVirtualRows.size() * rowHeight));
+
+        if (getScrollableHeight() > getHeight() - (tablePadding * 2)) {
+            scrollToTop();
+            setWidth(getWidth());
+            getVScrollBar().setX(getWidth() + scrollBarGap);
+            getVScrollBar().show();
+        }
+
+        scrollToTop();
+        bindVirtualRows(true);
+    }
+
+    private void addVirtualRows(List<VirtualRow> allRows, VirtualRow row) {
+        allRows.add(row);
+        if (!row.isLeaf() && row.isExpanded()) {
+            for (VirtualRow r : row.getChildRows()) {
+                addVirtualRows(allRows, r);
+            }
+        }
+    }
+
+    /**
+     * Rebinds the pooled TableRows to the model rows inside of the viewport. Each model row
+     * index owns a fixed slot of the pool, so scrolling by one row only rebinds one
+     * TableRow.
+     */
+    private void bindVirtualRows(boolean force) {
+        final int count = flatVirtualRows.size();
+        final float viewPortHeight = getHeight() - (tablePadding * 2) - (headersVisible ? headerHeight - headerGap : 0);
+        final int poolSize = Math.min(count, (int) FastMath.ceil(viewPortHeight / rowHeight) + 1 + (overscan * 2));
+
+        if (!rowPool.isEmpty() && rowPool.get(0).getElements().size() != columns.size()) {
+            releaseRowPool();
+        }
+        while (rowPool.size() < poolSize) {
+            rowPool.add(createPooledRow());
+        }
+
+        // Index of the first row below the top of the viewport
+        final float top = viewPortHeight - scrollableArea.getY();
+        int first = (int) FastMath.floor(count - (top / rowHeight)) - overscan;
+        first = Math.max(0, Math.min(first, count - poolSize));
+
+        for (int i = first; i < first + poolSize; i++) {
+            final TableRow row = rowPool.get(i % poolSize);
+            if (force || row.boundIndex != i) {
+                bindVirtualRow(row, i, count);
+            }
+        }
+        for (int i = poolSize; i < rowPool.size(); i++) {
+            final TableRow row = rowPool.get(i);
+            if (row.boundRow != null) {
+                row.boundIndex = -1;
+                row.boundRow = null;
+                row.hide();
+            }
+        }
+
+        displayVirtualHighlights(first, first + poolSize, count);
+    }
+
+    private void bindVirtualRow(TableRow row, int index, int count) {
+        final VirtualRow model = flatVirtualRows.get(index);
+        row.boundIndex = index;
+        row.boundRow = model;
+        row.leaf = model.isLeaf();
+        row.expanded = model.isExpanded();
+        row.setPosition(0, getVirtualRowY(index, count));
+
+        int columnIndex = 0;
+        for (Element el : row.getElements()) {
+            final TableCell cell = (TableCell) el;
+            cell.setText(model.getLabel(columnIndex));
+            cell.value = model.getValue(columnIndex);
+            cell.setExpanderIcon();
+            columnIndex++;
+        }
+
+        if (!row.isVisible()) {
+            row.show();
+        }
+    }
+
+    private float getVirtualRowY(int index, int count) {
+        return tablePadding + ((count - 1 - index) * rowHeight);
+    }
+
+    private TableRow createPooledRow() {
+        final TableRow row = new TableRow(screen, this);
+        for (int i = 0; i < columns.size(); i++) {
+            row.addCell("", null);
+        }
+        row.setControlClippingLayer(clipLayer);
+        row.setWidth(scrollableArea.getWidth());
+        row.pack();
+        row.setInitialized();
+        addScrollableChild(row);
+        return row;
+    }
+
+    private void releaseRowPool() {
+        for (TableRow row : rowPool) {
+            scrollableArea.removeChild(row);
+        }
+        rowPool.clear();
+    }
+
     private void addRows(List<TableRow> allRows, TableRow row) {
         allRows.add(row);
         if (!row.isLeaf() && row.isExpanded()) {
@@ -1291,6 +1618,22 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
         }
     }
 
+    @Override
+    public void controlScrollHook() {
+        super.controlScrollHook();
+        if (virtualized) {
+            bindVirtualRows(false);
+        }
+    }
+
+    @Override
+    public void scrollYBy(float yInc) {
+        super.scrollYBy(yInc);
+        if (virtualized) {
+            bindVirtualRows(false);
+        }
+    }
+
     @Override
     public float getScrollableHeight() {
         // TODO super.getScrollableHeight() looks like it has a bug? text padding is used even though there is none?
@@ -1346,7 +1689,7 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
                 }
                 break;
             case ROW:
-                if (currentRowIndex >= 0 && currentRowIndex < getAllRows().size()) {
+                if (currentRowIndex >= 0 && currentRowIndex < getAllRowCount()) {
                     setSelectedRowIndex(currentRowIndex);
                 } else {
                     selectedRows.clear();
@@ -1383,7 +1726,7 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
                 break;
             case CELL:
                 if (currentColumnIndex >= 0 && currentColumnIndex < columns.size()
-                        && currentRowIndex >= 0 && currentRowIndex < getAllRows().size()) {
+                        && currentRowIndex >= 0 && currentRowIndex < getAllRowCount()) {
                     setSelectedCellIndexes(currentRowIndex, currentColumnIndex);
                 } else {
                     selectedCells.clear();
@@ -1400,7 +1743,7 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
         selectedCells.clear();
         selectedRows.clear();
         List<Integer> l = new ArrayList();
-        for (int i = 0; i < rows.size(); i++) {
+        for (int i = 0; i < getRowCount(); i++) {
             l.add(i);
         }
         selectedRows.addAll(l);
@@ -1447,9 +1790,17 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
                 shift = false;
             } else if (evt.getKeyCode() == KeyInput.KEY_SPACE) {
                 if (!selectionMode.equals(SelectionMode.NONE)) {
-                    List<TableRow> selRows = getSelectedRows();
-                    if (!selRows.isEmpty()) {
-                        selRows.get(0).setExpanded(!selRows.get(0).isExpanded());
+                    // getSelectedRows() is always empty for a virtualized table
+                    if (virtualized) {
+                        List<VirtualRow> selRows = getSelectedVirtualRows();
+                        if (!selRows.isEmpty()) {
+                            setRowExpanded(selRows.get(0), !selRows.get(0).isExpanded());
+                        }
+                    } else {
+                        List<TableRow> selRows = getSelectedRows();
+                        if (!selRows.isEmpty()) {
+                            selRows.get(0).setExpanded(!selRows.get(0).isExpanded());
+                        }
                     }
                 }
             } else if (evt.getKeyCode() == KeyInput.KEY_A && ctrl && selectionMode.isEnabled()) {
@@ -1470,16 +1821,24 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
                     return;
                 }
             }
-            final List<TableRow> allRows = getAllRows();
+            final int allRowCount = getAllRowCount();
 
             // If new row is selected, scroll to it
-            if (newRow >= 0 && newRow < allRows.size()) {
-                TableRow row = allRows.get(newRow);
+            if (newRow >= 0 && newRow < allRowCount) {
+                final float rowPosition, rowSize;
+                if (virtualized) {
+                    rowPosition = getVirtualRowY(newRow, allRowCount);
+                    rowSize = rowHeight;
+                } else {
+                    TableRow row = getAllRows().get(newRow);
+                    rowPosition = row.getY();
+                    rowSize = row.getHeight();
+                }
                 final float scrolledAmount = getScrolledAmount();
                 final float viewPortHeight = getViewPortSize().y;
                 final float maxY = scrolledAmount + viewPortHeight;
-                final float rowY = getScrollableHeight() - row.getY() - row.getHeight() - (headersVisible ? headerHeight : 0) + tablePadding;
-                final float rowBottom = rowY + row.getHeight();
+                final float rowY = getScrollableHeight() - rowPosition - rowSize - (headersVisible ? headerHeight : 0) + tablePadding;
+                final float rowBottom = rowY + rowSize;
                 if (rowBottom >= maxY) {
                     scrollYBy(rowBottom - maxY);
                     setScrollThumb();
@@ -1535,6 +1894,14 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
      * leafs.
      */
     public boolean getIsTree() {
+        if (virtualized) {
+            for (VirtualRow w : virtualRows) {
+                if (!w.isLeaf()) {
+                    return true;
+                }
+            }
+            return false;
+        }
         for (TableRow w : getRows()) {
             if (!w.isLeaf()) {
                 return true;
@@ -1602,6 +1969,16 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
             r.pack();
             r.updateClipping();
         }
+
+        if (virtualized) {
+            for (TableRow r : rowPool) {
+                if (r.getElements().size() == columns.size()) {
+                    r.setWidth(scrollableArea.getWidth());
+                    r.pack();
+                }
+            }
+            bindVirtualRows(true);
+        }
     }
 
     @Override
@@ -1718,9 +2095,9 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
                                 col = 0;
                                 newRow++;
                             }
-                            List<TableRow> allRows = getAllRows();
-                            if (newRow >= allRows.size()) {
-                                newRow = allRows.size() - 1;
+                            final int allRowCount = getAllRowCount();
+                            if (newRow >= allRowCount) {
+                                newRow = allRowCount - 1;
                                 col = 0;
                             }
                         } else {
@@ -1809,7 +2186,15 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
         return allRows;
     }
 
+    private int getAllRowCount() {
+        return virtualized ? flatVirtualRows.size() : getAllRows().size();
+    }
+
     private void displayHighlights() {
+        if (virtualized) {
+            bindVirtualRows(false);
+            return;
+        }
         for (Element h : highlights) {
             scrollableArea.removeChild(h);
         }
@@ -1845,10 +2230,60 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
         }
     }
 
+    /**
+     * Shows the selection of the bound rows of a virtualized Table, reusing the highlight
+     * elements of the previous call.
+     */
+    private void displayVirtualHighlights(int first, int last, int count) {
+        int used = 0;
+        for (int index = first; index < last; index++) {
+            final float y = getVirtualRowY(index, count);
+            List<Integer> cells = selectedCells.get(index);
+            if (cells != null) {
+                for (Integer columnIndex : cells) {
+                    TableColumn column = columns.get(columnIndex);
+                    Element highlight = obtainVirtualHighlight(used++);
+                    highlight.setDimensions(column.getWidth(), rowHeight);
+                    highlight.setPosition(column.getX() - tablePadding, y);
+                }
+            } else if (selectedRows.contains(index)) {
+                Element highlight = obtainVirtualHighlight(used++);
+                highlight.setDimensions(getWidth() - (tablePadding * 2), rowHeight);
+                highlight.setPosition(0, y);
+            }
+        }
+        for (int i = used; i < highlightPool.size(); i++) {
+            final Element highlight = highlightPool.get(i);
+            if (highlight.isVisible()) {
+                highlight.hide();
+            }
+        }
+    }
+
+    private Element obtainVirtualHighlight(int index) {
+        if (index < highlightPool.size()) {
+            final Element highlight = highlightPool.get(index);
+            if (!highlight.isVisible()) {
+                highlight.show();
+            }
+            return highlight;
+        }
+        Element highlight = createHighlight(getUID() + ":VirtualHighlight" + index);
+        highlight.getElementMaterial().setColor("Color", highlightColor);
+        highlight.setClippingLayer(clipLayer);
+        scrollableArea.addChild(highlight);
+        highlightPool.add(highlight);
+        return highlight;
+    }
+
     private Element createHighlight(int index, int index2) {
+        return createHighlight(getUID() + ":Highlight" + index + ":" + index2);
+    }
+
+    private Element createHighlight(String UID) {
         Element highlight = new Element(
                 screen,
-                getUID() + ":Highlight" + index + ":" + index2,
+                UID,
                 new Vector2f(0, 0),
                 new Vector2f(rowHeight, rowHeight),
                 new Vector4f(0, 0, 0, 0),
@@ -1901,13 +2336,15 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
         private boolean leaf = true;
         private List<TableRow> childRows = new ArrayList<TableRow>();
         private TableRow parentRow;
+        private VirtualRow boundRow;
+        private int boundIndex = -1;
 
         public TableRow(ElementManager screen, Table table) {
             this(screen, table, UIDUtil.getUID());
         }
 
         public TableRow(ElementManager screen, Table table, String UID) {
-            super(screen, UID, Vector2f.ZERO, screen.getStyle("Table#Row").getVector2f("defaultSize"), screen.getStyle("Table#Row").getVector4f("resizeBorders"), screen.getStyle("Table#Row").getString("defaultImg"));
+            super(screen, UID, Vector2f.ZERO, screen.getStyle("Table#Row").getVector2f(StyleKey.DEFAULT_SIZE), screen.getStyle("Table#Row").getVector4f(StyleKey.RESIZE_BORDERS), screen.getStyle("Table#Row").getString(StyleKey.DEFAULT_IMG));
             init(table);
         }
 
@@ -1930,6 +2367,10 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
         }
 
         public void setExpanded(boolean expanded) {
+            if (boundRow != null) {
+                table.setRowExpanded(boundRow, expanded);
+                return;
+            }
             if (!expanded && table.collapseChildrenOnParentCollapse) {
                 collapse();
             } else {
@@ -1942,6 +2383,35 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
             return leaf;
         }
 
+        /**
+         * Get the nesting depth of the row, or of the bound VirtualRow if this row is
+         * part of the pool of a virtualized Table.
+         *
+         * @return depth
+         */
+        public int getDepth() {
+            if (boundRow != null) {
+                return boundRow.getDepth();
+            }
+            int depth = 0;
+            TableRow r = this;
+            while (r.parentRow != null) {
+                r = r.parentRow;
+                depth++;
+            }
+            return depth;
+        }
+
+        /**
+         * Get the VirtualRow this row currently displays, if it belongs to the pool of a
+         * virtualized Table.
+         *
+         * @return bound row or null
+         */
+        public VirtualRow getBoundRow() {
+            return boundRow;
+        }
+
         public void setLeaf(boolean leaf) {
             if (leaf && !this.leaf && !childRows.isEmpty()) {
                 throw new IllegalStateException("Cannot make a leaf it there are already children.");
@@ -2065,4 +2535,150 @@ public abstract class Table extends ScrollArea implements MouseMovementListener,
             }
         }
     }
+
+    /**
+     * A plain row of a virtualized Table. Holds the labels and values of the cells and the
+     * tree state of the row, but no elements. See {@link Table#setVirtualized(boolean)}.
+     */
+    public static class VirtualRow {
+
+        private final List<String> labels = new ArrayList<String>();
+        private final List<Object> values = new ArrayList<Object>();
+        private final List<VirtualRow> childRows = new ArrayList<VirtualRow>();
+        private VirtualRow parentRow;
+        private boolean expanded;
+        private boolean leaf = true;
+
+        /**
+         * Adds a cell to this row.
+         *
+         * @param label label of cell
+         * @param value value of cell
+         */
+        public void addCell(String label, Object value) {
+            labels.add(label);
+            values.add(value);
+        }
+
+        /**
+         * Get the label of the cell for a particular column index.
+         *
+         * @param index column index
+         * @return label or an empty string if the row has no such cell
+         */
+        public String getLabel(int index) {
+            return index < labels.size() ? labels.get(index) : "";
+        }
+
+        /**
+         * Get the value of the cell for a particular column index.
+         *
+         * @param index column index
+         * @return value or null if the row has no such cell
+         */
+        public Object getValue(int index) {
+            return index < values.size() ? values.get(index) : null;
+        }
+
+        /**
+         * Get the number of cells in this row.
+         *
+         * @return cell count
+         */
+        public int getCellCount() {
+            return labels.size();
+        }
+
+        /**
+         * Remove the cell for a particular column index from this row and all child rows.
+         *
+         * @param index column index
+         */
+        public void removeColumn(int index) {
+            if (index < labels.size()) {
+                labels.remove(index);
+                values.remove(index);
+            }
+            for (VirtualRow r : childRows) {
+                r.removeColumn(index);
+            }
+        }
+
+        public boolean isExpanded() {
+            return expanded;
+        }
+
+        public boolean isLeaf() {
+            return leaf;
+        }
+
+        public void setLeaf(boolean leaf) {
+            if (leaf && !this.leaf && !childRows.isEmpty()) {
+                throw new IllegalStateException("Cannot make a leaf it there are already children.");
+            }
+            this.leaf = leaf;
+        }
+
+        /**
+         * Adds a child VirtualRow to this row. Call {@link Table#pack() } once you are
+         * done adding rows.
+         * <p>
+         * Note you cannot add child rows unless the row is not a leaf. Use {@link #setLeaf(boolean)
+         * }.
+         *
+         * @param row row
+         */
+        public int addRow(VirtualRow row) {
+            if (leaf) {
+                throw new IllegalStateException("Cannot add child rows to leaf rows");
+            }
+            row.parentRow = this;
+            this.childRows.add(row);
+            return childRows.size() - 1;
+        }
+
+        /**
+         * Get all of the child rows (if any).
+         *
+         * @return child rows
+         */
+        public List<VirtualRow> getChildRows() {
+            return childRows;
+        }
+
+        public VirtualRow getParentRow() {
+            return parentRow;
+        }
+
+        /**
+         * Get the nesting depth of the row.
+         *
+         * @return depth
+         */
+        public int getDepth() {
+            int depth = 0;
+            VirtualRow r = this;
+            while (r.parentRow != null) {
+                r = r.parentRow;
+                depth++;
+            }
+            return depth;
+        }
+
+        private int compareTo(VirtualRow o, int index) {
+            final Object value = getValue(index);
+            final Object otherValue = o.getValue(index);
+            if (value instanceof Comparable && otherValue instanceof Comparable) {
+                return ((Comparable) value).compareTo((Comparable) otherValue);
+            }
+            return getLabel(index).compareTo(o.getLabel(index));
+        }
+
+        private void collapse() {
+            expanded = false;
+            for (VirtualRow r : childRows) {
+                r.collapse();
+            }
+        }
+    }
 }
\ No newline at end of file
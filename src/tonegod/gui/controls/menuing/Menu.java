@@ -18,18 +18,23 @@ import tonegod.gui.controls.scrolling.ScrollArea;
 import tonegod.gui.core.Element;
 import tonegod.gui.core.ElementManager;
 import tonegod.gui.core.Screen;
-import tonegod.gui.core.utils.BitmapTextUtil;
+import tonegod.gui.core.utils.TextMetrics;
 import tonegod.gui.core.utils.UIDUtil;
 import tonegod.gui.effects.Effect;
 import tonegod.gui.listeners.MouseButtonListener;
 import tonegod.gui.listeners.MouseMovementListener;
 import tonegod.gui.listeners.MouseWheelListener;
+import tonegod.gui.style.Style;
+import tonegod.gui.style.StyleKey;
 
 /**
  *
  * @author t0neg0d
  */
 public abstract class Menu extends ScrollArea implements AutoHide, MouseMovementListener, MouseWheelListener, MouseButtonListener {
+	private static final StyleKey MENU_OVERHANG = StyleKey.get("menuOverhang");
+	private static final StyleKey MENU_PADDING = StyleKey.get("menuPadding");
+	
 	private List<MenuItem> menuItems = new ArrayList();
 	private Element highlight;
 	private float initWidth;
@@ -54,9 +59,9 @@ public abstract class Menu extends ScrollArea implements AutoHide, MouseMovement
 	 */
 	public Menu(ElementManager screen, boolean isScrollable) {
 		this(screen, UIDUtil.getUID(), Vector2f.ZERO,
-			screen.getStyle("Menu").getVector2f("defaultSize"),
-			screen.getStyle("Menu").getVector4f("resizeBorders"),
-			screen.getStyle("Menu").getString("defaultImg"),
+			screen.getStyle("Menu").getVector2f(StyleKey.DEFAULT_SIZE),
+			screen.getStyle("Menu").getVector4f(StyleKey.RESIZE_BORDERS),
+			screen.getStyle("Menu").getString(StyleKey.DEFAULT_IMG),
 			isScrollable
 		);
 	}
@@ -70,9 +75,9 @@ public abstract class Menu extends ScrollArea implements AutoHide, MouseMovement
 	 */
 	public Menu(ElementManager screen, Vector2f position, boolean isScrollable) {
 		this(screen, UIDUtil.getUID(), position,
-			screen.getStyle("Menu").getVector2f("defaultSize"),
-			screen.getStyle("Menu").getVector4f("resizeBorders"),
-			screen.getStyle("Menu").getString("defaultImg"),
+			screen.getStyle("Menu").getVector2f(StyleKey.DEFAULT_SIZE),
+			screen.getStyle("Menu").getVector4f(StyleKey.RESIZE_BORDERS),
+			screen.getStyle("Menu").getString(StyleKey.DEFAULT_IMG),
 			isScrollable
 		);
 	}
@@ -87,8 +92,8 @@ public abstract class Menu extends ScrollArea implements AutoHide, MouseMovement
 	 */
 	public Menu(ElementManager screen, Vector2f position, Vector2f dimensions, boolean isScrollable) {
 		this(screen, UIDUtil.getUID(), position, dimensions,
-			screen.getStyle("Menu").getVector4f("resizeBorders"),
-			screen.getStyle("Menu").getString("defaultImg"),
+			screen.getStyle("Menu").getVector4f(StyleKey.RESIZE_BORDERS),
+			screen.getStyle("Menu").getString(StyleKey.DEFAULT_IMG),
 			isScrollable
 		);
 	}
@@ -117,9 +122,9 @@ public abstract class Menu extends ScrollArea implements AutoHide, MouseMovement
 	 */
 	public Menu(ElementManager screen, String UID, Vector2f position, boolean isScrollable) {
 		this(screen, UID, position,
-			screen.getStyle("Menu").getVector2f("defaultSize"),
-			screen.getStyle("Menu").getVector4f("resizeBorders"),
-			screen.getStyle("Menu").getString("defaultImg"),
+			screen.getStyle("Menu").getVector2f(StyleKey.DEFAULT_SIZE),
+			screen.getStyle("Menu").getVector4f(StyleKey.RESIZE_BORDERS),
+			screen.getStyle("Menu").getString(StyleKey.DEFAULT_IMG),
 			isScrollable
 		);
 	}
@@ -135,8 +140,8 @@ public abstract class Menu extends ScrollArea implements AutoHide, MouseMovement
 	 */
 	public Menu(ElementManager screen, String UID, Vector2f position, Vector2f dimensions, boolean isScrollable) {
 		this(screen, UID, position, dimensions,
-			screen.getStyle("Menu").getVector4f("resizeBorders"),
-			screen.getStyle("Menu").getString("defaultImg"),
+			screen.getStyle("Menu").getVector4f(StyleKey.RESIZE_BORDERS),
+			screen.getStyle("Menu").getString(StyleKey.DEFAULT_IMG),
 			isScrollable
 		);
 	}
@@ -155,41 +160,40 @@ public abstract class Menu extends ScrollArea implements AutoHide, MouseMovement
 	public Menu(ElementManager screen, String UID, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String defaultImg, boolean isScrollable) {
 		super(screen, UID, position, dimensions, resizeBorders, defaultImg, false);
 		
-		menuOverhang = screen.getStyle("Menu").getFloat("menuOverhang");
-		try {
-			menuPadding.set(
-				screen.getStyle("Menu").getFloat("menuPadding"),
-				screen.getStyle("Menu").getFloat("menuPadding"),
-				screen.getStyle("Menu").getFloat("menuPadding"),
-				screen.getStyle("Menu").getFloat("menuPadding")
-			);
-		} catch (Exception ex) {  }
-		try {
-			menuPadding.set(
-				screen.getStyle("Menu").getVector4f("menuPadding")
-			);
-		} catch (Exception ex) {  }
-		highlightColor = screen.getStyle("Menu").getColorRGBA("highlightColor");
+		Style style = screen.getStyle("Menu");
+		
+		menuOverhang = style.getFloat(MENU_OVERHANG);
+		Object padding = style.get(MENU_PADDING);
+		if (padding instanceof Float) {
+			float p = (Float)padding;
+			menuPadding.set(p, p, p, p);
+		} else if (padding instanceof Vector4f) {
+			menuPadding.set((Vector4f)padding);
+		}
+		highlightColor = style.getColorRGBA(StyleKey.HIGHLIGHT_COLOR).clone();
 		
 		// Load default font info
-		setFontColor(screen.getStyle("Menu").getColorRGBA("fontColor"));
-		setFontSize(screen.getStyle("Menu").getFloat("fontSize"));
-		setTextAlign(BitmapFont.Align.valueOf(screen.getStyle("Menu").getString("textAlign")));
-		setTextVAlign(BitmapFont.VAlign.valueOf(screen.getStyle("Menu").getString("textVAlign")));
-		setTextWrap(LineWrapMode.valueOf(screen.getStyle("Menu").getString("textWrap")));
+		BitmapFont.Align align = BitmapFont.Align.valueOf(style.getString(StyleKey.TEXT_ALIGN));
+		BitmapFont.VAlign vAlign = BitmapFont.VAlign.valueOf(style.getString(StyleKey.TEXT_V_ALIGN));
+		LineWrapMode wrap = LineWrapMode.valueOf(style.getString(StyleKey.TEXT_WRAP));
+		setFontColor(style.getColorRGBA(StyleKey.FONT_COLOR).clone());
+		setFontSize(style.getFloat(StyleKey.FONT_SIZE));
+		setTextAlign(align);
+		setTextVAlign(vAlign);
+		setTextWrap(wrap);
 	//	setTextPadding(screen.getStyle("Menu").getFloat("textPadding"));
 	//	setTextClipPaddingByKey("Menu","textPadding");
-		scrollableArea.setFontColor(screen.getStyle("Menu").getColorRGBA("fontColor"));
-		scrollableArea.setFontSize(screen.getStyle("Menu").getFloat("fontSize"));
-		scrollableArea.setTextAlign(BitmapFont.Align.valueOf(screen.getStyle("Menu").getString("textAlign")));
-		scrollableArea.setTextVAlign(BitmapFont.VAlign.valueOf(screen.getStyle("Menu").getString("textVAlign")));
-		scrollableArea.setTextWrap(LineWrapMode.valueOf(screen.getStyle("Menu").getString("textWrap")));
+		scrollableArea.setFontColor(style.getColorRGBA(StyleKey.FONT_COLOR).clone());
+		scrollableArea.setFontSize(style.getFloat(StyleKey.FONT_SIZE));
+		scrollableArea.setTextAlign(align);
+		scrollableArea.setTextVAlign(vAlign);
+		scrollableArea.setTextWrap(wrap);
 		scrollableArea.setTextPaddingByKey("Menu","textPadding");
 		scrollableArea.setTextClipPaddingByKey("Menu","textPadding");
 		scrollableArea.getTextClipPaddingVec().addLocal(menuPadding);
 		scrollableArea.setTextPosition(0, menuPadding.x);
 		
-		menuItemHeight = BitmapTextUtil.getTextLineHeight(this, "Xg");
+		menuItemHeight = TextMetrics.get(font).getLineHeight(fontSize);
 		
 		scrollableArea.setText(" ");
 		scrollableArea.setIgnoreMouse(true);
@@ -470,9 +474,10 @@ public abstract class Menu extends ScrollArea implements AutoHide, MouseMovement
 	 * Forces the Menu to rebuild all MenuItems.  This does not need to be called, however it will not effect anything negatively if it is.
 	 */
 	public void pack() {
-		String finalString = "";
+		StringBuilder finalString = new StringBuilder();
+		TextMetrics metrics = TextMetrics.get(font);
 		
-		menuItemHeight = BitmapTextUtil.getTextLineHeight(this, "Xg");
+		menuItemHeight = metrics.getLineHeight(fontSize);
 		
 		scrollableArea.removeAllChildren();
 		scrollableArea.setHeight(menuItemHeight);
@@ -480,7 +485,6 @@ public abstract class Menu extends ScrollArea implements AutoHide, MouseMovement
 		int index = 0;
 		float currentHeight = 0;
 		float width = menuItemHeight*3;
-		boolean init = true;
 		
 		String leftSpacer = "  ";
 		String rightSpacer = "";
@@ -490,14 +494,11 @@ public abstract class Menu extends ScrollArea implements AutoHide, MouseMovement
 		if (hasSubMenus)			rightSpacer = "  ";
 		
 		for (MenuItem mi : menuItems) {
-			float tWidth = (menuItemHeight*2)+BitmapTextUtil.getTextWidth(this, leftSpacer + mi.getCaption() + rightSpacer);
+			if (finalString.length() > 0) finalString.append('\n');
+			int start = finalString.length();
+			finalString.append(leftSpacer).append(mi.getCaption()).append(rightSpacer);
+			float tWidth = (menuItemHeight*2)+metrics.getLineWidth(finalString, start, finalString.length(), fontSize);
 			width = (tWidth > width) ? tWidth : width;
-			if (init) {
-				finalString = leftSpacer + mi.getCaption() + rightSpacer;
-				init = false;
-			} else {
-				finalString += "\n" + leftSpacer + mi.getCaption() + rightSpacer;
-			}
 			currentHeight += menuItemHeight;
 			
 			if (mi.getSubMenu() != null) {
@@ -510,7 +511,7 @@ public abstract class Menu extends ScrollArea implements AutoHide, MouseMovement
 			}
 			index++;
 		}
-		scrollableArea.setText(finalString);
+		scrollableArea.setText(finalString.toString());
 		
 		if (preferredSize == Vector2f.ZERO) {
 			this.resize(getX()+width+getMPWidth(), getY()+currentHeight+getMPHeight(), Borders.SE);
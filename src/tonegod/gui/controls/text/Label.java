@@ -11,6 +11,8 @@ import com.jme3.math.Vector4f;
 import tonegod.gui.core.Element;
 import tonegod.gui.core.ElementManager;
 import tonegod.gui.core.utils.UIDUtil;
+import tonegod.gui.style.Style;
+import tonegod.gui.style.StyleKey;
 
 /**
  *
@@ -26,8 +28,8 @@ public class Label extends Element {
 	 */
 	public Label(ElementManager screen, Vector2f dimensions) {
 		this(screen, UIDUtil.getUID(), Vector2f.ZERO, dimensions,
-			screen.getStyle("Label").getVector4f("resizeBorders"),
-			screen.getStyle("Label").getString("defaultImg")
+			screen.getStyle("Label").getVector4f(StyleKey.RESIZE_BORDERS),
+			screen.getStyle("Label").getString(StyleKey.DEFAULT_IMG)
 		);
 	}
 	
@@ -40,8 +42,8 @@ public class Label extends Element {
 	 */
 	public Label(ElementManager screen, Vector2f position, Vector2f dimensions) {
 		this(screen, UIDUtil.getUID(), position, dimensions,
-			screen.getStyle("Label").getVector4f("resizeBorders"),
-			screen.getStyle("Label").getString("defaultImg")
+			screen.getStyle("Label").getVector4f(StyleKey.RESIZE_BORDERS),
+			screen.getStyle("Label").getString(StyleKey.DEFAULT_IMG)
 		);
 	}
 	
@@ -68,8 +70,8 @@ public class Label extends Element {
 	 */
 	public Label(ElementManager screen, String UID, Vector2f position, Vector2f dimensions) {
 		this(screen, UID, position, dimensions,
-			screen.getStyle("Label").getVector4f("resizeBorders"),
-			screen.getStyle("Label").getString("defaultImg")
+			screen.getStyle("Label").getVector4f(StyleKey.RESIZE_BORDERS),
+			screen.getStyle("Label").getString(StyleKey.DEFAULT_IMG)
 		);
 	}
 	
@@ -86,14 +88,16 @@ public class Label extends Element {
 	public Label(ElementManager screen, String UID, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String defaultImg) {
 		super(screen, UID, position, dimensions, resizeBorders, defaultImg);
 		
+		Style style = screen.getStyle("Label");
+		
 		// Load default font info
-		this.setFontColor(screen.getStyle("Label").getColorRGBA("fontColor"));
-		this.setFontSize(screen.getStyle("Label").getFloat("fontSize"));
-		this.setTextAlign(BitmapFont.Align.valueOf(screen.getStyle("Label").getString("textAlign")));
-		this.setTextVAlign(BitmapFont.VAlign.valueOf(screen.getStyle("Label").getString("textVAlign")));
-		this.setTextWrap(LineWrapMode.valueOf(screen.getStyle("Label").getString("textWrap")));
-		this.setTextPadding(screen.getStyle("Label").getFloat("textPadding"));
-		this.setTextClipPadding(screen.getStyle("Label").getFloat("textPadding"));
+		this.setFontColor(style.getColorRGBA(StyleKey.FONT_COLOR).clone());
+		this.setFontSize(style.getFloat(StyleKey.FONT_SIZE));
+		this.setTextAlign(BitmapFont.Align.valueOf(style.getString(StyleKey.TEXT_ALIGN)));
+		this.setTextVAlign(BitmapFont.VAlign.valueOf(style.getString(StyleKey.TEXT_V_ALIGN)));
+		this.setTextWrap(LineWrapMode.valueOf(style.getString(StyleKey.TEXT_WRAP)));
+		this.setTextPadding(style.getFloat(StyleKey.TEXT_PADDING));
+		this.setTextClipPadding(style.getFloat(StyleKey.TEXT_PADDING));
 		
 		this.setIsResizable(false);
 		this.setScaleNS(false);
@@ -4,9 +4,9 @@
  */
 package tonegod.gui.controls.text;
 
-import com.jme3.font.BitmapText;
 import com.jme3.math.Vector2f;
 import com.jme3.math.Vector4f;
+import java.util.Arrays;
 import tonegod.gui.core.ElementManager;
 import tonegod.gui.core.utils.UIDUtil;
 
@@ -16,7 +16,6 @@ import tonegod.gui.core.utils.UIDUtil;
  */
 public class Password extends TextField {
 	char mask = '*';
-	String maskedText = "";
 	
 	public Password(ElementManager screen) {
 		this(screen, UIDUtil.getUID(), Vector2f.ZERO,
@@ -71,6 +70,8 @@ public class Password extends TextField {
 	 */
 	public void setMask(char mask) {
 		this.mask= mask;
+		invalidateTextWidths(0);
+		updateText(getVisibleText());
 	}
 	
 	/**
@@ -82,56 +83,15 @@ public class Password extends TextField {
 	}
 	
 	@Override
-	protected String getVisibleText() {
-		getTextFieldText();
-		
-		maskedText = "";
-		for (int i = 0; i < finalText.length(); i++) {
-			maskedText += String.valueOf(mask);
-		}
-		
-		widthTest = new BitmapText(font, false);
-		widthTest.setBox(null);
-		widthTest.setSize(getFontSize());
-		
-		int index1 = 0, index2;
-		widthTest.setText(maskedText.substring(index1));
-		while(widthTest.getLineWidth() > getWidth()) {
-			if (index1 == caretIndex)
-				break;
-			index1++;
-			widthTest.setText(maskedText.substring(index1));
-		}
-		
-		index2 = maskedText.length()-1;
-		if (index2 == caretIndex && caretIndex != textFieldText.size()) {
-			index2 = caretIndex+1;
-			widthTest.setText(maskedText.substring(index1, index2));
-			while(widthTest.getLineWidth() < getWidth()) {
-				if (index2 == textFieldText.size())
-					break;
-				index2++;
-				widthTest.setText(maskedText.substring(index1, index2));
-			}
-		}
-		if (index2 != textFieldText.size())
-			index2++;
-		
-		if (head != index1 || tail != index2) {
-			head = index1;
-			tail = index2;
-		}
-		if (head != tail && head != -1 && tail != -1) {
-			visibleText = maskedText.substring(head, tail);
-		} else {
-			visibleText = "";
-		}
-		
-		widthTest.setText(maskedText.substring(head, caretIndex));
-		caretX = widthTest.getLineWidth();
-		setCaretPosition(getAbsoluteX()+caretX);
-		
-		return visibleText;
+	protected char getDisplayChar(char c) {
+		return mask;
+	}
+	
+	@Override
+	protected String getDisplayText(int start, int end) {
+		char[] masked = new char[end-start];
+		Arrays.fill(masked, mask);
+		return new String(masked);
 	}
 	
 }
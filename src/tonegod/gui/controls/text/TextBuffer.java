@@ -0,0 +1,203 @@
+package tonegod.gui.controls.text;
+
+/**
+ * A char gap buffer used as the text model of the TextField.  Inserts and deletes at the caret
+ * only move the characters between the previous edit and the caret, so typing does not shift the
+ * whole text on every key press.
+ * 
+ * The String form of the buffer is only built when toString() is called and is cached until the
+ * next change.  substring() copies just the requested range.
+ */
+public class TextBuffer implements CharSequence {
+	private char[] chars;
+	private int gapStart = 0, gapEnd;
+	private String string = "";
+	
+	/**
+	 * Creates a new empty TextBuffer
+	 */
+	public TextBuffer() {
+		this(16);
+	}
+	
+	/**
+	 * Creates a new empty TextBuffer
+	 * @param capacity The number of characters the buffer can hold before growing
+	 */
+	public TextBuffer(int capacity) {
+		chars = new char[Math.max(capacity, 1)];
+		gapEnd = chars.length;
+	}
+	
+	/**
+	 * Returns the number of characters in the buffer
+	 * @return int
+	 */
+	@Override
+	public int length() {
+		return chars.length-(gapEnd-gapStart);
+	}
+	
+	/**
+	 * Returns the character at the provided index
+	 * @param index int
+	 * @return char
+	 */
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= length())
+			throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length());
+		return (index < gapStart) ? chars[index] : chars[index+gapEnd-gapStart];
+	}
+	
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		return substring(start, end);
+	}
+	
+	/**
+	 * Returns the characters from start (inclusive) to end (exclusive) without building the
+	 * String form of the whole buffer
+	 * @param start int
+	 * @param end int
+	 * @return String
+	 */
+	public String substring(int start, int end) {
+		if (start < 0 || end > length() || start > end)
+			throw new IndexOutOfBoundsException("Start: " + start + ", End: " + end + ", Length: " + length());
+		if (string != null) return string.substring(start, end);
+		StringBuilder sb = new StringBuilder(end-start);
+		if (start < gapStart) sb.append(chars, start, Math.min(end, gapStart)-start);
+		if (end > gapStart) {
+			int from = Math.max(start, gapStart);
+			sb.append(chars, from+gapEnd-gapStart, end-from);
+		}
+		return sb.toString();
+	}
+	
+	/**
+	 * Returns the index of the first occurrence of the character at or after from, or -1
+	 * @param c char
+	 * @param from int
+	 * @return int
+	 */
+	public int indexOf(char c, int from) {
+		for (int i = Math.max(from, 0), length = length(); i < length; i++) {
+			if (charAt(i) == c) return i;
+		}
+		return -1;
+	}
+	
+	/**
+	 * Returns the index of the last occurrence of the character at or before from, or -1
+	 * @param c char
+	 * @param from int
+	 * @return int
+	 */
+	public int lastIndexOf(char c, int from) {
+		for (int i = Math.min(from, length()-1); i >= 0; i--) {
+			if (charAt(i) == c) return i;
+		}
+		return -1;
+	}
+	
+	/**
+	 * Inserts a single character at the provided index
+	 * @param index int
+	 * @param c char
+	 */
+	public void insert(int index, char c) {
+		checkIndex(index);
+		moveGap(index);
+		ensureGap(1);
+		chars[gapStart++] = c;
+		string = null;
+	}
+	
+	/**
+	 * Inserts the provided characters at the provided index
+	 * @param index int
+	 * @param s CharSequence
+	 */
+	public void insert(int index, CharSequence s) {
+		checkIndex(index);
+		int count = s.length();
+		if (count == 0) return;
+		moveGap(index);
+		ensureGap(count);
+		for (int i = 0; i < count; i++) {
+			chars[gapStart++] = s.charAt(i);
+		}
+		string = null;
+	}
+	
+	/**
+	 * Removes the characters from start (inclusive) to end (exclusive)
+	 * @param start int
+	 * @param end int
+	 */
+	public void delete(int start, int end) {
+		if (start < 0 || end > length() || start > end)
+			throw new IndexOutOfBoundsException("Start: " + start + ", End: " + end + ", Length: " + length());
+		if (start == end) return;
+		moveGap(start);
+		gapEnd += end-start;
+		string = null;
+	}
+	
+	/**
+	 * Removes all characters from the buffer
+	 */
+	public void clear() {
+		gapStart = 0;
+		gapEnd = chars.length;
+		string = "";
+	}
+	
+	/**
+	 * Replaces the contents of the buffer with the provided characters
+	 * @param s CharSequence
+	 */
+	public void set(CharSequence s) {
+		clear();
+		insert(0, s);
+	}
+	
+	@Override
+	public String toString() {
+		if (string == null)
+			string = substring(0, length());
+		return string;
+	}
+	
+	private void checkIndex(int index) {
+		if (index < 0 || index > length())
+			throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length());
+	}
+	
+	private void moveGap(int index) {
+		if (index < gapStart) {
+			int count = gapStart-index;
+			System.arraycopy(chars, index, chars, gapEnd-count, count);
+			gapStart -= count;
+			gapEnd -= count;
+		} else if (index > gapStart) {
+			int count = index-gapStart;
+			System.arraycopy(chars, gapEnd, chars, gapStart, count);
+			gapStart += count;
+			gapEnd += count;
+		}
+	}
+	
+	private void ensureGap(int count) {
+		if (gapEnd-gapStart >= count) return;
+		int length = length();
+		int capacity = Math.max(chars.length*2, length+count);
+		char[] next = new char[capacity];
+		int tailCount = chars.length-gapEnd;
+		System.arraycopy(chars, 0, next, 0, gapStart);
+		System.arraycopy(chars, gapEnd, next, capacity-tailCount, tailCount);
+		chars = next;
+		gapEnd = capacity-tailCount;
+	}
+}
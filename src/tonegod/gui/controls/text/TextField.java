@@ -4,6 +4,8 @@
  */
 package tonegod.gui.controls.text;
 
+import com.jme3.font.BitmapCharacter;
+import com.jme3.font.BitmapCharacterSet;
 import com.jme3.font.BitmapFont;
 import com.jme3.font.BitmapText;
 import com.jme3.font.LineWrapMode;
@@ -21,13 +23,11 @@ import com.jme3.renderer.RenderManager;
 import com.jme3.renderer.ViewPort;
 import com.jme3.scene.Spatial;
 import com.jme3.scene.control.Control;
-import java.util.ArrayList;
-import java.util.List;
 import tonegod.gui.core.Element;
 import tonegod.gui.core.ElementManager;
 import tonegod.gui.core.Screen;
 import tonegod.gui.style.StyleManager.CursorType;
-import tonegod.gui.core.utils.BitmapTextUtil;
+import tonegod.gui.core.utils.TextMetrics;
 import tonegod.gui.core.utils.UIDUtil;
 import tonegod.gui.effects.Effect;
 import tonegod.gui.listeners.KeyboardListener;
@@ -58,15 +58,17 @@ public class TextField extends Element implements Control, KeyboardListener, Tab
 	private String validateNumeric = "0123456789.-";
 	private String validateSpecChar = "`~!@#$%^&*()-_=+[]{}\\|;:'\",<.>/?";
 	private String validateCustom = "";
-	private String testString = "Gg|/X";
 	private Element caret;
 	private Material caretMat;
 	protected int caretIndex = 0, head = 0, tail = 0;
 	protected int rangeHead = -1, rangeTail = -1;
 	protected int visibleHead = -1, visibleTail = -1;
-	protected List<String> textFieldText = new ArrayList();
-	protected String finalText = "", visibleText = "", textRangeText = "";
-	protected BitmapText widthTest;
+	protected TextBuffer textFieldText = new TextBuffer();
+	protected float[] textWidths = new float[16];
+	protected String visibleText = "", textRangeText = "";
+	private int widthsValid = 0;
+	private BitmapFont widthsFont;
+	private float widthsFontSize;
 	private boolean hasTabFocus = false;
 	protected float caretX = 0;
 	private Type type = Type.DEFAULT;
@@ -308,14 +310,14 @@ public class TextField extends Element implements Control, KeyboardListener, Tab
 		} else if (evt.getKeyCode() == KeyInput.KEY_DELETE) {
 			if (rangeHead != -1 && rangeTail != -1)	editTextRangeText("");
 			else {
-				if (caretIndex < finalText.length()) textFieldText.remove(caretIndex);
+				if (caretIndex < textFieldText.length()) deleteText(caretIndex, caretIndex+1);
 			}
 		} else if (evt.getKeyCode() == KeyInput.KEY_BACK) {
 			if (rangeHead != -1 && rangeTail != -1) {
 				editTextRangeText("");
 			} else {
 				if (caretIndex > 0) {
-					textFieldText.remove(caretIndex-1);
+					deleteText(caretIndex-1, caretIndex);
 					caretIndex--;
 				}
 			}
@@ -343,10 +345,10 @@ public class TextField extends Element implements Control, KeyboardListener, Tab
 				else {
 					int cIndex = caretIndex;
 					if (cIndex > 0)
-						if (finalText.charAt(cIndex-1) == ' ')
+						if (textFieldText.charAt(cIndex-1) == ' ')
 							cIndex--;
 					int index = 0;
-					if (cIndex > 0) index = finalText.substring(0,cIndex).lastIndexOf(' ')+1;
+					if (cIndex > 0) index = textFieldText.lastIndexOf(' ', cIndex-1)+1;
 					if (index < 0)	index = 0;
 					caretIndex = index;
 				}
@@ -357,10 +359,10 @@ public class TextField extends Element implements Control, KeyboardListener, Tab
 			}
 		} else if (evt.getKeyCode() == KeyInput.KEY_RIGHT) {
 			if (!shift) resetTextRange();
-			if (caretIndex <= textFieldText.size()) {
+			if (caretIndex <= textFieldText.length()) {
 				if (Screen.isMac()) {
 					if (meta) {
-						caretIndex = textFieldText.size();
+						caretIndex = textFieldText.length();
 						getVisibleText();
 						if (shift) setTextRangeEnd(caretIndex);
 						else {
@@ -378,29 +380,28 @@ public class TextField extends Element implements Control, KeyboardListener, Tab
 					caretIndex++;
 				else {
 					int cIndex = caretIndex;
-					if (cIndex < finalText.length())
-						if (finalText.charAt(cIndex) == ' ')
+					if (cIndex < textFieldText.length())
+						if (textFieldText.charAt(cIndex) == ' ')
 							cIndex++;
 					int index;
-					if (cIndex < finalText.length()) {
-						index = finalText.substring(cIndex, finalText.length()).indexOf(' ');
-						if (index == -1)	index = finalText.length();
-						else				index += cIndex;
+					if (cIndex < textFieldText.length()) {
+						index = textFieldText.indexOf(' ', cIndex);
+						if (index == -1)	index = textFieldText.length();
 					} else {
-						index = finalText.length();
+						index = textFieldText.length();
 					}
 					caretIndex = index;
 				}
-				if (caretIndex > finalText.length())
-					caretIndex = finalText.length();
+				if (caretIndex > textFieldText.length())
+					caretIndex = textFieldText.length();
 				
 				if (!shift) {
-					if (caretIndex < textFieldText.size())	setTextRangeStart(caretIndex);
-					else									setTextRangeStart(textFieldText.size());
+					if (caretIndex < textFieldText.length())	setTextRangeStart(caretIndex);
+					else									setTextRangeStart(textFieldText.length());
 				}
 			}
 		} else if (evt.getKeyCode() == KeyInput.KEY_END || evt.getKeyCode() == KeyInput.KEY_NEXT || evt.getKeyCode() == KeyInput.KEY_DOWN) {
-			caretIndex = textFieldText.size();
+			caretIndex = textFieldText.length();
 			getVisibleText();
 			if (shift)	setTextRangeEnd(caretIndex);
 			else {
@@ -435,57 +436,48 @@ public class TextField extends Element implements Control, KeyboardListener, Tab
 					else if (forceLowerCase)	nextChar = nextChar.toLowerCase();
 					valid = true;
 					if (maxLength > 0) {
-						if (getText().length() >= maxLength) valid =false;
+						if (textFieldText.length() >= maxLength) valid =false;
 					}
 					if (valid) {
 						if (type == Type.DEFAULT) {
-							textFieldText.add(caretIndex, nextChar);
-							caretIndex++;
+							insertText(nextChar);
 						} else if (type == Type.ALPHA) {
 							if (validateAlpha.indexOf(nextChar) != -1) {
-								textFieldText.add(caretIndex, nextChar);
-								caretIndex++;
+								insertText(nextChar);
 							}
 						} else if (type == Type.ALPHA_NOSPACE) {
 							if (validateAlpha.indexOf(nextChar) != -1) {
-								textFieldText.add(caretIndex, nextChar);
-								caretIndex++;
+								insertText(nextChar);
 							}
 						} else if (type == Type.NUMERIC) {
 							if (validateNumeric.indexOf(nextChar) != -1) {
-								textFieldText.add(caretIndex, nextChar);
-								caretIndex++;
+								insertText(nextChar);
 							}
 						} else if (type == Type.ALPHANUMERIC) {
 							if (validateAlpha.indexOf(nextChar) != -1 || validateNumeric.indexOf(nextChar) != -1) {
-								textFieldText.add(caretIndex, nextChar);
-								caretIndex++;
+								insertText(nextChar);
 							}
 						} else if (type == Type.ALPHANUMERIC_NOSPACE) {
 							if (validateAlphaNoSpace.indexOf(nextChar) != -1 || validateNumeric.indexOf(nextChar) != -1) {
-								textFieldText.add(caretIndex, nextChar);
-								caretIndex++;
+								insertText(nextChar);
 							}
 						} else if (type == Type.EXCLUDE_SPECIAL) {
 							if (validateSpecChar.indexOf(nextChar) == -1) {
-								textFieldText.add(caretIndex, nextChar);
-								caretIndex++;
+								insertText(nextChar);
 							}
 						} else if (type == Type.EXCLUDE_CUSTOM) {
 							if (validateCustom.indexOf(nextChar) == -1) {
-								textFieldText.add(caretIndex, nextChar);
-								caretIndex++;
+								insertText(nextChar);
 							}
 						} else if (type == Type.INCLUDE_CUSTOM) {
 							if (validateCustom.indexOf(nextChar) != -1) {
-								textFieldText.add(caretIndex, nextChar);
-								caretIndex++;
+								insertText(nextChar);
 							}
 						}
 					}
 					if (!shift) {
-						if (caretIndex < textFieldText.size())	setTextRangeStart(caretIndex);
-						else									setTextRangeStart(textFieldText.size());
+						if (caretIndex < textFieldText.length())	setTextRangeStart(caretIndex);
+						else									setTextRangeStart(textFieldText.length());
 					}
 				}
 			}
@@ -521,19 +513,6 @@ public class TextField extends Element implements Control, KeyboardListener, Tab
 		evt.setConsumed();
 	}
 	
-	/**
-	 * Internal use - NEVER USE THIS!!
-	 */
-	protected void getTextFieldText() {
-		String ret = "";
-		int index = 0;
-		for (String s : textFieldText) {
-			ret += s;
-			index++;
-		}
-		finalText = ret;
-	}
-	
 	/**
 	 * This method now forwards to setText.  Feel free to use setText directly.
 	 * @param text String The text to set for the TextField
@@ -545,13 +524,10 @@ public class TextField extends Element implements Control, KeyboardListener, Tab
 	
 	@Override
 	public void setText(String s) {
-		caretIndex = 0;
+		textFieldText.set(s);
+		invalidateTextWidths(0);
+		caretIndex = textFieldText.length();
 		
-		textFieldText.clear();
-		for (int i = 0; i < s.length(); i++) {
-			textFieldText.add(caretIndex, String.valueOf(s.charAt(i)));
-			caretIndex++;
-		}
 		this.updateText(getVisibleText());
 		
 		setCaretPositionToEnd();
@@ -570,13 +546,7 @@ public class TextField extends Element implements Control, KeyboardListener, Tab
 	
 	@Override
 	public String getText() {
-		String ret = "";
-		int index = 0;
-		for (String s : textFieldText) {
-			ret += s;
-			index++;
-		}
-		return ret;
+		return textFieldText.toString();
 	}
 	
 	/**
@@ -584,142 +554,159 @@ public class TextField extends Element implements Control, KeyboardListener, Tab
 	 * @return String
 	 */
 	protected String getVisibleText() {
-		getTextFieldText();
+		updateTextWidths();
 		
-		widthTest = new BitmapText(font, false);
-		widthTest.setBox(null);
-		widthTest.setSize(getFontSize());
-
-		int index1 = 0, index2;
+		int length = textFieldText.length();
+		float maxWidth = getWidth()-(getTextPadding()*2);
 		
-		widthTest.setText(finalText);
-		if (head == -1 || tail == -1 || widthTest.getLineWidth() < getWidth()) {
+		if (head == -1 || tail == -1 || textWidths[length] < maxWidth) {
 			head = 0;
-			tail = finalText.length();
-			if (head != tail && head != -1 && tail != -1)
-				visibleText = finalText.substring(head, tail);
-			else
-				visibleText = "";
-		} else if (caretIndex < head) {
-			head = caretIndex;
-			index2 = caretIndex;
-			if (index2 == caretIndex && caretIndex != textFieldText.size()) {
-				index2 = caretIndex+1;
-				widthTest.setText(finalText.substring(caretIndex, index2));
-				while(widthTest.getLineWidth() < getWidth()-(getTextPadding()*2)) {
-					if (index2 == textFieldText.size())
-						break;
-					widthTest.setText(finalText.substring(caretIndex, index2+1));
-					if (widthTest.getLineWidth() < getWidth()-(getTextPadding()*2)) {
-						index2++;
-					}
-				}
-			}
-			if (index2 != textFieldText.size()) index2++;
-			tail = index2;
-			if (head != tail && head != -1 && tail != -1)
-				visibleText = finalText.substring(head, tail);
-			else
-				visibleText = "";
-		} else if (caretIndex > tail) {
-			tail = caretIndex;
-			index2 = caretIndex;
-			if (index2 == caretIndex && caretIndex != 0) {
-				index2 = caretIndex-1;
-				widthTest.setText(finalText.substring(index2, caretIndex));
-				while(widthTest.getLineWidth() < getWidth()-(getTextPadding()*2)) {
-					if (index2 == 0)
-						break;
-					widthTest.setText(finalText.substring(index2-1, caretIndex));
-					if (widthTest.getLineWidth() < getWidth()-(getTextPadding()*2)) {
-						index2--;
-					}
-				}
-			}
-			head = index2;
-			if (head != tail && head != -1 && tail != -1)
-				visibleText = finalText.substring(head, caretIndex);
-			else
-				visibleText = "";
+			tail = length;
 		} else {
-			index2 = tail;
-			if (index2 > finalText.length())
-				index2 = finalText.length();
-			if (tail != head) {
-				widthTest.setText(finalText.substring(head, index2));
-				if (widthTest.getLineWidth() > getWidth()-(getTextPadding()*2)) {
-					while(widthTest.getLineWidth() > getWidth()-(getTextPadding()*2)) {
-						if (index2 == head)
-							break;
-						widthTest.setText(finalText.substring(head, index2-1));
-						if (widthTest.getLineWidth() > getWidth()-(getTextPadding()*2)) {
-							index2--;
-						}
-					}
-				} else if (widthTest.getLineWidth() < getWidth()-(getTextPadding()*2)) {
-					while(widthTest.getLineWidth() < getWidth()-(getTextPadding()*2) && index2 < finalText.length()) {
-						if (index2 == head)
-							break;
-						widthTest.setText(finalText.substring(head, index2+1));
-						if (widthTest.getLineWidth() < getWidth()-(getTextPadding()*2)) {
-							index2++;
-						}
-						
-					}
-				}
+			if (caretIndex < head) head = caretIndex;
+			if (head > length) head = length;
+			tail = getTextIndexBefore(textWidths[head]+maxWidth, head, length);
+			if (tail == head && head != length) tail++;
+			if (caretIndex > tail) {
+				tail = caretIndex;
+				head = getTextIndexAfter(textWidths[tail]-maxWidth, 0, tail);
+			} else if (tail == length) {
+				head = getTextIndexAfter(textWidths[length]-maxWidth, 0, head);
 			}
-			tail = index2;
-			if (head != tail && head != -1 && tail != -1)
-				visibleText = finalText.substring(head, tail);
-			else
-				visibleText = "";
 		}
 		
-		String testString = "";
-		widthTest.setText(".");
-		float fixWidth = widthTest.getLineWidth();
-		boolean useFix = false;
+		if (head != tail)
+			visibleText = getDisplayText(head, tail);
+		else
+			visibleText = "";
 		
-		if (!finalText.equals("")) {
-			try {
-				testString = finalText.substring(head, caretIndex);
-				if (testString.charAt(testString.length()-1) == ' ') {
-					testString += ".";
-					useFix = true;
-				}
-			} catch (Exception ex) {  }
-		}
-
-		widthTest.setText(testString);
-		float nextCaretX = widthTest.getLineWidth();
-		if (useFix) nextCaretX -= fixWidth;
-
-		caretX = nextCaretX;
+		caretX = getVisibleTextWidth(caretIndex);
 		setCaretPosition(getAbsoluteX()+caretX);
 		
 		return visibleText;
 	}
 	
-	private void setCaretPositionToIndex() {
-		widthTest.setText(".");
-		float fixWidth = widthTest.getLineWidth();
-		boolean useFix = false;
+	/**
+	 * Returns the characters from start to end as they are displayed by the TextField
+	 * @param start int
+	 * @param end int
+	 * @return String
+	 */
+	protected String getDisplayText(int start, int end) {
+		return textFieldText.substring(start, end);
+	}
+	
+	/**
+	 * Returns the character used to display and measure the provided character
+	 * @param c char
+	 * @return char
+	 */
+	protected char getDisplayChar(char c) {
+		return c;
+	}
+	
+	/**
+	 * Brings the prefix width cache up to date with the current text, font and font size.
+	 * textWidths[i] holds the advance of the first i characters of the TextField's text.
+	 */
+	protected void updateTextWidths() {
+		int length = textFieldText.length();
 		
-		if (!finalText.equals("")) {
-			String testString = finalText.substring(head, caretIndex);
-
-			try {
-				if (testString.charAt(testString.length()-1) == ' ') {
-					testString += ".";
-					useFix = true;
-				}
-			} catch (Exception ex) {  }
-
-			widthTest.setText(testString);
-			float nextCaretX = widthTest.getLineWidth();
-			if (useFix) nextCaretX -= fixWidth;
-
-			caretX = nextCaretX;
+		if (font != widthsFont || fontSize != widthsFontSize) {
+			widthsFont = font;
+			widthsFontSize = fontSize;
+			widthsValid = 0;
+		}
+		if (widthsValid > length) widthsValid = length;
+		if (textWidths.length < length+1) {
+			float[] nextWidths = new float[Math.max(length+1, textWidths.length*2)];
+			System.arraycopy(textWidths, 0, nextWidths, 0, widthsValid+1);
+			textWidths = nextWidths;
+		}
+		if (widthsValid == length) return;
+		
+		BitmapCharacterSet charSet = font.getCharSet();
+		float scale = fontSize/charSet.getRenderedSize();
+		BitmapCharacter prev = null;
+		if (widthsValid > 0)
+			prev = charSet.getCharacter(getDisplayChar(textFieldText.charAt(widthsValid-1)));
+		
+		for (int i = widthsValid; i < length; i++) {
+			char c = getDisplayChar(textFieldText.charAt(i));
+			BitmapCharacter bc = charSet.getCharacter(c);
+			float advance = 0;
+			if (bc != null) {
+				advance = bc.getXAdvance();
+				if (prev != null) advance += prev.getKerning(c);
+			}
+			textWidths[i+1] = textWidths[i]+(advance*scale);
+			prev = bc;
+		}
+		widthsValid = length;
+	}
+	
+	/**
+	 * Marks the cached character widths from the provided index on as stale
+	 * @param index int
+	 */
+	protected void invalidateTextWidths(int index) {
+		if (index < widthsValid)
+			widthsValid = index;
+	}
+	
+	/**
+	 * Returns the width of the visible text between head and the provided index.  The index is
+	 * clamped to the visible range.
+	 * @param index int
+	 * @return float
+	 */
+	protected float getVisibleTextWidth(int index) {
+		updateTextWidths();
+		if (index < head) index = head;
+		if (index > tail) index = tail;
+		return textWidths[index]-textWidths[head];
+	}
+	
+	/**
+	 * Returns the last index between from and to whose prefix width does not exceed width
+	 */
+	private int getTextIndexBefore(float width, int from, int to) {
+		int low = from, high = to;
+		while (low < high) {
+			int mid = (low+high+1) >>> 1;
+			if (textWidths[mid] <= width)	low = mid;
+			else							high = mid-1;
+		}
+		return low;
+	}
+	
+	/**
+	 * Returns the first index between from and to whose prefix width is at least width
+	 */
+	private int getTextIndexAfter(float width, int from, int to) {
+		int low = from, high = to;
+		while (low < high) {
+			int mid = (low+high) >>> 1;
+			if (textWidths[mid] >= width)	high = mid;
+			else							low = mid+1;
+		}
+		return low;
+	}
+	
+	private void insertText(String s) {
+		textFieldText.insert(caretIndex, s);
+		invalidateTextWidths(caretIndex);
+		caretIndex += s.length();
+	}
+	
+	private void deleteText(int start, int end) {
+		textFieldText.delete(start, end);
+		invalidateTextWidths(start);
+	}
+	
+	private void setCaretPositionToIndex() {
+		if (textFieldText.length() > 0) {
+			caretX = getVisibleTextWidth(caretIndex);
 			setCaretPosition(getAbsoluteX()+caretX);
 		}
 	}
@@ -737,22 +724,24 @@ public class TextField extends Element implements Control, KeyboardListener, Tab
 		}
 	}
 	
+	/**
+	 * Returns the index of the last visible character boundary left of the provided screen x
+	 * @param x float
+	 * @return int
+	 */
+	private int getCaretIndexByX(float x) {
+		updateTextWidths();
+		float width = x+getTextPadding()-caret.getAbsoluteX();
+		return getTextIndexBefore(textWidths[head]+width, head, tail);
+	}
+	
 	/**
 	 * For internal use - do not call this method
 	 * @param x float
 	 */
 	private void setCaretPositionByX(float x) {
-		int index1 = visibleText.length();
-		if (visibleText.length() > 0) {
-			widthTest.setSize(getFontSize());
-			widthTest.setText(visibleText.substring(0, index1));
-			while(caret.getAbsoluteX()+widthTest.getLineWidth() > (x+getTextPadding())) {
-				index1--;
-				widthTest.setText(visibleText.substring(0, index1));
-			}
-			caretX = widthTest.getLineWidth();
-		}
-		caretIndex = head+index1;
+		caretIndex = getCaretIndexByX(x);
+		caretX = getVisibleTextWidth(caretIndex);
 		setCaretPosition(getAbsoluteX()+caretX);
 		if (!shift) {
 			resetTextRange();
@@ -763,41 +752,8 @@ public class TextField extends Element implements Control, KeyboardListener, Tab
 	}
 	
 	private void setCaretPositionByXNoRange(float x) {
-		int index1 = visibleText.length();
-		if (visibleText.length() > 0) {
-			String testString = "";
-			widthTest.setText(".");
-			float fixWidth = widthTest.getLineWidth();
-			boolean useFix = false;
-			
-			widthTest.setSize(getFontSize());
-			widthTest.setText(visibleText.substring(0, index1));
-			while(caret.getAbsoluteX()+widthTest.getLineWidth() > (x+getTextPadding())) {
-				if (index1 > 0) {
-					index1--;
-					testString = visibleText.substring(0, index1);
-					widthTest.setText(testString);
-				} else {
-					break;
-				}
-			}
-		
-			try {
-				testString = finalText.substring(head, caretIndex);
-				if (testString.charAt(testString.length()-1) == ' ') {
-					testString += ".";
-					useFix = true;
-				}
-			} catch (Exception ex) {  }
-		
-
-			widthTest.setText(testString);
-			float nextCaretX = widthTest.getLineWidth();
-			if (useFix) nextCaretX -= fixWidth;
-
-			caretX = nextCaretX;
-		}
-		caretIndex = head+index1;
+		caretIndex = getCaretIndexByX(x);
+		caretX = getVisibleTextWidth(caretIndex);
 		setCaretPosition(getAbsoluteX()+caretX);
 	}
 	
@@ -805,12 +761,8 @@ public class TextField extends Element implements Control, KeyboardListener, Tab
 	 * Sets the caret position to the end of the TextField's text
 	 */
 	public void setCaretPositionToEnd() {
-		int index1 = visibleText.length();
-		if (visibleText.length() > 0) {
-			widthTest.setText(visibleText.substring(0, index1));
-			caretX = widthTest.getLineWidth();
-		}
-		caretIndex = head+index1;
+		caretIndex = tail;
+		caretX = getVisibleTextWidth(caretIndex);
 		setCaretPosition(getAbsoluteX()+caretX);
 		resetTextRange();
 	}
@@ -1018,7 +970,7 @@ public class TextField extends Element implements Control, KeyboardListener, Tab
 	
 	private void centerTextVertically() {
 		
-		float height = BitmapTextUtil.getTextLineHeight(this, testString);
+		float height = TextMetrics.get(font).getLineHeight(fontSize);
 		float nextY = height-FastMath.floor(getHeight());
 		nextY /= 2;
 		nextY = (float)FastMath.ceil(nextY)+1;
@@ -1105,7 +1057,7 @@ public class TextField extends Element implements Control, KeyboardListener, Tab
 	public void onMouseRightReleased(MouseButtonEvent evt) {  }
 	
 	private void stillPressedInterval() {
-		if (screen.getMouseXY().x > getAbsoluteWidth() && caretIndex < finalText.length())
+		if (screen.getMouseXY().x > getAbsoluteWidth() && caretIndex < textFieldText.length())
 			caretIndex++;
 		else if (screen.getMouseXY().x < getAbsoluteX() && caretIndex > 0)
 			caretIndex--;
@@ -1123,8 +1075,8 @@ public class TextField extends Element implements Control, KeyboardListener, Tab
 	 */
 	public void selectTextRangeAll() {
 		setTextRangeStart(0);
-		setTextRangeEnd(finalText.length());
-		caretIndex = finalText.length();
+		setTextRangeEnd(textFieldText.length());
+		caretIndex = textFieldText.length();
 		getVisibleText();
 	}
 	
@@ -1140,7 +1092,7 @@ public class TextField extends Element implements Control, KeyboardListener, Tab
 	 * @param s The String to search for
 	 */
 	public void selectTextRangeBySubstring(String s) {
-		int head = finalText.indexOf(s);
+		int head = getText().indexOf(s);
 		if (head != -1) {
 			setTextRangeStart(head);
 			int tail = head+s.length();
@@ -1164,7 +1116,7 @@ public class TextField extends Element implements Control, KeyboardListener, Tab
 			nTail = head;
 		}
 		if (nHead < 0) nHead = 0;
-		if (nTail > finalText.length()) nTail = finalText.length();
+		if (nTail > textFieldText.length()) nTail = textFieldText.length();
 		
 		this.setTextRangeStart(nHead);
 		this.setTextRangeEnd(nTail);
@@ -1173,13 +1125,11 @@ public class TextField extends Element implements Control, KeyboardListener, Tab
 	}
 	
 	private void selectTextRangeDoubleClick() {
-		if (!finalText.equals("")) {
-			int end;
-			if (finalText.substring(caretIndex, finalText.length()).indexOf(' ') != -1)
-				end = caretIndex+finalText.substring(caretIndex, finalText.length()).indexOf(' ');
-			else
-				end = caretIndex+finalText.substring(caretIndex, finalText.length()).length();
-			int start = finalText.substring(0,caretIndex).lastIndexOf(' ')+1;
+		if (textFieldText.length() > 0) {
+			int end = textFieldText.indexOf(' ', caretIndex);
+			if (end == -1)
+				end = textFieldText.length();
+			int start = textFieldText.lastIndexOf(' ', caretIndex-1)+1;
 			if (start == -1) start = 0;
 			setTextRangeStart(start);
 			caretIndex = end;
@@ -1189,11 +1139,11 @@ public class TextField extends Element implements Control, KeyboardListener, Tab
 	}
 	
 	private void selectTextRangeTripleClick() {
-		if (!finalText.equals("")) {
-			caretIndex = finalText.length();
+		if (textFieldText.length() > 0) {
+			caretIndex = textFieldText.length();
 			updateText(getVisibleText());
 			setTextRangeStart(0);
-			setTextRangeEnd(finalText.length());
+			setTextRangeEnd(textFieldText.length());
 		}
 	}
 	
@@ -1205,57 +1155,19 @@ public class TextField extends Element implements Control, KeyboardListener, Tab
 	
 	private void setTextRangeEnd(int tail) {
 		if (!visibleText.equals("") && rangeHead != -1) {
-			widthTest.setSize(getFontSize());
-			
-			widthTest.setText(".");
-			float diff = widthTest.getLineWidth();
-			
 			float rangeX;
-			
-			if (rangeHead-this.head <= 0) {
-				widthTest.setText("");
-				rangeX = widthTest.getLineWidth();
-			} else if(rangeHead-this.head < visibleText.length()) {
-				widthTest.setText(visibleText.substring(0, rangeHead-this.head));
-				float width = widthTest.getLineWidth();
-				if (widthTest.getText().length() > 0) {
-					if (widthTest.getText().charAt(widthTest.getText().length()-1) == ' ') {
-						widthTest.setText(widthTest.getText() + ".");
-						width = widthTest.getLineWidth()-diff;
-					}
-				}
-				rangeX = width;
-			} else {
-				widthTest.setText(visibleText);
-				rangeX = widthTest.getLineWidth();
-			}
-			
 			if (rangeHead >= this.head)
-				rangeX = getAbsoluteX()+rangeX+getTextPadding();
+				rangeX = getAbsoluteX()+getVisibleTextWidth(rangeHead)+getTextPadding();
 			else
 				rangeX = getTextPadding();
 			
 			rangeTail = tail;
-			if (tail-this.head <= 0)
-				widthTest.setText("");
-			else if (tail-this.head < visibleText.length())
-				widthTest.setText(visibleText.substring(0, tail-this.head));
-			else
-				widthTest.setText(visibleText);
 			
-			textRangeText = (rangeHead < rangeTail) ? finalText.substring(rangeHead, rangeTail) : finalText.substring(rangeTail, rangeHead);
+			textRangeText = (rangeHead < rangeTail) ? textFieldText.substring(rangeHead, rangeTail) : textFieldText.substring(rangeTail, rangeHead);
 			
 			float rangeW = getTextPadding();
-			if (rangeTail <= this.tail) {
-				float width = widthTest.getLineWidth();
-				if (widthTest.getText().length() > 0) {
-					if (widthTest.getText().charAt(widthTest.getText().length()-1) == ' ') {
-						widthTest.setText(widthTest.getText() + ".");
-						width = widthTest.getLineWidth()-diff;
-					}
-				}
-				rangeW = getAbsoluteX()+width+getTextPadding();
-			}
+			if (rangeTail <= this.tail)
+				rangeW = getAbsoluteX()+getVisibleTextWidth(rangeTail)+getTextPadding();
 			
 			if (rangeHead > rangeTail) {
 				caret.getMaterial().setFloat("TextRangeStart", rangeW);
@@ -1279,14 +1191,15 @@ public class TextField extends Element implements Control, KeyboardListener, Tab
 	}
 	
 	private void editTextRangeText(String insertText) {
+		String text = getText();
 		int head, tail;
 		if (rangeHead != -1 && rangeTail != -1) {
 			head = rangeHead;
 			tail = rangeTail;
 			if (head < 0) head = 0;
-			else if (head > finalText.length()) head = finalText.length();
+			else if (head > text.length()) head = text.length();
 			if (tail < 0) tail = 0;
-			else if (tail > finalText.length()) tail = finalText.length();
+			else if (tail > text.length()) tail = text.length();
 			resetTextRange();
 		} else {
 			head = caretIndex-1;
@@ -1297,10 +1210,10 @@ public class TextField extends Element implements Control, KeyboardListener, Tab
 		String newText;
 		int tempIndex;
 		if (tail > head)	{
-			newText = finalText.substring(0,head) + insertText + finalText.substring(tail, finalText.length());
+			newText = text.substring(0,head) + insertText + text.substring(tail, text.length());
 			tempIndex = head+insertText.length();
 		} else {
-			newText = finalText.substring(0,tail) + insertText + finalText.substring(head, finalText.length());
+			newText = text.substring(0,tail) + insertText + text.substring(head, text.length());
 			tempIndex = tail+insertText.length();
 		}
 		
@@ -26,7 +26,7 @@ import tonegod.gui.controls.text.LabelElement;
 import tonegod.gui.core.Element;
 import tonegod.gui.core.ElementManager;
 import tonegod.gui.core.layouts.Layout;
-import tonegod.gui.core.utils.BitmapTextUtil;
+import tonegod.gui.core.utils.TextMetrics;
 import tonegod.gui.core.utils.UIDUtil;
 import tonegod.gui.framework.core.AnimText;
 
@@ -375,7 +375,7 @@ public abstract class TabControl extends Element {
 		if (isFixedTabSize) {
 			tab.setWidth(fixedTabSize);
 		} else {
-			float width = BitmapTextUtil.getTextWidth(tab, title);
+			float width = TextMetrics.get(tab.getFont()).getLineWidth(title, tab.getFontSize());
 			if (orientation == Orientation.HORIZONTAL)
 				tab.setWidth(Math.round(width+(labelPadding*2)+(tabResizeBorders.x+tabResizeBorders.z)));
 			else
@@ -6,6 +6,7 @@ import com.jme3.font.BitmapFont;
 import com.jme3.font.BitmapText;
 import com.jme3.font.LineWrapMode;
 import com.jme3.font.Rectangle;
+import com.jme3.material.MatParamOverride;
 import com.jme3.material.Material;
 import com.jme3.material.RenderState;
 import com.jme3.material.RenderState.BlendMode;
@@ -17,6 +18,7 @@ import com.jme3.renderer.queue.RenderQueue;
 import com.jme3.renderer.queue.RenderQueue.Bucket;
 import com.jme3.scene.Geometry;
 import com.jme3.scene.Node;
+import com.jme3.shader.VarType;
 import com.jme3.texture.Image;
 import com.jme3.texture.Texture;
 
@@ -38,6 +40,7 @@ import tonegod.gui.core.layouts.LayoutHints;
 import tonegod.gui.core.utils.UIDUtil;
 import tonegod.gui.effects.Effect;
 import tonegod.gui.style.Style;
+import tonegod.gui.style.StyleKey;
 
 /**
  * <p> The Element class is the primitive in which all controls in the GUI portion or the library
@@ -177,6 +180,11 @@ public class Element extends Node implements Reusable {
     protected BitmapFont font;
     protected Vector4f textPadding = new Vector4f(0, 0, 0, 0);
     protected ColorRGBA fontColor = ColorRGBA.White;
+
+    // Text clipping applied on top of the shared font page materials
+    private final MatParamOverride textClipping = new MatParamOverride(VarType.Vector4, "Clipping", new Vector4f());
+    private final MatParamOverride textUseClipping = new MatParamOverride(VarType.Boolean, "UseClipping", false);
+    private BitmapText textClippingTarget;
     private ColorRGBA defaultColor = new ColorRGBA(1, 1, 1, 0);
 
     private Element elementParent = null;
@@ -206,6 +214,7 @@ public class Element extends Node implements Reusable {
     private int tabIndex = 0;
 
     private float zOrder;
+    int zRank = 0;
     private boolean effectZOrder = true;
     private Map<Effect.EffectEvent, Effect> effects = new HashMap();
 
@@ -230,6 +239,25 @@ public class Element extends Node implements Reusable {
     // Layouts
     protected Layout layout = null;
     protected LayoutHints layoutHints = new LayoutHints();
+
+    // Hit index
+    boolean hitIndexed = false;
+    int hitMinColumn, hitMinRow, hitMaxColumn, hitMaxRow;
+
+    // ID index
+    boolean idIndexed = false;
+
+    // Deferred layout
+    boolean layoutDirty = false;
+    boolean clipCulled = false;
+    boolean subtreeCulled = false;
+    boolean childrenContained = false;
+    private CullHint unculledHint;
+
+    // Batched rendering
+    boolean batched = false;
+    boolean batchDirty = true;
+    int batchFrame;
     //</editor-fold>
 
     /**
@@ -272,18 +300,7 @@ public class Element extends Node implements Reusable {
         final AssetManager assetManager = app.getAssetManager();
         final Style styleFont = screen.getStyle("Font");
 
-        final BitmapFont tempFont = assetManager.loadFont(styleFont.getString("defaultFont"));
-
-        this.font = new BitmapFont();
-        this.font.setCharSet(assetManager.loadFont(styleFont.getString("defaultFont")).getCharSet());
-
-        final Material[] pages = new Material[tempFont.getPageSize()];
-
-        for (int i = 0; i < pages.length; i++) {
-            pages[i] = tempFont.getPage(i).clone();
-        }
-
-        this.font.setPages(pages);
+        this.font = assetManager.loadFont(styleFont.getString("defaultFont"));
 
         float imgWidth = 100;
         float imgHeight = 100;
@@ -353,13 +370,13 @@ public class Element extends Node implements Reusable {
         additionalRenderState.setFaceCullMode(RenderState.FaceCullMode.Back);
 
         model = new ElementQuadGrid(this.dimensions, borders, imgWidth, imgHeight, pixelWidth, pixelHeight, textureAtlasX, textureAtlasY, textureAtlasW, textureAtlasH);
-        geom = new Geometry(UID + ":Geometry");
+        geom = new Geometry(UID.concat(":Geometry"));
         geom.setMesh(model);
         geom.setCullHint(CullHint.Never);
         geom.setQueueBucket(Bucket.Gui);
         geom.setMaterial(material);
 
-        setName(UID + ":Node");
+        setName(UID.concat(":Node"));
         attachChild(geom);
         setQueueBucket(Bucket.Gui);
         setLocalTranslation(position.x, position.y, 0);
@@ -437,7 +454,8 @@ public class Element extends Node implements Reusable {
         child.orgRelDimensions.set(child.getWidth() / getWidth(), child.getHeight() / getHeight());
         child.setQueueBucket(RenderQueue.Bucket.Gui);
 
-        if (screen.getElementById(child.getUID()) != null) {
+        final Element existing = screen.getElementById(child.getUID());
+        if (existing != null && existing != child) {
             try {
                 throw new ConflictingIDException();
             } catch (ConflictingIDException ex) {
@@ -447,6 +465,13 @@ public class Element extends Node implements Reusable {
         } else {
             elementChildren.put(child.getUID(), child);
             attachChild(child);
+
+            final ElementHitIndex hitIndex = screen.getHitIndex();
+            if (hitIndex != null && hitIndexed) hitIndex.addTree(child);
+
+            final ElementIdIndex idIndex = screen.getIdIndex();
+            if (idIndex != null && idIndexed) idIndex.addTree(child);
+
             if (hide) child.hide();
         }
 
@@ -464,6 +489,12 @@ public class Element extends Node implements Reusable {
 
         if (element != null) {
 
+            final ElementHitIndex hitIndex = screen.getHitIndex();
+            if (hitIndex != null) hitIndex.removeTree(element);
+
+            final ElementIdIndex idIndex = screen.getIdIndex();
+            if (idIndex != null) idIndex.removeTree(element);
+
             element.elementParent = null;
             element.removeFromParent();
             element.removeClippingLayer(this);
@@ -495,8 +526,14 @@ public class Element extends Node implements Reusable {
      */
     public void removeAllChildren() {
 
+        final ElementHitIndex hitIndex = screen.getHitIndex();
+        final ElementIdIndex idIndex = screen.getIdIndex();
+
         for (final Element element : elementChildren.values()) {
 
+            if (hitIndex != null) hitIndex.removeTree(element);
+            if (idIndex != null) idIndex.removeTree(element);
+
             element.removeFromParent();
             element.removeClippingLayer(this);
 
@@ -605,7 +642,11 @@ public class Element extends Node implements Reusable {
      */
     public boolean setUID(final String UID) {
         if (this.elementParent == null) {
+            final String oldUID = this.UID;
             this.UID = UID;
+
+            final ElementIdIndex idIndex = screen.getIdIndex();
+            if (idIndex != null) idIndex.rename(this, oldUID);
             return true;
         } else {
             return false;
@@ -638,6 +679,8 @@ public class Element extends Node implements Reusable {
 
     public void resetChildZOrder() {
 
+        invalidateHits();
+
         float stepSize = screen.getZOrderStepMinor();
         float nextZOrder = stepSize;
 
@@ -679,6 +722,8 @@ public class Element extends Node implements Reusable {
      */
     protected void initZOrder(final float zOrder) {
 
+        invalidateHits();
+
         final Vector3f currentLoc = getLocalTranslation();
         currentLoc.setZ(zOrder);
 
@@ -784,6 +829,7 @@ public class Element extends Node implements Reusable {
      */
     public void setIgnoreMouseLeftButton(boolean ignoreMouseLeftButton) {
         this.ignoreMouseLeftButton = ignoreMouseLeftButton;
+        invalidateHits();
     }
 
     /**
@@ -798,6 +844,7 @@ public class Element extends Node implements Reusable {
      */
     public void setIgnoreMouseRightButton(boolean ignoreMouseRightButton) {
         this.ignoreMouseRightButton = ignoreMouseRightButton;
+        invalidateHits();
     }
 
     /**
@@ -812,6 +859,7 @@ public class Element extends Node implements Reusable {
      */
     public void setIgnoreMouseFocus(boolean ignoreMouseFocus) {
         this.ignoreMouseFocus = ignoreMouseFocus;
+        invalidateHits();
     }
 
     /**
@@ -841,6 +889,7 @@ public class Element extends Node implements Reusable {
      */
     public void setIgnoreMouseWheelClick(boolean ignoreMouseWheelClick) {
         this.ignoreMouseWheelClick = ignoreMouseWheelClick;
+        invalidateHits();
     }
 
     /**
@@ -855,6 +904,7 @@ public class Element extends Node implements Reusable {
      */
     public void setIgnoreMouseWheelMove(boolean ignoreMouseWheelMove) {
         this.ignoreMouseWheelMove = ignoreMouseWheelMove;
+        invalidateHits();
     }
 
     /**
@@ -885,6 +935,7 @@ public class Element extends Node implements Reusable {
      */
     public void setIgnoreTouch(boolean ignoreTouch) {
         this.ignoreTouch = ignoreTouch;
+        invalidateHits();
     }
 
     /**
@@ -899,6 +950,7 @@ public class Element extends Node implements Reusable {
      */
     public void setIgnoreTouchMove(boolean ignoreTouchMove) {
         this.ignoreTouchMove = ignoreTouchMove;
+        invalidateHits();
     }
 
     /**
@@ -913,6 +965,7 @@ public class Element extends Node implements Reusable {
      */
     public void setIgnoreFling(boolean ignoreFling) {
         this.ignoreFling = ignoreFling;
+        invalidateHits();
     }
 
     /**
@@ -1329,6 +1382,7 @@ public class Element extends Node implements Reusable {
         this.isDragElement = isDragElement;
         if (isDragElement)
             this.isDropElement = false;
+        invalidateHits();
     }
 
     /**
@@ -1348,6 +1402,7 @@ public class Element extends Node implements Reusable {
     public void setIsDragDropDropElement(boolean isDropElement) {
         this.isDropElement = isDropElement;
         if (isDropElement) isDragElement = false;
+        invalidateHits();
     }
 
     /**
@@ -1406,7 +1461,115 @@ public class Element extends Node implements Reusable {
 
     private void updateNodeLocation() {
         this.setLocalTranslation(position.x, position.y, this.getLocalTranslation().getZ());
-        updateClippingLayers();
+        invalidateLayout();
+    }
+
+    /**
+     * Marks this Element and it's children for the next layout pass, which recomputes their clipping
+     * bounds and hit index cells once per frame no matter how often they were changed.
+     */
+    public void invalidateLayout() {
+        if (layoutDirty) return;
+        layoutDirty = true;
+        screen.invalidateLayout(this);
+    }
+
+    /**
+     * Returns true if this Element is waiting for the next layout pass
+     *
+     * @return boolean
+     */
+    public boolean getIsLayoutDirty() {
+        return layoutDirty;
+    }
+
+    /**
+     * Returns true if the layout pass found this Element completely outside of it's clipping
+     * layers.  The quad and text of a culled Element are not rendered, clipped or picked.  If all
+     * of it's children lie inside it's bounds they are culled with it and skipped by the layout
+     * pass, otherwise they are culled against their own clipping layers.
+     *
+     * @return boolean
+     */
+    public boolean getIsClipCulled() {
+        return clipCulled;
+    }
+
+    /**
+     * Recomputes the clipping of this Element and it's children.  Called by the layout pass of the
+     * Screen.  An Element that lies completely outside of it's clipping layers is culled.  It's
+     * children are skipped until it intersects them again if the last pass found them all inside
+     * of it's bounds, otherwise they are visited as they may still be visible.
+     */
+    void validateDeferredLayout() {
+        layoutDirty = false;
+        batchDirty = true;
+
+        boolean culled = false;
+
+        if (isVisible && !clippingLayers.isEmpty()) {
+            calcClipping();
+            culled = isOutsideClippingBounds();
+            if (!culled) setFontPages();
+        }
+
+        setClipCulled(culled, culled && childrenContained);
+        if (subtreeCulled) return;
+        if (!culled) validateClipSettings();
+
+        boolean contained = true;
+
+        for (Element c : elementChildren.values()) {
+            c.validateDeferredLayout();
+            if (contained) contained = c.childrenContained && c.getX() >= 0 && c.getY() >= 0 &&
+                    c.getX() + c.getWidth() <= getWidth() && c.getY() + c.getHeight() <= getHeight();
+        }
+
+        childrenContained = contained;
+    }
+
+    private boolean isOutsideClippingBounds() {
+        final float x = getAbsoluteX();
+        final float y = getAbsoluteY();
+        return x > clippingBounds.z || x + getWidth() < clippingBounds.x ||
+                y > clippingBounds.w || y + getHeight() < clippingBounds.y;
+    }
+
+    private void setClipCulled(final boolean clipCulled, final boolean subtreeCulled) {
+        if (this.subtreeCulled != subtreeCulled) {
+            this.subtreeCulled = subtreeCulled;
+
+            if (subtreeCulled) {
+                unculledHint = getLocalCullHint();
+                setCullHint(CullHint.Always);
+            } else {
+                setCullHint(unculledHint);
+                unculledHint = null;
+            }
+        }
+
+        if (this.clipCulled == clipCulled) return;
+        this.clipCulled = clipCulled;
+
+        if (!batched) geom.setCullHint(clipCulled ? CullHint.Always : CullHint.Never);
+        if (textElement != null) textElement.setCullHint(clipCulled ? CullHint.Always : CullHint.Inherit);
+    }
+
+    /**
+     * Refreshes this Element's bounds in the screen hit index after a dimension change
+     */
+    private void updateHitBounds() {
+        final ElementHitIndex hitIndex = screen.getHitIndex();
+        if (hitIndex != null) hitIndex.update(this);
+    }
+
+    /**
+     * Tells the screen that hits resolved for the current input event are stale after an ignore
+     * flag or the depth of this Element changed
+     */
+    private void invalidateHits() {
+        final ElementHitIndex hitIndex = screen.getHitIndex();
+        if (hitIndex != null) hitIndex.invalidate();
     }
 
     /**
@@ -1495,7 +1658,8 @@ public class Element extends Node implements Reusable {
 
         if (textElement != null) updateTextElement();
 
-        updateClippingLayers();
+        invalidateLayout();
+        updateHitBounds();
     }
 
     /**
@@ -1519,7 +1683,8 @@ public class Element extends Node implements Reusable {
 
         if (textElement != null) updateTextElement();
 
-        updateClippingLayers();
+        invalidateLayout();
+        updateHitBounds();
     }
 
     /**
@@ -1557,7 +1722,8 @@ public class Element extends Node implements Reusable {
 
         if (textElement != null) updateTextElement();
 
-        updateClippingLayers();
+        invalidateLayout();
+        updateHitBounds();
     }
 
     /**
@@ -1581,7 +1747,8 @@ public class Element extends Node implements Reusable {
 
         if (textElement != null) updateTextElement();
 
-        updateClippingLayers();
+        invalidateLayout();
+        updateHitBounds();
     }
 
     /**
@@ -2328,6 +2495,7 @@ public class Element extends Node implements Reusable {
      */
     protected void updateTextElement() {
         if (textElement != null) {
+            attachTextClipping();
             textElement.setLocalTranslation(textPosition.x + textPadding.x, getHeight() - (textPosition.y + textPadding.z), textElement.getLocalTranslation().z);
             textElement.setBox(new Rectangle(0, 0, dimensions.x - (textPadding.x + textPadding.y), dimensions.y - (textPadding.z + textPadding.w)));
         }
@@ -2368,6 +2536,7 @@ public class Element extends Node implements Reusable {
         textElement.setText(text);
         updateTextElement();
         if (textElement.getParent() == null) {
+            if (clipCulled) textElement.setCullHint(CullHint.Always);
             this.attachChild(textElement);
         }
     }
@@ -2392,25 +2561,36 @@ public class Element extends Node implements Reusable {
     }
 
     /**
-     * Updates font materials with any changes to clipping layers
+     * Adds the text clipping overrides to the current BitmapText.  Font page materials are shared
+     * by every Element using the font, so clipping is applied per BitmapText instead.
+     */
+    private void attachTextClipping() {
+        if (textClippingTarget == textElement) return;
+        if (textClippingTarget != null) {
+            textClippingTarget.removeMatParamOverride(textClipping);
+            textClippingTarget.removeMatParamOverride(textUseClipping);
+        }
+        textClippingTarget = textElement;
+        textElement.addMatParamOverride(textClipping);
+        textElement.addMatParamOverride(textUseClipping);
+    }
+
+    /**
+     * Updates the text clipping overrides with any changes to clipping layers
      */
     private void setFontPages() {
         if (textElement != null) {
+            attachTextClipping();
+            final Vector4f textClip = (Vector4f) textClipping.getValue();
             if (!isVisible) {
-                for (int i = 0; i < font.getPageSize(); i++) {
-                    this.font.getPage(i).setVector4("Clipping", clippingBounds);
-                    this.font.getPage(i).setBoolean("UseClipping", true);
-                }
+                textClip.set(clippingBounds);
+                textUseClipping.setValue(true);
             } else {
                 if (isClipped) {
-                    for (int i = 0; i < font.getPageSize(); i++) {
-                        this.font.getPage(i).setVector4("Clipping", clippingBounds.add(textClipPadding.x, textClipPadding.y, -textClipPadding.z, -textClipPadding.w));
-                        this.font.getPage(i).setBoolean("UseClipping", true);
-                    }
+                    textClip.set(clippingBounds).addLocal(textClipPadding.x, textClipPadding.y, -textClipPadding.z, -textClipPadding.w);
+                    textUseClipping.setValue(true);
                 } else {
-                    for (int i = 0; i < font.getPageSize(); i++) {
-                        this.font.getPage(i).setBoolean("UseClipping", false);
-                    }
+                    textUseClipping.setValue(false);
                 }
             }
         }
@@ -2559,45 +2739,31 @@ public class Element extends Node implements Reusable {
     }
 
     public void setTileImageByKey(String style, String key) {
-        boolean tile = false;
-        try {
-            tile = screen.getStyle(style).getBoolean(key);
-        } catch (Exception ex) {
-        }
-        setTileImage(tile);
+        final Object tile = getStyleTag(style, key);
+        setTileImage(tile instanceof Boolean && (Boolean) tile);
     }
 
     public void setClipPaddingByKey(String style, String key) {
-        try {
-            setClipPadding(screen.getStyle(style).getFloat(key));
-        } catch (Exception ex) {
-        }
-        try {
-            setClipPadding(screen.getStyle(style).getVector4f(key));
-        } catch (Exception ex) {
-        }
+        final Object padding = getStyleTag(style, key);
+        if (padding instanceof Float) setClipPadding((Float) padding);
+        else if (padding instanceof Vector4f) setClipPadding((Vector4f) padding);
     }
 
     public void setTextPaddingByKey(String style, String key) {
-        try {
-            setTextPadding(screen.getStyle(style).getFloat(key));
-        } catch (Exception ex) {
-        }
-        try {
-            setTextPadding(screen.getStyle(style).getVector4f(key));
-        } catch (Exception ex) {
-        }
+        final Object padding = getStyleTag(style, key);
+        if (padding instanceof Float) setTextPadding((Float) padding);
+        else if (padding instanceof Vector4f) setTextPadding((Vector4f) padding);
     }
 
     public void setTextClipPaddingByKey(String style, String key) {
-        try {
-            setTextClipPadding(screen.getStyle(style).getFloat(key));
-        } catch (Exception ex) {
-        }
-        try {
-            setTextClipPadding(screen.getStyle(style).getVector4f(key));
-        } catch (Exception ex) {
-        }
+        final Object padding = getStyleTag(style, key);
+        if (padding instanceof Float) setTextClipPadding((Float) padding);
+        else if (padding instanceof Vector4f) setTextClipPadding((Vector4f) padding);
+    }
+
+    private Object getStyleTag(String style, String key) {
+        final Style styleTags = screen.getStyle(style);
+        return styleTags == null ? null : styleTags.getObject(key);
     }
 
     /**
@@ -2842,7 +3008,7 @@ public class Element extends Node implements Reusable {
         this.isClipped = wasClipped;
 
         //	updateClipping();
-        updateClippingLayers();
+        invalidateLayout();
         controlShowHook();
 
         final BitmapText textElement = getTextElement();
@@ -2856,6 +3022,9 @@ public class Element extends Node implements Reusable {
             else screen.getGUINode().attachChild(this);
         }
 
+        final ElementHitIndex hitIndex = screen.getHitIndex();
+        if (hitIndex != null && (elementParent == null || elementParent.hitIndexed)) hitIndex.addTree(this);
+
         elementChildren.values().forEach(Element::childShow);
     }
 
@@ -2876,8 +3045,6 @@ public class Element extends Node implements Reusable {
         this.isVisible = wasVisible;
         this.isClipped = wasClipped;
 
-        //	updateClipping();
-        updateClippingLayers();
         controlShowHook();
 
         elementChildren.values().forEach(Element::childShow);
@@ -2935,10 +3102,13 @@ public class Element extends Node implements Reusable {
         }
 
         //	updateClipping();
-        updateClippingLayers();
+        invalidateLayout();
         controlHideHook();
         removeFromParent();
 
+        final ElementHitIndex hitIndex = screen.getHitIndex();
+        if (hitIndex != null) hitIndex.removeTree(this);
+
         elementChildren.values().forEach(Element::childHide);
     }
 
@@ -2957,8 +3127,6 @@ public class Element extends Node implements Reusable {
             }
         }
 
-        //	updateClipping();
-        updateClippingLayers();
         controlHideHook();
 
         elementChildren.values().forEach(Element::childHide);
@@ -3451,9 +3619,10 @@ public class Element extends Node implements Reusable {
      * @param styleName The String identifier of the Style
      */
     protected void populateEffects(String styleName) {
+        final Style style = screen.getStyle(styleName);
         int index = 0;
         Effect effect;
-        while ((effect = screen.getStyle(styleName).getEffect("event" + index)) != null) {
+        while ((effect = style.getEffect(StyleKey.getEffectEvent(index))) != null) {
             effect = effect.clone();
             effect.setElement(this);
             this.addEffect(effect);
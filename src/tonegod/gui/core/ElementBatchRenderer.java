@@ -0,0 +1,617 @@
+package tonegod.gui.core;
+
+import com.jme3.export.JmeExporter;
+import com.jme3.export.JmeImporter;
+import com.jme3.material.MatParam;
+import com.jme3.material.Material;
+import com.jme3.material.RenderState;
+import com.jme3.math.ColorRGBA;
+import com.jme3.math.Transform;
+import com.jme3.math.Vector3f;
+import com.jme3.math.Vector4f;
+import com.jme3.renderer.RenderManager;
+import com.jme3.renderer.ViewPort;
+import com.jme3.renderer.queue.RenderQueue.Bucket;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+import com.jme3.scene.VertexBuffer.Type;
+import com.jme3.scene.control.Control;
+import com.jme3.scene.mesh.IndexBuffer;
+import com.jme3.texture.Texture;
+import com.jme3.util.BufferUtils;
+
+import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import rlib.util.array.Array;
+
+/**
+ * Opt-in renderer that merges the meshes of visible Elements textured from the Screen's texture
+ * atlas into dynamic batch meshes.  Per Element color, alpha and clipping rectangle are written as
+ * vertex attributes so runs of atlas Elements render with a single draw call.
+ *
+ * Each top-level Element added through Screen.addElement is a z-layer.  Within a layer, batched
+ * Elements are ordered by depth and split into runs at every Element or spatial that renders
+ * through it's own geometry (text, alpha mapped or non-atlas Elements, the text field caret).
+ * Each run gets a geometry at the depth of it's first Element, so the Gui bucket keeps the same
+ * back to front order as the unbatched scene.
+ *
+ * Each frame only the vertex ranges of Elements that were revalidated by the layout pass, whose
+ * model changed, or whose transform, color or clipping differs from the values last written are
+ * rewritten.  Fully transparent untextured containers are not rendered at all.
+ */
+public class ElementBatchRenderer implements Control {
+
+    public static final String BATCH_MATERIAL = "tonegod/gui/shaders/Batched.j3md";
+
+    private static final String ELEMENT_MATERIAL = "tonegod/gui/shaders/Unshaded.j3md";
+
+    private static final String PARAM_CLIPPING = "Clipping";
+    private static final String PARAM_USE_CLIPPING = "UseClipping";
+    private static final String PARAM_VERTEX_COLOR = "VertexColor";
+    private static final String[] UNSUPPORTED_PARAMS = {
+            "UseEffect", "EffectImageSwap", "IsTextField", Element.PARAM_ALPHA_MAP
+    };
+
+    private static final Vector4f NO_CLIPPING = new Vector4f(-Float.MAX_VALUE, -Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE);
+
+    private static final int QUAD_VERTICES = 16;
+    private static final int QUAD_INDEXES = 54;
+
+    private static final int NOT_BATCHED = 0;
+    private static final int BATCHED = 1;
+    private static final int HIDDEN = 2;
+
+    private final Screen screen;
+    private final Map<Element, Layer> layers = new IdentityHashMap<>();
+    private final Vector3f tempVertex = new Vector3f();
+    private final ColorRGBA tempColor = new ColorRGBA();
+
+    private Spatial spatial;
+    private Material material;
+    private Texture atlas;
+
+    private int frame;
+
+    public ElementBatchRenderer(final Screen screen) {
+        this.screen = screen;
+    }
+
+    /**
+     * Returns the number of Elements currently rendered through a batch
+     */
+    public int getBatchedCount() {
+        int count = 0;
+        for (final Layer layer : layers.values()) {
+            count += layer.slotCount;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of z-layers, one per top-level Element
+     */
+    public int getLayerCount() {
+        return layers.size();
+    }
+
+    /**
+     * Returns the number of batch geometries currently attached to the GUI node
+     */
+    public int getBatchCount() {
+        int count = 0;
+        for (final Layer layer : layers.values()) {
+            count += layer.runs.size();
+        }
+        return count;
+    }
+
+    @Override
+    public void update(final float tpf) {
+
+        screen.validateLayout();
+
+        final Texture atlas = screen.getUseTextureAtlas() ? screen.getAtlasTexture() : null;
+
+        if (atlas != this.atlas) {
+            this.atlas = atlas;
+            if (material != null) material.setTexture(Element.PARAM_COLOR_MAP, atlas);
+        }
+
+        if (material == null) {
+            material = new Material(screen.getApplication().getAssetManager(), BATCH_MATERIAL);
+            if (atlas != null) material.setTexture(Element.PARAM_COLOR_MAP, atlas);
+            final RenderState additionalRenderState = material.getAdditionalRenderState();
+            additionalRenderState.setBlendMode(RenderState.BlendMode.Alpha);
+            additionalRenderState.setFaceCullMode(RenderState.FaceCullMode.Back);
+        }
+
+        frame++;
+
+        final Node guiNode = screen.getGUINode();
+        final Array<Element> elements = screen.getElements();
+
+        for (final Element root : elements.array()) {
+            if (root == null) break;
+            if (root.getParent() != guiNode) continue;
+
+            Layer layer = layers.get(root);
+
+            if (layer == null) {
+                layer = new Layer(root);
+                layers.put(root, layer);
+            }
+
+            layer.update(guiNode);
+        }
+
+        for (final Iterator<Layer> iterator = layers.values().iterator(); iterator.hasNext(); ) {
+            final Layer layer = iterator.next();
+            if (layer.frame == frame) continue;
+            layer.release();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Restores the Geometry of every batched Element and detaches all batch geometries
+     */
+    public void release() {
+        for (final Layer layer : layers.values()) {
+            layer.release();
+        }
+        layers.clear();
+    }
+
+    private int classify(final Element element) {
+
+        final Material elementMaterial = element.getGeometry().getMaterial();
+        if (!ELEMENT_MATERIAL.equals(elementMaterial.getMaterialDef().getAssetName())) return NOT_BATCHED;
+
+        for (final String name : UNSUPPORTED_PARAMS) {
+            if (elementMaterial.getParam(name) != null && !Boolean.FALSE.equals(elementMaterial.getParam(name).getValue())) {
+                return NOT_BATCHED;
+            }
+        }
+
+        final MatParam colorMap = elementMaterial.getParam(Element.PARAM_COLOR_MAP);
+
+        if (colorMap == null) {
+            if (hasVertexColor(element)) return NOT_BATCHED;
+            final MatParam color = elementMaterial.getParam(Element.PARAM_COLOR);
+            return color != null && ((ColorRGBA) color.getValue()).a == 0 ? HIDDEN : NOT_BATCHED;
+        }
+
+        return atlas != null && colorMap.getValue() == atlas ? BATCHED : NOT_BATCHED;
+    }
+
+    private static boolean hasVertexColor(final Element element) {
+        final MatParam vertexColor = element.getGeometry().getMaterial().getParam(PARAM_VERTEX_COLOR);
+        return vertexColor != null && Boolean.TRUE.equals(vertexColor.getValue()) &&
+                element.getModel().getBuffer(Type.Color) != null;
+    }
+
+    private static void restore(final Element element) {
+        element.batched = false;
+        element.getGeometry().setCullHint(element.clipCulled ? Spatial.CullHint.Always : Spatial.CullHint.Never);
+    }
+
+    /**
+     * The last values written for a batched Element
+     */
+    private static final class Slot {
+
+        private final Element element;
+        private final Transform transform = new Transform();
+        private final ColorRGBA color = new ColorRGBA();
+        private final Vector4f clipping = new Vector4f();
+
+        private Run run;
+        private int index;
+        private int modelVersion;
+        private float depth;
+
+        private Slot(final Element element) {
+            this.element = element;
+        }
+    }
+
+    /**
+     * The batches of a single top-level Element
+     */
+    private final class Layer {
+
+        private final Element root;
+        private final List<Run> runs = new ArrayList<>();
+        private final Map<Element, Slot> slotsByElement = new IdentityHashMap<>();
+
+        private List<Element> members = new ArrayList<>();
+        private List<Element> collected = new ArrayList<>();
+
+        private Slot[] slots = new Slot[16];
+        private float[] breakers = new float[16];
+
+        private int slotCount;
+        private int breakerCount;
+        private int frame;
+
+        private Layer(final Element root) {
+            this.root = root;
+        }
+
+        private void update(final Node guiNode) {
+
+            this.frame = ElementBatchRenderer.this.frame;
+
+            collected.clear();
+            slotCount = 0;
+            breakerCount = 0;
+
+            collect(root, 0);
+
+            for (final Element element : members) {
+                if (element.batchFrame != this.frame) {
+                    restore(element);
+                    slotsByElement.remove(element);
+                }
+            }
+
+            final List<Element> swap = members;
+            members = collected;
+            collected = swap;
+
+            Arrays.sort(breakers, 0, breakerCount);
+
+            // Start a new run wherever something rendering through it's own geometry lies between
+            // two batched Elements, so it keeps rendering above the first and below the second.
+            final float rootZ = root.getLocalTranslation().getZ();
+
+            int runCount = 0;
+            int start = 0;
+            int breaker = 0;
+
+            for (int i = 1; i < slotCount; i++) {
+                while (breaker < breakerCount && breakers[breaker] < slots[i - 1].depth) breaker++;
+                if (breaker < breakerCount && breakers[breaker] < slots[i].depth) {
+                    runAt(runCount++, guiNode).update(start, i, rootZ);
+                    start = i;
+                }
+            }
+
+            if (slotCount > 0) {
+                runAt(runCount++, guiNode).update(start, slotCount, rootZ);
+            }
+
+            while (runs.size() > runCount) {
+                runs.remove(runs.size() - 1).geometry.removeFromParent();
+            }
+        }
+
+        private Run runAt(final int index, final Node guiNode) {
+            if (index < runs.size()) return runs.get(index);
+            final Run run = new Run(this, root.getUID() + ":Batch" + index);
+            runs.add(run);
+            guiNode.attachChild(run.geometry);
+            return run;
+        }
+
+        private void collect(final Element element, final float depth) {
+            if (element.getLocalCullHint() == Spatial.CullHint.Always) return;
+
+            final Geometry elementGeometry = element.getGeometry();
+
+            if (elementGeometry.getParent() == element && !element.clipCulled) {
+                final int type = classify(element);
+                if (type != NOT_BATCHED) {
+                    if (!element.batched) {
+                        element.batched = true;
+                        elementGeometry.setCullHint(Spatial.CullHint.Always);
+                    }
+                    element.batchFrame = frame;
+                    collected.add(element);
+                    if (type == BATCHED) insertSorted(element, depth + elementGeometry.getLocalTranslation().getZ());
+                } else if (element.batched) {
+                    restore(element);
+                    slotsByElement.remove(element);
+                }
+            }
+
+            for (final Spatial child : element.getChildren()) {
+                if (child instanceof Element) {
+                    if (child.getParent() != element) continue;
+                    collect((Element) child, depth + child.getLocalTranslation().getZ());
+                } else if (child.getCullHint() != Spatial.CullHint.Always) {
+                    if (child instanceof Node && ((Node) child).getQuantity() == 0) continue;
+                    addBreaker(depth + child.getLocalTranslation().getZ());
+                }
+            }
+        }
+
+        private void addBreaker(final float depth) {
+            if (breakerCount == breakers.length) {
+                breakers = Arrays.copyOf(breakers, breakerCount * 2);
+            }
+            breakers[breakerCount++] = depth;
+        }
+
+        private void insertSorted(final Element element, final float depth) {
+
+            Slot slot = slotsByElement.get(element);
+
+            if (slot == null) {
+                slot = new Slot(element);
+                slotsByElement.put(element, slot);
+            }
+
+            slot.depth = depth;
+
+            if (slotCount == slots.length) {
+                slots = Arrays.copyOf(slots, slotCount * 2);
+            }
+
+            int index = slotCount;
+
+            while (index > 0 && slots[index - 1].depth > depth) {
+                slots[index] = slots[index - 1];
+                index--;
+            }
+
+            slots[index] = slot;
+            slotCount++;
+        }
+
+        private void release() {
+            for (final Element element : members) {
+                if (element.batched && element.batchFrame == this.frame) restore(element);
+            }
+            members.clear();
+            slotsByElement.clear();
+            slotCount = 0;
+            for (final Run run : runs) {
+                run.geometry.removeFromParent();
+            }
+            runs.clear();
+        }
+    }
+
+    /**
+     * A batch geometry holding consecutive batched Elements of a layer
+     */
+    private final class Run {
+
+        private final Layer layer;
+        private final Geometry geometry;
+        private final Mesh mesh = new Mesh();
+
+        private FloatBuffer positions;
+        private FloatBuffer texCoords;
+        private FloatBuffer colors;
+        private FloatBuffer clippings;
+
+        private int capacity;
+        private int count;
+        private int indexCount;
+
+        private boolean positionsChanged, texCoordsChanged, colorsChanged, clippingsChanged;
+
+        private Run(final Layer layer, final String name) {
+            this.layer = layer;
+            this.geometry = new Geometry(name, mesh);
+            this.geometry.setMaterial(material);
+            this.geometry.setCullHint(Spatial.CullHint.Never);
+            this.geometry.setQueueBucket(Bucket.Gui);
+            this.mesh.setDynamic();
+        }
+
+        private void update(final int start, final int end, final float rootZ) {
+
+            final Slot[] slots = layer.slots;
+
+            geometry.setLocalTranslation(0, 0, rootZ + slots[start].depth);
+
+            count = end - start;
+
+            if (count > capacity) {
+                allocate(Math.max(count, capacity * 2));
+            }
+
+            final Transform runTransform = geometry.getWorldTransform();
+
+            for (int i = 0; i < count; i++) {
+                write(i, slots[start + i], runTransform);
+            }
+
+            if (count * QUAD_INDEXES != indexCount) {
+                writeIndexes(slots[start]);
+            }
+
+            if (positionsChanged) {
+                mesh.getBuffer(Type.Position).setUpdateNeeded();
+                mesh.updateBound();
+            }
+            if (texCoordsChanged) mesh.getBuffer(Type.TexCoord).setUpdateNeeded();
+            if (colorsChanged) mesh.getBuffer(Type.Color).setUpdateNeeded();
+            if (clippingsChanged) mesh.getBuffer(Type.TexCoord2).setUpdateNeeded();
+
+            positionsChanged = texCoordsChanged = colorsChanged = clippingsChanged = false;
+        }
+
+        private void allocate(final int capacity) {
+            this.capacity = capacity;
+
+            final int vertices = capacity * QUAD_VERTICES;
+
+            positions = BufferUtils.createFloatBuffer(vertices * 3);
+            texCoords = BufferUtils.createFloatBuffer(vertices * 2);
+            colors = BufferUtils.createFloatBuffer(vertices * 4);
+            clippings = BufferUtils.createFloatBuffer(vertices * 4);
+
+            mesh.setBuffer(Type.Position, 3, positions);
+            mesh.setBuffer(Type.TexCoord, 2, texCoords);
+            mesh.setBuffer(Type.Color, 4, colors);
+            mesh.setBuffer(Type.TexCoord2, 4, clippings);
+
+            indexCount = -1;
+
+            // The new buffers are empty, so every slot has to be written again
+            for (final Slot slot : layer.slots) {
+                if (slot != null && slot.run == this) slot.run = null;
+            }
+        }
+
+        private void writeIndexes(final Slot first) {
+
+            final IndexBuffer template = first.element.getModel().getIndexBuffer();
+            final IndexBuffer indexes = IndexBuffer.createIndexBuffer(capacity * QUAD_VERTICES, count * QUAD_INDEXES);
+
+            for (int i = 0; i < count; i++) {
+                final int vertex = i * QUAD_VERTICES;
+                final int index = i * QUAD_INDEXES;
+                for (int j = 0; j < QUAD_INDEXES; j++) {
+                    indexes.put(index + j, vertex + template.get(j));
+                }
+            }
+
+            if (indexes.getBuffer() instanceof IntBuffer) {
+                mesh.setBuffer(Type.Index, 3, (IntBuffer) indexes.getBuffer());
+            } else {
+                mesh.setBuffer(Type.Index, 3, (ShortBuffer) indexes.getBuffer());
+            }
+
+            mesh.updateCounts();
+
+            indexCount = count * QUAD_INDEXES;
+        }
+
+        private void write(final int index, final Slot slot, final Transform runTransform) {
+
+            final Element element = slot.element;
+            final ElementQuadGrid model = element.getModel();
+            final Geometry elementGeometry = element.getGeometry();
+            final Material elementMaterial = elementGeometry.getMaterial();
+            final Transform transform = elementGeometry.getWorldTransform();
+
+            final boolean moved = slot.run != this || slot.index != index;
+
+            final boolean geometryDirty = moved || element.batchDirty || slot.modelVersion != model.version ||
+                    !sameTransform(slot.transform, transform);
+
+            final MatParam colorParam = elementMaterial.getParam(Element.PARAM_COLOR);
+            final MatParam alphaParam = elementMaterial.getParam(Element.PARAM_GLOBAL_ALPHA);
+
+            final ColorRGBA color = tempColor.set(colorParam == null ? ColorRGBA.White : (ColorRGBA) colorParam.getValue());
+            if (alphaParam != null) color.a *= (Float) alphaParam.getValue();
+
+            final FloatBuffer modelColors = hasVertexColor(element) ? model.getFloatBuffer(Type.Color) : null;
+
+            final boolean colorDirty = moved || !color.equals(slot.color) ||
+                    (modelColors != null && slot.modelVersion != model.version);
+
+            final MatParam useClipping = elementMaterial.getParam(PARAM_USE_CLIPPING);
+            final MatParam clippingParam = elementMaterial.getParam(PARAM_CLIPPING);
+
+            final Vector4f clipping = useClipping != null && Boolean.TRUE.equals(useClipping.getValue()) && clippingParam != null ?
+                    (Vector4f) clippingParam.getValue() : NO_CLIPPING;
+
+            final boolean clippingDirty = moved || !clipping.equals(slot.clipping);
+
+            if (!geometryDirty && !colorDirty && !clippingDirty) return;
+
+            final FloatBuffer modelPositions = model.getFloatBuffer(Type.Position);
+            final FloatBuffer modelTexCoords = model.getFloatBuffer(Type.TexCoord);
+
+            final int first = index * QUAD_VERTICES;
+
+            for (int i = 0; i < QUAD_VERTICES; i++) {
+
+                final int vertex = first + i;
+
+                if (geometryDirty) {
+                    tempVertex.set(modelPositions.get(i * 3), modelPositions.get(i * 3 + 1), modelPositions.get(i * 3 + 2));
+                    transform.transformVector(tempVertex, tempVertex);
+                    runTransform.transformInverseVector(tempVertex, tempVertex);
+
+                    positions.put(vertex * 3, tempVertex.x);
+                    positions.put(vertex * 3 + 1, tempVertex.y);
+                    positions.put(vertex * 3 + 2, 0);
+
+                    texCoords.put(vertex * 2, modelTexCoords.get(i * 2));
+                    texCoords.put(vertex * 2 + 1, modelTexCoords.get(i * 2 + 1));
+                }
+
+                if (colorDirty) {
+                    if (modelColors == null) {
+                        colors.put(vertex * 4, color.r);
+                        colors.put(vertex * 4 + 1, color.g);
+                        colors.put(vertex * 4 + 2, color.b);
+                        colors.put(vertex * 4 + 3, color.a);
+                    } else {
+                        colors.put(vertex * 4, color.r * modelColors.get(i * 4));
+                        colors.put(vertex * 4 + 1, color.g * modelColors.get(i * 4 + 1));
+                        colors.put(vertex * 4 + 2, color.b * modelColors.get(i * 4 + 2));
+                        colors.put(vertex * 4 + 3, color.a * modelColors.get(i * 4 + 3));
+                    }
+                }
+
+                if (clippingDirty) {
+                    clippings.put(vertex * 4, clipping.x);
+                    clippings.put(vertex * 4 + 1, clipping.y);
+                    clippings.put(vertex * 4 + 2, clipping.z);
+                    clippings.put(vertex * 4 + 3, clipping.w);
+                }
+            }
+
+            positionsChanged |= geometryDirty;
+            texCoordsChanged |= geometryDirty;
+            colorsChanged |= colorDirty;
+            clippingsChanged |= clippingDirty;
+
+            slot.run = this;
+            slot.index = index;
+            slot.modelVersion = model.version;
+            slot.transform.set(transform);
+            slot.color.set(color);
+            slot.clipping.set(clipping);
+
+            element.batchDirty = false;
+        }
+    }
+
+    private static boolean sameTransform(final Transform a, final Transform b) {
+        return a.getTranslation().equals(b.getTranslation()) &&
+                a.getRotation().equals(b.getRotation()) &&
+                a.getScale().equals(b.getScale());
+    }
+
+    @Override
+    public Control cloneForSpatial(final Spatial spatial) {
+        return this;
+    }
+
+    @Override
+    public void setSpatial(final Spatial spatial) {
+        this.spatial = spatial;
+    }
+
+    @Override
+    public void render(final RenderManager rm, final ViewPort vp) {
+    }
+
+    @Override
+    public void write(final JmeExporter ex) throws IOException {
+    }
+
+    @Override
+    public void read(final JmeImporter im) throws IOException {
+    }
+}
@@ -0,0 +1,356 @@
+package tonegod.gui.core;
+
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Screen-space uniform grid of Element bounds used for mouse/touch picking in place of casting a
+ * ray through the whole GUI scene graph.
+ *
+ * Elements are registered with the cells covered by their absolute bounds and are kept current by
+ * the Element positioning, sizing and visibility methods.  A query only visits the Elements stored
+ * in the single cell under the cursor, verifies them against their live bounds and scene graph
+ * attachment and returns them ordered by depth, back to front, in the same order the ray
+ * collision results were processed.
+ *
+ * Elements lying completely outside of the grid are kept in a separate overflow list that is only
+ * visited by queries outside of the grid.  The grid is rebuilt with resize when the screen
+ * dimensions change.
+ */
+public class ElementHitIndex {
+
+    public static final float DEFAULT_CELL_SIZE = 64F;
+
+    private final List<Element> overflow = new ArrayList<>();
+    private List<Element>[] cells;
+
+    private final float cellSize;
+    private float width;
+    private float height;
+    private int columns;
+    private int rows;
+
+    private float[] depths = new float[16];
+
+    private int size;
+    private int modCount;
+
+    public ElementHitIndex(final float width, final float height) {
+        this(width, height, DEFAULT_CELL_SIZE);
+    }
+
+    public ElementHitIndex(final float width, final float height, final float cellSize) {
+        this.cellSize = cellSize;
+        initGrid(width, height);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void initGrid(final float width, final float height) {
+        this.width = width;
+        this.height = height;
+        this.columns = Math.max(1, (int) Math.ceil(width / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(height / cellSize));
+        this.cells = new List[columns * rows];
+    }
+
+    /**
+     * Returns the width of the area covered by the grid
+     */
+    public float getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the height of the area covered by the grid
+     */
+    public float getHeight() {
+        return height;
+    }
+
+    /**
+     * Rebuilds the grid for new screen dimensions and registers every Element again using it's
+     * current absolute bounds
+     *
+     * @param width  The new screen width
+     * @param height The new screen height
+     */
+    public void resize(final float width, final float height) {
+        final List<Element> registered = new ArrayList<>(size);
+        registered.addAll(overflow);
+
+        for (int index = 0; index < cells.length; index++) {
+            final List<Element> cell = cells[index];
+            if (cell == null) continue;
+            for (int i = 0, length = cell.size(); i < length; i++) {
+                final Element element = cell.get(i);
+                // Collect each Element once, from the first cell it covers
+                if (element.hitMinRow * columns + element.hitMinColumn == index) registered.add(element);
+            }
+        }
+
+        overflow.clear();
+        initGrid(width, height);
+        size = 0;
+
+        for (int i = 0, length = registered.size(); i < length; i++) {
+            final Element element = registered.get(i);
+            element.hitIndexed = false;
+            place(element, element.getAbsoluteX(), element.getAbsoluteY());
+        }
+    }
+
+    /**
+     * Returns the number of Elements currently registered
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a counter that changes every time an Element is added, moved, resized or removed or
+     * the index is invalidated
+     */
+    public int getModCount() {
+        return modCount;
+    }
+
+    /**
+     * Changes the mod count without moving an Element.  Called when the ignore flags or depth of
+     * an Element change, as hits resolved from the index no longer match them.
+     */
+    public void invalidate() {
+        modCount++;
+    }
+
+    private int toColumn(final float x) {
+        final int column = (int) Math.floor(x / cellSize);
+        return column < 0 ? 0 : column >= columns ? columns - 1 : column;
+    }
+
+    private int toRow(final float y) {
+        final int row = (int) Math.floor(y / cellSize);
+        return row < 0 ? 0 : row >= rows ? rows - 1 : row;
+    }
+
+    /**
+     * Registers the Element and all of it's children using their current absolute bounds
+     *
+     * @param element The root of the tree to add
+     */
+    public void addTree(final Element element) {
+        final Element parent = element.getElementParent();
+        if (parent == null) updateTree(element, 0, 0, true);
+        else updateTree(element, parent.getAbsoluteX(), parent.getAbsoluteY(), true);
+    }
+
+    /**
+     * Refreshes the cells of an already registered Element and all of it's registered children
+     *
+     * @param element The root of the tree to refresh
+     */
+    public void updateTree(final Element element) {
+        if (!element.hitIndexed) return;
+        final Element parent = element.getElementParent();
+        if (parent == null) updateTree(element, 0, 0, false);
+        else updateTree(element, parent.getAbsoluteX(), parent.getAbsoluteY(), false);
+    }
+
+    private void updateTree(final Element element, final float parentX, final float parentY, final boolean add) {
+        if (!add && !element.hitIndexed) return;
+
+        final float x = parentX + element.getX();
+        final float y = parentY + element.getY();
+
+        place(element, x, y);
+
+        // Culled subtrees are refreshed once the layout pass visits them again
+        if (!add && element.subtreeCulled) return;
+
+        for (final Element child : element.elementChildren.values()) {
+            updateTree(child, x, y, add);
+        }
+    }
+
+    /**
+     * Refreshes the cells of a single registered Element after it's dimensions changed
+     *
+     * @param element The resized Element
+     */
+    public void update(final Element element) {
+        if (!element.hitIndexed) return;
+        place(element, element.getAbsoluteX(), element.getAbsoluteY());
+    }
+
+    private void place(final Element element, final float x, final float y) {
+
+        modCount++;
+
+        final boolean outside = x > width || y > height || x + element.getWidth() < 0 || y + element.getHeight() < 0;
+
+        // Elements outside of the grid are marked with -1 cells and kept in the overflow list
+        final int minColumn = outside ? -1 : toColumn(x);
+        final int minRow = outside ? -1 : toRow(y);
+        final int maxColumn = outside ? -1 : toColumn(x + element.getWidth());
+        final int maxRow = outside ? -1 : toRow(y + element.getHeight());
+
+        if (element.hitIndexed) {
+            if (element.hitMinColumn == minColumn && element.hitMinRow == minRow &&
+                    element.hitMaxColumn == maxColumn && element.hitMaxRow == maxRow) {
+                return;
+            }
+            unlink(element);
+        } else {
+            element.hitIndexed = true;
+            size++;
+        }
+
+        element.hitMinColumn = minColumn;
+        element.hitMinRow = minRow;
+        element.hitMaxColumn = maxColumn;
+        element.hitMaxRow = maxRow;
+
+        if (outside) {
+            overflow.add(element);
+            return;
+        }
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+
+                final int index = row * columns + column;
+
+                List<Element> cell = cells[index];
+
+                if (cell == null) {
+                    cell = new ArrayList<>(4);
+                    cells[index] = cell;
+                }
+
+                cell.add(element);
+            }
+        }
+    }
+
+    /**
+     * Unregisters the Element and all of it's children
+     *
+     * @param element The root of the tree to remove
+     */
+    public void removeTree(final Element element) {
+        remove(element);
+        for (final Element child : element.elementChildren.values()) {
+            removeTree(child);
+        }
+    }
+
+    /**
+     * Unregisters a single Element
+     *
+     * @param element The Element to remove
+     */
+    public void remove(final Element element) {
+        if (!element.hitIndexed) return;
+        unlink(element);
+        element.hitIndexed = false;
+        size--;
+        modCount++;
+    }
+
+    private void unlink(final Element element) {
+        if (element.hitMinColumn < 0) {
+            overflow.remove(element);
+            return;
+        }
+        for (int row = element.hitMinRow; row <= element.hitMaxRow; row++) {
+            for (int column = element.hitMinColumn; column <= element.hitMaxColumn; column++) {
+                final List<Element> cell = cells[row * columns + column];
+                if (cell != null) cell.remove(element);
+            }
+        }
+    }
+
+    /**
+     * Collects every Element rendered under the provided screen coordinates, sorted back to front.
+     * Only Elements attached to the provided root whose mesh is still attached, that are not clip
+     * culled and whose bounds contain the point are returned.  Clipping and ignore flags are left to the caller.
+     * Points outside of the grid also visit the overflow list.
+     *
+     * @param x     The screen x coordinate
+     * @param y     The screen y coordinate
+     * @param root  The GUI node the Elements must be attached to
+     * @param store The list to fill
+     * @return The store list
+     */
+    public List<Element> query(final float x, final float y, final Node root, final List<Element> store) {
+        store.clear();
+
+        final List<Element> cell = cells[toRow(y) * columns + toColumn(x)];
+        if (cell != null) collect(cell, x, y, root, store);
+
+        if (x < 0 || y < 0 || x > width || y > height) collect(overflow, x, y, root, store);
+
+        return store;
+    }
+
+    private void collect(final List<Element> candidates, final float x, final float y, final Node root, final List<Element> store) {
+
+        for (int i = 0, length = candidates.size(); i < length; i++) {
+
+            final Element element = candidates.get(i);
+            if (element.clipCulled || element.getGeometry().getParent() != element) continue;
+
+            final float elementX = element.getAbsoluteX();
+            if (x < elementX || x > elementX + element.getWidth()) continue;
+
+            final float elementY = element.getAbsoluteY();
+            if (y < elementY || y > elementY + element.getHeight()) continue;
+
+            final float depth = getDepth(element, root);
+            if (Float.isNaN(depth)) continue;
+
+            insertSorted(store, element, depth);
+        }
+    }
+
+    private void insertSorted(final List<Element> store, final Element element, final float depth) {
+
+        final int count = store.size();
+
+        if (count == depths.length) {
+            final float[] newDepths = new float[count * 2];
+            System.arraycopy(depths, 0, newDepths, 0, count);
+            depths = newDepths;
+        }
+
+        int index = count;
+
+        while (index > 0 && depths[index - 1] > depth) {
+            depths[index] = depths[index - 1];
+            index--;
+        }
+
+        depths[index] = depth;
+        store.add(index, element);
+    }
+
+    /**
+     * Returns the accumulated z translation of the Element relative to the root node or NaN if the
+     * Element is not currently attached to the root or lies in the culled subtree of a parent.
+     */
+    private static float getDepth(final Element element, final Node root) {
+
+        float depth = 0;
+        Spatial spatial = element;
+
+        while (spatial != null && spatial != root) {
+            if (spatial instanceof Element && ((Element) spatial).subtreeCulled) return Float.NaN;
+            depth += spatial.getLocalTranslation().getZ();
+            spatial = spatial.getParent();
+        }
+
+        return spatial == root ? depth : Float.NaN;
+    }
+}
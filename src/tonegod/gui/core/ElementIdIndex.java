@@ -0,0 +1,123 @@
+package tonegod.gui.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Screen-wide UID to Element index used by getElementById and the duplicate ID checks in place of
+ * walking every Element tree.
+ *
+ * An Element is registered, together with all of it's children, when it is added to the screen
+ * or to a parent that already is registered, and unregistered when it's tree is removed.
+ * Children added to a parent that has not been added to a screen yet are picked up once the
+ * parent is.  If two registered Elements share an ID the first one registered is returned.  The
+ * others are kept aside in registration order and take it's place when it is removed.
+ */
+public class ElementIdIndex {
+
+    private final Map<String, Element> elements = new HashMap<>();
+    private final Map<String, List<Element>> duplicates = new HashMap<>();
+
+    /**
+     * Returns the number of IDs currently registered
+     */
+    public int size() {
+        return elements.size();
+    }
+
+    /**
+     * Returns the registered Element with the provided ID or null if there is none
+     *
+     * @param UID The ID to look up
+     */
+    public Element get(final String UID) {
+        return elements.get(UID);
+    }
+
+    /**
+     * Registers the Element and all of it's children
+     *
+     * @param element The root of the tree to add
+     */
+    public void addTree(final Element element) {
+        add(element);
+        for (final Element child : element.elementChildren.values()) {
+            addTree(child);
+        }
+    }
+
+    /**
+     * Registers a single Element
+     *
+     * @param element The Element to add
+     */
+    public void add(final Element element) {
+        if (element.idIndexed) return;
+        element.idIndexed = true;
+        put(element.getUID(), element);
+    }
+
+    /**
+     * Unregisters the Element and all of it's children
+     *
+     * @param element The root of the tree to remove
+     */
+    public void removeTree(final Element element) {
+        remove(element);
+        for (final Element child : element.elementChildren.values()) {
+            removeTree(child);
+        }
+    }
+
+    /**
+     * Unregisters a single Element
+     *
+     * @param element The Element to remove
+     */
+    public void remove(final Element element) {
+        if (!element.idIndexed) return;
+        element.idIndexed = false;
+        unput(element.getUID(), element);
+    }
+
+    /**
+     * Moves a registered Element from it's previous ID to it's current one
+     *
+     * @param element The renamed Element
+     * @param oldUID  The ID the Element was registered with
+     */
+    public void rename(final Element element, final String oldUID) {
+        if (!element.idIndexed) return;
+        unput(oldUID, element);
+        put(element.getUID(), element);
+    }
+
+    private void put(final String UID, final Element element) {
+        if (!elements.containsKey(UID)) {
+            elements.put(UID, element);
+            return;
+        }
+
+        List<Element> shared = duplicates.get(UID);
+        if (shared == null) {
+            shared = new ArrayList<>(2);
+            duplicates.put(UID, shared);
+        }
+        shared.add(element);
+    }
+
+    private void unput(final String UID, final Element element) {
+        final List<Element> shared = duplicates.get(UID);
+
+        if (elements.get(UID) == element) {
+            if (shared == null) elements.remove(UID);
+            else elements.put(UID, shared.remove(0));
+        } else if (shared != null) {
+            shared.remove(element);
+        }
+
+        if (shared != null && shared.isEmpty()) duplicates.remove(UID);
+    }
+}
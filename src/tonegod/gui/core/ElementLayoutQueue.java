@@ -0,0 +1,107 @@
+package tonegod.gui.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the Elements whose position, dimensions, visibility or clipping changed since the last
+ * layout pass so their clipping bounds and hit index cells are recomputed once per frame instead
+ * of once per mutator call.
+ *
+ * An invalidated Element marks it's whole subtree for refresh.  The pass skips every queued
+ * Element that is covered by an invalidated ancestor, so each dirty node is visited exactly once
+ * no matter how many times it or it's parents were changed.
+ */
+public class ElementLayoutQueue {
+
+    private final List<Element> queue = new ArrayList<>();
+    private final List<Element> pending = new ArrayList<>();
+
+    private final ElementManager screen;
+
+    private boolean validating = false;
+    private Element culledAncestor;
+
+    public ElementLayoutQueue(final ElementManager screen) {
+        this.screen = screen;
+    }
+
+    /**
+     * Returns the number of Elements waiting for the next layout pass
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Queues the Element for the next layout pass.  Called by Element.invalidateLayout once per
+     * dirty state.
+     *
+     * @param element The invalidated Element
+     */
+    public void add(final Element element) {
+        queue.add(element);
+    }
+
+    /**
+     * Refreshes the clipping bounds and hit index cells of every queued Element subtree.  Elements
+     * invalidated while the pass runs are handled by the same call.
+     */
+    public void validate() {
+        if (validating) return;
+        validating = true;
+
+        try {
+            while (!queue.isEmpty()) {
+                pending.addAll(queue);
+                queue.clear();
+
+                for (int i = 0, length = pending.size(); i < length; i++) {
+                    final Element element = pending.get(i);
+                    if (!element.layoutDirty || hasDirtyAncestor(element)) continue;
+
+                    // Lay out the outermost ancestor skipping it's subtree instead, so the pass
+                    // reaches the Element again
+                    if (culledAncestor != null) {
+                        culledAncestor.invalidateLayout();
+                        continue;
+                    }
+
+                    validateTree(element);
+                }
+
+                pending.clear();
+            }
+        } finally {
+            validating = false;
+        }
+    }
+
+    private void validateTree(final Element element) {
+        element.validateDeferredLayout();
+
+        final ElementHitIndex hitIndex = screen.getHitIndex();
+        if (hitIndex != null) hitIndex.updateTree(element);
+    }
+
+    /**
+     * Returns true if an ancestor of the queued Element is queued itself.  The Element may have
+     * left the bounds of it's ancestors, so they stop skipping their subtree while culled until
+     * their next full pass.  The outermost ancestor with a culled subtree is kept in culledAncestor.
+     */
+    private boolean hasDirtyAncestor(final Element element) {
+        boolean dirty = false;
+        culledAncestor = null;
+
+        Element parent = element.getElementParent();
+
+        while (parent != null) {
+            parent.childrenContained = false;
+            if (parent.layoutDirty) dirty = true;
+            if (parent.subtreeCulled) culledAncestor = parent;
+            parent = parent.getElementParent();
+        }
+
+        return dirty;
+    }
+}
@@ -41,6 +41,10 @@ public interface ElementManager {
 	public void addElement(Element element, boolean hide);
 	public void removeElement(Element element);
 	public Element getElementById(String UID);
+	public ElementHitIndex getHitIndex();
+	public ElementIdIndex getIdIndex();
+	public void invalidateLayout(Element element);
+	public void validateLayout();
 	public void setKeyboardElement(Element element);
 	public void setTabFocusElement(Element element);
 	public void resetTabFocusElement();
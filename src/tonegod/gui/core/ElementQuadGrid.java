@@ -34,6 +34,9 @@ public class ElementQuadGrid extends Mesh {
 	
 	boolean updatePosition = true;
 	
+	/** Incremented whenever the vertex data changes, read by the batch renderer */
+	int version = 0;
+	
 	private short[] templateIndexes = new short[] {
 		0,1,5,5,4,0
 	};
@@ -221,6 +224,7 @@ public class ElementQuadGrid extends Mesh {
 		}
 		this.clearBuffer(Type.TexCoord);
 		this.setBuffer(Type.TexCoord, 2, coords);
+		version++;
 	}
 	public void updateTiledTexCoords(float atlasX, float atlasY, float atlasW, float atlasH) {
 		templateCoordX = new float[] {
@@ -247,6 +251,7 @@ public class ElementQuadGrid extends Mesh {
 		}
 		this.clearBuffer(Type.TexCoord);
 		this.setBuffer(Type.TexCoord, 2, coords);
+		version++;
 	}
 	
 	public void resetColorBuffer() {
@@ -272,6 +277,7 @@ public class ElementQuadGrid extends Mesh {
 		updatePosition = true;
 	}
 	private void setBuffers(boolean updateAll) {
+		version++;
 		if (updatePosition) {
 			this.clearBuffer(Type.Position);
 			this.setBuffer(Type.Position, 3, verts);
@@ -0,0 +1,134 @@
+package tonegod.gui.core;
+
+import com.jme3.math.Vector3f;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Integer z-order ranks of the top-level Elements of a screen.
+ *
+ * Every Element added to the screen or brought to the front takes the next rank and it's depth is
+ * computed from that rank instead of being accumulated, so focusing an Element only moves that
+ * Element and removing one moves none.  Ranks only grow, so once the top rank passes a bound
+ * proportional to the number of Elements they are renumbered in order, which keeps depths small
+ * and precise no matter how long the screen runs.  Any offset an Element has from the depth of
+ * it's rank (e.g. the ToolTip) is kept when it is renumbered.
+ */
+public class ElementZOrder {
+
+    private static final int MIN_RANK_RANGE = 1024;
+
+    private static final Comparator<Element> RANK_COMPARATOR = new Comparator<Element>() {
+        @Override
+        public int compare(final Element a, final Element b) {
+            return a.zRank < b.zRank ? -1 : a.zRank > b.zRank ? 1 : 0;
+        }
+    };
+
+    private final List<Element> ranked = new ArrayList<>();
+
+    private final float base;
+    private final float step;
+
+    private int topRank = 0;
+
+    /**
+     * @param base The depth of rank 0
+     * @param step The depth between two consecutive ranks
+     */
+    public ElementZOrder(final float base, final float step) {
+        this.base = base;
+        this.step = step;
+    }
+
+    /**
+     * Returns the number of ranked Elements
+     */
+    public int size() {
+        return ranked.size();
+    }
+
+    /**
+     * Returns the rank of the front most Element
+     */
+    public int getTopRank() {
+        return topRank;
+    }
+
+    /**
+     * Returns the depth of the provided rank
+     *
+     * @param rank The rank
+     * @return float depth
+     */
+    public float getZ(final int rank) {
+        return base + rank * step;
+    }
+
+    /**
+     * Ranks the Element in front of all others and returns the depth it should be placed at.  The
+     * Element's translation is left to the caller.
+     *
+     * @param element The top-level Element being added
+     * @return float depth
+     */
+    public float add(final Element element) {
+        ranked.add(element);
+        element.zRank = ++topRank;
+        compactIfNeeded();
+        return getZ(element.zRank);
+    }
+
+    /**
+     * Removes the Element's rank.  The remaining Elements keep their depth.
+     *
+     * @param element The top-level Element being removed
+     */
+    public void remove(final Element element) {
+        if (ranked.remove(element)) element.zRank = 0;
+    }
+
+    /**
+     * Ranks the Element in front of all others and moves it to the matching depth.  Elements that
+     * were never added are moved in front without being ranked.
+     *
+     * @param element The top-level Element to bring to the front
+     */
+    public void bringToFront(final Element element) {
+        if (element.zRank == 0) {
+            setZ(element, getZ(++topRank));
+            return;
+        }
+        if (element.zRank == topRank) return;
+
+        element.zRank = ++topRank;
+        setZ(element, getZ(element.zRank));
+
+        compactIfNeeded();
+    }
+
+    private void compactIfNeeded() {
+        if (topRank <= Math.max(ranked.size() * 2, MIN_RANK_RANGE)) return;
+
+        Collections.sort(ranked, RANK_COMPARATOR);
+
+        for (int i = 0, length = ranked.size(); i < length; i++) {
+            final Element element = ranked.get(i);
+            final float offset = element.getLocalTranslation().getZ() - getZ(element.zRank);
+
+            element.zRank = i + 1;
+            setZ(element, getZ(element.zRank) + offset);
+        }
+
+        topRank = ranked.size();
+    }
+
+    private static void setZ(final Element element, final float z) {
+        final Vector3f location = element.getLocalTranslation();
+        location.setZ(z);
+        element.setLocalTranslation(location);
+    }
+}
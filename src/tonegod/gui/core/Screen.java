@@ -47,9 +47,11 @@ import java.awt.datatransfer.Transferable;
 import java.io.IOException;
 import java.nio.FloatBuffer;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
 
@@ -68,7 +70,7 @@ import tonegod.gui.controls.text.TextField;
 import tonegod.gui.controls.util.ModalBackground;
 import tonegod.gui.controls.util.ToolTip;
 import tonegod.gui.core.Element.Borders;
-import tonegod.gui.core.utils.BitmapTextUtil;
+import tonegod.gui.core.utils.TextMetrics;
 import tonegod.gui.core.utils.ScaleUtil;
 import tonegod.gui.core.utils.UIDUtil;
 import tonegod.gui.effects.EffectManager;
@@ -110,9 +112,12 @@ public class Screen implements ElementManager, Control, RawInputListener {
         Touch,
         TouchMove,
         Fling,
+        DropTarget,
         None
     }
 
+    private static final EventCheckType[] EVENT_CHECK_TYPES = EventCheckType.values();
+
     private static boolean initializedLoader;
 
     private static synchronized void checkLoader(final Application application) {
@@ -138,6 +143,23 @@ public class Screen implements ElementManager, Control, RawInputListener {
     private Vector3f guiRayOrigin = new Vector3f();
     private CollisionResults results;
 
+    private ElementHitIndex hitIndex;
+    private final List<Element> hitElements = new ArrayList<>();
+    private boolean useHitIndex = true;
+
+    private final ElementLayoutQueue layoutQueue = new ElementLayoutQueue(this);
+    private final ElementIdIndex idIndex = new ElementIdIndex();
+
+    // Hit stack shared by all queries of one input event
+    private final List<Element> hitStack = new ArrayList<>();
+    private int[] hitStackIgnores = new int[16];
+    private boolean hitStackValid = false;
+    private float hitStackX, hitStackY;
+    private int hitStackModCount;
+    private float animPickZ;
+
+    private ElementBatchRenderer batchRenderer;
+
     private boolean useMultiTouch = false;
 
     private Vector2f tempElementOffset = new Vector2f();
@@ -168,10 +190,13 @@ public class Screen implements ElementManager, Control, RawInputListener {
     private boolean mouseRightPressed = false;
     private boolean mouseWheelPressed = false;
     private CollisionResult lastCollision;
+    // The hit index resolves events without a ray, the GUI collision is cast when it is read
+    private boolean lastCollisionPending = false;
+    private float lastCollisionX, lastCollisionY;
 
-    private float zOrderCurrent = 1F;
     private float zOrderStepMajor = 0.1F;
     private float zOrderStepMinor = 0.0001F;
+    private final ElementZOrder zOrder = new ElementZOrder(1F, zOrderStepMajor);
 
     private String clipboardText = "";
 
@@ -292,6 +317,7 @@ public class Screen implements ElementManager, Control, RawInputListener {
         this.application = application;
         this.elementZOrderRay.setDirection(Vector3f.UNIT_Z);
         this.results = new CollisionResults();
+        this.hitIndex = new ElementHitIndex(getWidth(), getHeight());
         this.styleManager = new StyleManager(this, styleMap);
         this.styleManager.parseStyles(styleMap);
         this.effectManager = new EffectManager(this);
@@ -323,6 +349,7 @@ public class Screen implements ElementManager, Control, RawInputListener {
         this.application = application;
         this.elementZOrderRay.setDirection(Vector3f.UNIT_Z);
         this.results = new CollisionResults();
+        this.hitIndex = new ElementHitIndex(getWidth(), getHeight());
         this.styleManager = new StyleManager(this, styleMap);
         this.styleManager.parseStyles(styleMap);
         this.effectManager = new EffectManager(this);
@@ -422,7 +449,7 @@ public class Screen implements ElementManager, Control, RawInputListener {
         if (element instanceof AutoHide) {
             addElement(element, true);
             return;
-        } else if (getElementById(element.getUID()) != null) {
+        } else if (idIndex.get(element.getUID()) != null) {
             throw new RuntimeException("The child element '" + element.getUID() + "' (" + element.getClass() + ") conflicts with a previously added child element in parent Screen.");
         }
 
@@ -432,10 +459,10 @@ public class Screen implements ElementManager, Control, RawInputListener {
         initializeElement(element);
 
         t0neg0dGUI.attachChild(element);
+        hitIndex.addTree(element);
+        idIndex.addTree(element);
 
-        incrementZOrder(true);
-
-        element.initZOrder(zOrderCurrent);
+        element.initZOrder(zOrder.add(element));
         element.resize(element.getX() + element.getWidth(), element.getY() + element.getHeight(), Borders.SE);
     }
 
@@ -447,7 +474,7 @@ public class Screen implements ElementManager, Control, RawInputListener {
     @Override
     public void addElement(Element element, boolean hide) {
         if (element instanceof AutoHide) hide = true;
-        if (getElementById(element.getUID()) != null) {
+        if (idIndex.get(element.getUID()) != null) {
             throw new RuntimeException("The child element '" + element.getUID() + "' (" + element.getClass() + ") conflicts with a previously added child element in parent Screen.");
         }
 
@@ -457,10 +484,10 @@ public class Screen implements ElementManager, Control, RawInputListener {
         initializeElement(element);
 
         t0neg0dGUI.attachChild(element);
+        hitIndex.addTree(element);
+        idIndex.addTree(element);
 
-        incrementZOrder(true);
-
-        element.initZOrder(zOrderCurrent);
+        element.initZOrder(zOrder.add(element));
         element.resize(element.getX() + element.getWidth(), element.getY() + element.getHeight(), Borders.SE);
 
         if (hide) element.hide();
@@ -487,20 +514,9 @@ public class Screen implements ElementManager, Control, RawInputListener {
     public void removeElement(final Element element) {
         idToElement.remove(element.getUID());
         elements.slowRemove(element);
-
-        final float shiftZ = element.getLocalTranslation().getZ();
-
-        for (final Element child : elements.array()) {
-            if(child == null) break;
-            if (child instanceof ToolTip) continue;
-
-            final Vector3f childLoc = child.getLocalTranslation();
-            if (childLoc.getZ() <= shiftZ) continue;
-
-            child.move(0, 0, -zOrderStepMajor);
-        }
-
-        zOrderCurrent -= zOrderStepMajor;
+        hitIndex.removeTree(element);
+        idIndex.removeTree(element);
+        zOrder.remove(element);
 
         element.removeFromParent();
         element.cleanup();
@@ -523,17 +539,8 @@ public class Screen implements ElementManager, Control, RawInputListener {
      */
     @Override
     public Element getElementById(final String UID) {
-
-        Element result = idToElement.get(UID);
-        if(result != null) return result;
-
-        for (final Element child : elements.array()) {
-            if (child == null) break;
-            result = child.getChildElementById(UID);
-            if (result != null) break;
-        }
-
-        return result;
+        final Element result = idIndex.get(UID);
+        return result != null ? result : idToElement.get(UID);
     }
 
     /**
@@ -550,6 +557,96 @@ public class Screen implements ElementManager, Control, RawInputListener {
         return elements;
     }
 
+    /**
+     * Returns the screen-space index used to resolve the Element under the mouse/touch position
+     */
+    @Override
+    public ElementHitIndex getHitIndex() {
+        return hitIndex;
+    }
+
+    /**
+     * Returns the UID index of every Element added to the Screen, at any depth
+     */
+    @Override
+    public ElementIdIndex getIdIndex() {
+        return idIndex;
+    }
+
+    /**
+     * Queues the Element for the layout pass run once per frame from update
+     *
+     * @param element The Element whose position, dimensions, visibility or clipping changed
+     */
+    @Override
+    public void invalidateLayout(Element element) {
+        layoutQueue.add(element);
+    }
+
+    /**
+     * Immediately refreshes the clipping bounds and hit index cells of every invalidated Element
+     */
+    @Override
+    public void validateLayout() {
+        layoutQueue.validate();
+    }
+
+    /**
+     * Enables/disables resolving mouse and touch events through the hit index.  When disabled, the
+     * Screen falls back to casting a ray through the GUI node.
+     *
+     * @param useHitIndex boolean
+     */
+    public void setUseHitIndex(boolean useHitIndex) {
+        this.useHitIndex = useHitIndex;
+        this.hitStackValid = false;
+    }
+
+    /**
+     * Returns if mouse and touch events are resolved through the hit index
+     *
+     * @return boolean
+     */
+    public boolean getUseHitIndex() {
+        return useHitIndex;
+    }
+
+    /**
+     * Enables/disables batched rendering.  When enabled, all Elements textured from the texture
+     * atlas are merged into a single mesh per top-level Element.  Requires setUseTextureAtlas.
+     *
+     * @param useBatchedRendering boolean
+     */
+    public void setUseBatchedRendering(boolean useBatchedRendering) {
+        if (useBatchedRendering == (batchRenderer != null)) return;
+        if (useBatchedRendering) {
+            batchRenderer = new ElementBatchRenderer(this);
+            t0neg0dGUI.addControl(batchRenderer);
+        } else {
+            t0neg0dGUI.removeControl(batchRenderer);
+            batchRenderer.release();
+            batchRenderer = null;
+        }
+    }
+
+    /**
+     * Returns if Elements are rendered through batched meshes
+     *
+     * @return boolean
+     */
+    public boolean getUseBatchedRendering() {
+        return batchRenderer != null;
+    }
+
+    /**
+     * Returns the renderer used for batched rendering or null if batched rendering is disabled
+     *
+     * @return ElementBatchRenderer
+     */
+    public ElementBatchRenderer getBatchRenderer() {
+        return batchRenderer;
+    }
+
     /**
      * Returns the guiNode used by the Screen
      *
@@ -639,49 +736,26 @@ public class Screen implements ElementManager, Control, RawInputListener {
     //<editor-fold desc="Z-Order">
 
     /**
-     * Returns the next available z-order
+     * Returns a z-order in front of the current front most Element
      *
      * @param stepMajor Return the z-order incremented by a major step if true, a minor step if
      *                  false
      * @return float zOrder
      */
     public float incrementZOrder(final boolean stepMajor) {
-
-        if (stepMajor) {
-            zOrderCurrent += zOrderStepMajor;
-        } else {
-            zOrderCurrent += zOrderStepMinor;
-        }
-
-        return zOrderCurrent;
+        return zOrder.getZ(zOrder.getTopRank()) + (stepMajor ? zOrderStepMajor : zOrderStepMinor);
     }
 
     /**
-     * Brings the element specified to the front of the zOrder list shifting other below to keep all
-     * Elements within the current z-order range.
+     * Brings the element specified to the front of the zOrder list.  Only the specified Element is
+     * moved, the others keep their depth.
      *
      * @param topMost The Element to bring to the front
      */
     @Override
     public void updateZOrder(final Element topMost) {
-
-        final Vector3f topLocation = topMost.getLocalTranslation();
-        float shiftZ = topLocation.getZ();
-
-        for (final Element element : elements.array()) {
-            if(element == null) break;
-            if (topMost.getIsGlobalModal()) continue;
-            if (topMost.getIsModal()) continue;
-
-            final Vector3f elementPos = element.getLocalTranslation();
-
-            if (elementPos.getZ() > shiftZ) {
-                element.move(0, 0, shiftZ - zOrderStepMajor);
-            }
-        }
-
-        topLocation.setZ(zOrderCurrent);
-        topMost.setLocalTranslation(topLocation);
+        zOrder.bringToFront(topMost);
+        hitStackValid = false;
     }
 
     /**
@@ -769,6 +843,7 @@ public class Screen implements ElementManager, Control, RawInputListener {
     @Override
     public void onMouseMotionEvent(MouseMotionEvent evt) {
         setMouseXY(evt.getX(), evt.getY());
+        hitStackValid = false;
 
         if (this.useCursorEffects) {
             if (application.getInputManager().isCursorVisible())
@@ -923,6 +998,7 @@ public class Screen implements ElementManager, Control, RawInputListener {
     public void onMouseButtonEvent(MouseButtonEvent evt) {
         if (!useMultiTouch) {
             setMouseXY(evt.getX(), evt.getY());
+            hitStackValid = false;
 
             EventCheckType check = null;
             if (evt.getButtonIndex() == 0)
@@ -1201,6 +1277,7 @@ public class Screen implements ElementManager, Control, RawInputListener {
     @Override
     public void onTouchEvent(TouchEvent evt) {
         setTouchXY(evt.getX(), evt.getY());
+        hitStackValid = false;
 
         //	evt.set(evt.getType(),touchXY.x,touchXY.y,evt.getDeltaX()*inputScale,evt.getDeltaY()*inputScale);
         if (useMultiTouch) {
@@ -1488,6 +1565,7 @@ public class Screen implements ElementManager, Control, RawInputListener {
         CollisionResults results = new CollisionResults();
         application.getViewPort().getScenes().get(0).collideWith(pickRay, results);
         lastCollision = results.getClosestCollision();
+        lastCollisionPending = false;
     }
 
     private Vector3f getBarycentricCoords(Vector3f origin, Vector3f direction, Vector3f v0, Vector3f v1, Vector3f v2, Vector3f store) {
@@ -1563,6 +1641,11 @@ public class Screen implements ElementManager, Control, RawInputListener {
 
     @Override
     public CollisionResult getLastCollision() {
+        if (lastCollisionPending) {
+            lastCollisionPending = false;
+            castElementRay(lastCollisionX, lastCollisionY);
+            lastCollision = results.getClosestCollision();
+        }
         return lastCollision;
     }
     //</editor-fold>
@@ -1586,51 +1669,134 @@ public class Screen implements ElementManager, Control, RawInputListener {
                 return el.getIgnoreTouchMove();
             case Fling:
                 return el.getIgnoreFling();
+            case DropTarget:
+                return el.getIgnoreMouse() || !el.getIsDragDropDropElement();
             default:
                 return false;
         }
     }
 
-    /**
-     * Determines and returns the current mouse focus Element
-     *
-     * @param x The current mouse X coord
-     * @param y The current mouse Y coord
-     * @return Element eventElement
-     */
-    private Element getEventElement(float x, float y, EventCheckType check) {
+    private boolean isOutsideClipping(final Element el, final float x, final float y) {
+        if (!el.getIsClipped()) return false;
+        final Vector4f clippingBounds = el.getClippingBounds();
+        return x < clippingBounds.getX() || x > clippingBounds.getZ() ||
+                y < clippingBounds.getY() || y > clippingBounds.getW();
+    }
+
+    private void castElementRay(float x, float y) {
         guiRayOrigin.set(x, y, 0f);
 
         elementZOrderRay.setOrigin(guiRayOrigin);
         results.clear();
 
         t0neg0dGUI.collideWith(elementZOrderRay, results);
+    }
 
-        lastCollision = results.getClosestCollision();
+    private int getIgnoreMask(Element el) {
+        int mask = 0;
+        for (EventCheckType check : EVENT_CHECK_TYPES) {
+            if (getIgnoreEvent(el, check)) mask |= 1 << check.ordinal();
+        }
+        return mask;
+    }
+
+    private void pushHitStack(Element el) {
+        final int index = hitStack.size();
+        if (index == hitStackIgnores.length) {
+            final int[] newIgnores = new int[index * 2];
+            System.arraycopy(hitStackIgnores, 0, newIgnores, 0, index);
+            hitStackIgnores = newIgnores;
+        }
+        hitStackIgnores[index] = getIgnoreMask(el);
+        hitStack.add(el);
+    }
+
+    /**
+     * Resolves the Elements under the provided coords once per input event.  The stack is ordered
+     * back to front, contains only Elements whose clipping bounds contain the coords and stores the
+     * resolved ignore flags of every entry so each EventCheckType is answered by filtering it.
+     * The stack is rebuilt when the coords change, an Element is added, moved, resized or removed
+     * or an ignore flag or depth changes, including changes made by listeners of the current event.
+     *
+     * @param x The x coord
+     * @param y The y coord
+     */
+    private void updateHitStack(float x, float y) {
+
+        layoutQueue.validate();
+
+        if (hitStackValid && hitStackX == x && hitStackY == y &&
+                hitStackModCount == hitIndex.getModCount()) {
+            return;
+        }
+
+        hitStackValid = true;
+        hitStackX = x;
+        hitStackY = y;
+        hitStackModCount = hitIndex.getModCount();
+
+        hitStack.clear();
+
+        if (useHitIndex) {
+            hitIndex.query(x, y, t0neg0dGUI, hitElements);
+
+            for (int i = 0, length = hitElements.size(); i < length; i++) {
+                final Element testEl = hitElements.get(i);
+                if (!isOutsideClipping(testEl, x, y)) pushHitStack(testEl);
+            }
+            return;
+        }
+
+        castElementRay(x, y);
 
-        float z = 10;
-        Element testEl = null, el = null;
         for (CollisionResult result : results) {
-            boolean discard = false;
             if (result.getGeometry().getParent() instanceof Element) {
-                testEl = ((Element) (result.getGeometry().getParent()));
-                if (getIgnoreEvent(testEl, check)) {
-                    discard = true;
-                } else if (testEl.getIsClipped()) {
-                    if (result.getContactPoint().getX() < testEl.getClippingBounds().getX() ||
-                            result.getContactPoint().getX() > testEl.getClippingBounds().getZ() ||
-                            result.getContactPoint().getY() < testEl.getClippingBounds().getY() ||
-                            result.getContactPoint().getY() > testEl.getClippingBounds().getW()) {
-                        discard = true;
-                    }
+                final Element testEl = (Element) result.getGeometry().getParent();
+                if (!isOutsideClipping(testEl, result.getContactPoint().getX(), result.getContactPoint().getY())) {
+                    pushHitStack(testEl);
                 }
             }
+        }
+    }
 
-            if (!discard) {
-                if (result.getGeometry().getParent() instanceof Element) {
-                    el = testEl;
-                }
-            }
+    /**
+     * Returns the top-most Element under the provided coords that does not ignore the check
+     *
+     * @param x     The x coord
+     * @param y     The y coord
+     * @param check The event being resolved
+     * @return Element or null
+     */
+    private Element findElement(float x, float y, EventCheckType check) {
+
+        updateHitStack(x, y);
+
+        final int bit = 1 << check.ordinal();
+
+        for (int i = hitStack.size() - 1; i >= 0; i--) {
+            if ((hitStackIgnores[i] & bit) == 0) return hitStack.get(i);
+        }
+
+        return null;
+    }
+
+    /**
+     * Determines and returns the current mouse focus Element
+     *
+     * @param x The current mouse X coord
+     * @param y The current mouse Y coord
+     * @return Element eventElement
+     */
+    private Element getEventElement(float x, float y, EventCheckType check) {
+
+        Element el = findElement(x, y, check);
+
+        if (!useHitIndex) {
+            lastCollision = results.getClosestCollision();
+        } else {
+            lastCollisionPending = true;
+            lastCollisionX = x;
+            lastCollisionY = y;
         }
 
         if (el != null) {
@@ -1651,6 +1817,10 @@ public class Screen implements ElementManager, Control, RawInputListener {
             // 2D Framework
             eventAnimElement = null;
             eventQuad = null;
+            if (useHitIndex) {
+                pickAnimElement(x, y);
+                return null;
+            }
             for (CollisionResult result : results) {
                 boolean discard = false;
                 if (result.getGeometry().getParent() instanceof AnimElement) {
@@ -1681,37 +1851,55 @@ public class Screen implements ElementManager, Control, RawInputListener {
         }
     }
 
-    private Element getContactElement(float x, float y, EventCheckType check) {
-        guiRayOrigin.set(x, y, 0f);
+    /**
+     * Resolves the AnimElement and quad under the provided coords by testing the quads of every
+     * AnimLayer directly, without casting a ray against the mesh collision data.
+     *
+     * @param x The x coord
+     * @param y The y coord
+     */
+    private void pickAnimElement(float x, float y) {
+        animPickZ = Float.POSITIVE_INFINITY;
 
-        elementZOrderRay.setOrigin(guiRayOrigin);
-        results.clear();
+        for (AnimLayer layer : layers.values()) {
+            if (layer.getParent() != null) pickAnimElement(layer, x, y);
+        }
 
-        t0neg0dGUI.collideWith(elementZOrderRay, results);
+        if (eventAnimElement != null) {
+            eventAnimOffsetX = x - eventAnimElement.getPositionX();
+            eventAnimOffsetY = y - eventAnimElement.getPositionY();
+            eventQuadOffsetX = x - eventQuad.getPositionX();
+            eventQuadOffsetY = y - eventQuad.getPositionY();
+        }
+    }
 
-        float z = 0;
-        Element testEl = null, el = null;
-        for (CollisionResult result : results) {
-            boolean discard = false;
-            if (result.getGeometry().getParent() instanceof Element) {
-                testEl = ((Element) (result.getGeometry().getParent()));
-                if (getIgnoreEvent(testEl, check)) {
-                    discard = true;
-                } else if (testEl.getIsClipped()) {
-                    if (result.getContactPoint().getX() < testEl.getClippingBounds().getX() ||
-                            result.getContactPoint().getX() > testEl.getClippingBounds().getZ() ||
-                            result.getContactPoint().getY() < testEl.getClippingBounds().getY() ||
-                            result.getContactPoint().getY() > testEl.getClippingBounds().getW()) {
-                        discard = true;
+    private void pickAnimElement(Node node, float x, float y) {
+        for (Spatial child : node.getChildren()) {
+            if (!(child instanceof AnimElement)) continue;
+
+            final AnimElement testAnimEl = (AnimElement) child;
+            final Vector4f clip = testAnimEl.getClippingPosition();
+
+            if (!testAnimEl.getIgnoreMouse() && x >= clip.getX() && x <= clip.getZ() && y >= clip.getY() && y <= clip.getW()) {
+                final QuadData quad = testAnimEl.pickQuad(x, y);
+                if (quad != null) {
+                    final float z = testAnimEl.getQuadWorldZ(quad);
+                    if (z < animPickZ) {
+                        animPickZ = z;
+                        eventAnimElement = testAnimEl;
+                        eventQuad = quad;
                     }
                 }
             }
-            if (!discard) {
-                if (result.getGeometry().getParent() instanceof Element) {
-                    el = testEl;
-                }
-            }
+
+            pickAnimElement(testAnimEl, x, y);
         }
+    }
+
+    private Element getContactElement(float x, float y, EventCheckType check) {
+
+        final Element el = findElement(x, y, check);
+
         if (el != null) {
             Element parent = null;
             if (el.getEffectParent() && mousePressed) {
@@ -1734,6 +1922,7 @@ public class Screen implements ElementManager, Control, RawInputListener {
     public void forceEventElement(Element element) {
         float x = element.getAbsoluteX() + 1;
         float y = element.getAbsoluteY() + 1;
+        hitStackValid = false;
         eventElement = getEventElement(x, y, EventCheckType.None);
         if (eventElement != null) {
             if (eventElement.getAbsoluteParent().getEffectZOrder())
@@ -1792,40 +1981,9 @@ public class Screen implements ElementManager, Control, RawInputListener {
      * @return Element eventElement
      */
     private Element getTargetElement(float x, float y) {
-        guiRayOrigin.set(x, y, 0f);
-
-        elementZOrderRay.setOrigin(guiRayOrigin);
-        results.clear();
-
-        t0neg0dGUI.collideWith(elementZOrderRay, results);
 
-        float z = 0;
-        Element testEl = null, el = null;
-        for (CollisionResult result : results) {
-            boolean discard = false;
-            if (result.getGeometry().getParent() instanceof Element) {
-                testEl = ((Element) (result.getGeometry().getParent()));
-                if (testEl.getIgnoreMouse() || !testEl.getIsDragDropDropElement()) {
-                    discard = true;
-                } else if (testEl.getIsClipped()) {
-                    if (result.getContactPoint().getX() < testEl.getClippingBounds().getX() ||
-                            result.getContactPoint().getX() > testEl.getClippingBounds().getZ() ||
-                            result.getContactPoint().getY() < testEl.getClippingBounds().getY() ||
-                            result.getContactPoint().getY() > testEl.getClippingBounds().getW()) {
-                        discard = true;
-                    }
-                }
-            }
-            if (!discard) {
+        Element el = findElement(x, y, EventCheckType.DropTarget);
 
-                if (result.getContactPoint().getZ() > z) {
-                    z = result.getContactPoint().getZ();
-                    if (result.getGeometry().getParent() instanceof Element) {
-                        el = testEl;//((Element)(result.getGeometry().getParent()));
-                    }
-                }
-            }
-        }
         if (el != null) {
             Element parent = null;
             if (el.getEffectParent() && mousePressed) {
@@ -2247,10 +2405,17 @@ public class Screen implements ElementManager, Control, RawInputListener {
     //<editor-fold desc="JME Control Methods">
     @Override
     public void update(float tpf) {
+        layoutQueue.validate();
+
+        if (hitIndex.getWidth() != getWidth() || hitIndex.getHeight() != getHeight()) {
+            hitIndex.resize(getWidth(), getHeight());
+        }
     }
 
     @Override
     public void render(RenderManager rm, ViewPort vp) {
+        // Picks up Elements changed by controls updated after the Screen
+        layoutQueue.validate();
     }
 
     @Override
@@ -2590,7 +2755,7 @@ public class Screen implements ElementManager, Control, RawInputListener {
 			 */
             toolTip.setText("");
             toolTip.setHeight(25);
-            float finalWidth = BitmapTextUtil.getTextWidth(toolTip, newText, toolTipMaxWidth);
+            float finalWidth = Math.min(TextMetrics.get(toolTip.getFont()).getLineWidth(newText, toolTip.getFontSize()), toolTipMaxWidth);
             toolTip.setText(newText);
             toolTip.setWidth(finalWidth + (toolTip.getTextPadding() * 12));
             toolTip.setHeight(toolTip.getTextElement().getHeight() + (toolTip.getTextPadding() * 12));
@@ -2691,6 +2856,35 @@ public class Screen implements ElementManager, Control, RawInputListener {
             audioNode.playInstance();
         }
     }
+
+    /**
+     * Loads the audio nodes associated with the provided keys before they are first played.
+     * Audio nodes are otherwise loaded on their first use.
+     *
+     * @param keys String The keys associated with the audio nodes
+     */
+    public void preloadAudioNodes(String... keys) {
+        styleManager.preloadAudioNodes(keys);
+    }
+
+    /**
+     * Sets the maximum number of loaded UI audio nodes.  The least recently played audio nodes
+     * are released once the limit is exceeded.  0 (the default) keeps every loaded audio node.
+     *
+     * @param maxUIAudioNodes int
+     */
+    public void setMaxUIAudioNodes(int maxUIAudioNodes) {
+        styleManager.setMaxAudioNodes(maxUIAudioNodes);
+    }
+
+    /**
+     * Returns the maximum number of loaded UI audio nodes
+     *
+     * @return int
+     */
+    public int getMaxUIAudioNodes() {
+        return styleManager.getMaxAudioNodes();
+    }
     //</editor-fold>
 
     //<editor-fold desc="Cursor Effects">
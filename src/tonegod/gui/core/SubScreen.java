@@ -39,7 +39,6 @@ import tonegod.gui.controls.menuing.AutoHide;
 import tonegod.gui.controls.menuing.Menu;
 import tonegod.gui.controls.text.TextField;
 import tonegod.gui.controls.util.ModalBackground;
-import tonegod.gui.controls.util.ToolTip;
 import tonegod.gui.core.Element.Borders;
 import tonegod.gui.core.utils.ScaleUtil;
 import tonegod.gui.core.utils.UIDUtil;
@@ -65,6 +64,8 @@ import tonegod.gui.style.StyleManager.CursorType;
 public class SubScreen implements ElementManager, Control {
     private String UID;
     private Screen screen;
+    private final ElementLayoutQueue layoutQueue = new ElementLayoutQueue(this);
+    private final ElementIdIndex idIndex = new ElementIdIndex();
     private Application app;
     private SubScreenBridge bridge;
     private Geometry geom;
@@ -100,9 +101,9 @@ public class SubScreen implements ElementManager, Control {
     private boolean mouseRightPressed = false;
     private boolean mouseWheelPressed = false;
 
-    private float zOrderCurrent = .5f;
     private float zOrderStepMajor = .01f;
     private float zOrderStepMinor = 0.0001f;
+    private final ElementZOrder zOrder = new ElementZOrder(.5f, zOrderStepMajor);
 
     private String clipboardText = "";
 
@@ -219,10 +220,12 @@ public class SubScreen implements ElementManager, Control {
 
     @Override
     public void update(float tpf) {
+        layoutQueue.validate();
     }
 
     @Override
     public void render(RenderManager rm, ViewPort vp) {
+        layoutQueue.validate();
     }
 
     /**
@@ -235,7 +238,7 @@ public class SubScreen implements ElementManager, Control {
         if (element instanceof AutoHide)
             element.hide();
 
-        if (getElementById(element.getUID()) != null) {
+        if (idIndex.get(element.getUID()) != null) {
             //	try {
             //		throw new ConflictingIDException();
             //	} catch (ConflictingIDException ex) {
@@ -255,10 +258,11 @@ public class SubScreen implements ElementManager, Control {
                 element.setInitialized();
             }
             subScreenNode.attachChild(element);
+            idIndex.addTree(element);
 
             // Set initla z-order
-            getNextZOrder(true);
-            //	element.initZOrder(zOrderCurrent);
+            zOrder.add(element);
+            //	element.initZOrder(zOrder.add(element));
             element.resize(element.getX() + element.getWidth(), element.getY() + element.getHeight(), Borders.SE);
         }
     }
@@ -273,7 +277,7 @@ public class SubScreen implements ElementManager, Control {
         if (element instanceof AutoHide)
             element.hide();
 
-        if (getElementById(element.getUID()) != null) {
+        if (idIndex.get(element.getUID()) != null) {
             //	try {
             //		throw new ConflictingIDException();
             //	} catch (ConflictingIDException ex) {
@@ -293,10 +297,11 @@ public class SubScreen implements ElementManager, Control {
                 element.setInitialized();
             }
             subScreenNode.attachChild(element);
+            idIndex.addTree(element);
 
             // Set initla z-order
-            getNextZOrder(true);
-            //	element.initZOrder(zOrderCurrent);
+            zOrder.add(element);
+            //	element.initZOrder(zOrder.add(element));
             element.resize(element.getX() + element.getWidth(), element.getY() + element.getHeight(), Borders.SE);
 
             if (hide)
@@ -312,15 +317,8 @@ public class SubScreen implements ElementManager, Control {
     @Override
     public void removeElement(Element element) {
         elements.remove(element.getUID());
-        float shiftZ = element.getLocalTranslation().getZ();
-        for (Element el : elements.values()) {
-            if (!(el instanceof ToolTip)) {
-                if (el.getLocalTranslation().getZ() > shiftZ) {
-                    el.move(0, 0, -zOrderStepMajor);
-                }
-            }
-        }
-        zOrderCurrent -= zOrderStepMajor;
+        idIndex.removeTree(element);
+        zOrder.remove(element);
         element.removeFromParent();
         element.cleanup();
     }
@@ -333,16 +331,9 @@ public class SubScreen implements ElementManager, Control {
      */
     @Override
     public Element getElementById(String UID) {
-        Element ret = null;
-        if (elements.containsKey(UID)) {
+        Element ret = idIndex.get(UID);
+        if (ret == null) {
             ret = elements.get(UID);
-        } else {
-            for (Element el : elements.values()) {
-                ret = el.getChildElementById(UID);
-                if (ret != null) {
-                    break;
-                }
-            }
         }
         return ret;
     }
@@ -406,44 +397,25 @@ public class SubScreen implements ElementManager, Control {
     // Z-ORDER
 
     /**
-     * Returns the next available z-order
+     * Returns a z-order in front of the current front most Element
      *
      * @param stepMajor Return the z-order incremented by a major step if true, a minor step if
      *                  false
      * @return float zOrder
      */
     public float getNextZOrder(boolean stepMajor) {
-        if (stepMajor)
-            zOrderCurrent += zOrderStepMajor;
-        else
-            zOrderCurrent += zOrderStepMinor;
-        return zOrderCurrent;
+        return zOrder.getZ(zOrder.getTopRank()) + (stepMajor ? zOrderStepMajor : zOrderStepMinor);
     }
 
     /**
-     * Brings the element specified to the front of the zOrder list shifting other below to keep all
-     * Elements within the current z-order range.
+     * Brings the element specified to the front of the zOrder list.  Only the specified Element is
+     * moved, the others keep their depth.
      *
      * @param topMost The Element to bring to the front
      */
     @Override
     public void updateZOrder(Element topMost) {
-        //	zOrderCurrent = zOrderInit;
-        String topMostUID = topMost.getUID();
-        float shiftZ = topMost.getLocalTranslation().getZ();
-
-        for (Element el : elements.values()) {
-            if (topMost.getIsGlobalModal()) {
-            } else if (topMost.getIsModal()) {
-            } else {
-                if (!el.getIsGlobalModal() && !el.getIsModal()) {
-                    if (el.getLocalTranslation().getZ() > shiftZ) {
-                        el.move(0, 0, -zOrderStepMajor);
-                    }
-                }
-            }
-        }
-        topMost.setLocalTranslation(topMost.getLocalTranslation().setZ(Float.valueOf(zOrderCurrent)));
+        zOrder.bringToFront(topMost);
     }
 
     /**
@@ -912,6 +884,29 @@ public class SubScreen implements ElementManager, Control {
         return screen.getLastCollision();
     }
 
+    /**
+     * SubScreens pick through the off-screen scene graph and do not keep a hit index
+     */
+    @Override
+    public ElementHitIndex getHitIndex() {
+        return null;
+    }
+
+    @Override
+    public ElementIdIndex getIdIndex() {
+        return idIndex;
+    }
+
+    @Override
+    public void invalidateLayout(Element element) {
+        layoutQueue.add(element);
+    }
+
+    @Override
+    public void validateLayout() {
+        layoutQueue.validate();
+    }
+
     /**
      * Determines and returns the current mouse focus Element
      *
@@ -920,6 +915,8 @@ public class SubScreen implements ElementManager, Control {
      * @return Element eventElement
      */
     private Element getEventElement(float x, float y) {
+        layoutQueue.validate();
+
         guiRayOrigin.set(x, y, 0f);
 
         elementZOrderRay.setOrigin(guiRayOrigin);
@@ -970,6 +967,8 @@ public class SubScreen implements ElementManager, Control {
     }
 
     private Element getContactElement(float x, float y) {
+        layoutQueue.validate();
+
         guiRayOrigin.set(x, y, 0f);
 
         elementZOrderRay.setOrigin(guiRayOrigin);
@@ -1078,6 +1077,8 @@ public class SubScreen implements ElementManager, Control {
      * @return Element eventElement
      */
     private Element getTargetElement(float x, float y) {
+        layoutQueue.validate();
+
         guiRayOrigin.set(x, y, 0f);
 
         elementZOrderRay.setOrigin(guiRayOrigin);
@@ -4,13 +4,12 @@
  */
 package tonegod.gui.core.utils;
 
-import com.jme3.font.BitmapText;
-import com.jme3.font.LineWrapMode;
-import com.jme3.font.Rectangle;
 import tonegod.gui.core.Element;
 
 /**
- *
+ * These methods now forward to the TextMetrics of the Element's font.  Feel free to use
+ * TextMetrics directly.
+ * 
  * @author t0neg0d
  */
 public class BitmapTextUtil {
@@ -22,13 +21,7 @@ public class BitmapTextUtil {
 	 * @return float The width
 	 */
 	public static float getTextWidth(Element ref, String text) {
-		BitmapText eval = new BitmapText(ref.getFont());
-		eval.setSize(ref.getFontSize());
-		eval.setLineWrapMode(LineWrapMode.NoWrap);
-		eval.setBox(null);
-		eval.setText(text);
-		
-		return eval.getLineWidth();
+		return TextMetrics.get(ref.getFont()).getLineWidth(text, ref.getFontSize());
 	}
 	
 	/**
@@ -39,12 +32,8 @@ public class BitmapTextUtil {
 	 * @return float The width
 	 */
 	public static float getTextWidth(Element ref, String text, float maxWidth) {
-		BitmapText eval = new BitmapText(ref.getFont());
-		eval.setSize(ref.getFontSize());
-		eval.setText("Xg");
-		eval.setText(text);
-		
-		return (eval.getLineWidth() < maxWidth) ? eval.getLineWidth() : maxWidth;
+		float width = getTextWidth(ref, text);
+		return (width < maxWidth) ? width : maxWidth;
 	}
 	
 	/**
@@ -54,13 +43,7 @@ public class BitmapTextUtil {
 	 * @return float
 	 */
 	public static float getTextLineHeight(Element ref, String text) {
-		BitmapText eval = new BitmapText(ref.getFont());
-		eval.setSize(ref.getFontSize());
-		eval.setLineWrapMode(LineWrapMode.NoWrap);
-		eval.setBox(null);
-		eval.setText(text);
-		
-		return eval.getLineHeight();
+		return TextMetrics.get(ref.getFont()).getLineHeight(ref.getFontSize());
 	}
 	
 	/**
@@ -71,12 +54,6 @@ public class BitmapTextUtil {
 	 * @return float
 	 */
 	public static float getTextTotalHeight(Element ref, String text, float maxWidth) {
-		BitmapText eval = new BitmapText(ref.getFont());
-		eval.setSize(ref.getFontSize());
-		eval.setText("Xg");
-		eval.setBox(new Rectangle(0,0,maxWidth, eval.getLineHeight()));
-		eval.setText(text);
-		
-		return eval.getLineWidth()*eval.getLineCount();
+		return TextMetrics.get(ref.getFont()).getTotalHeight(text, ref.getFontSize(), maxWidth);
 	}
 }
@@ -0,0 +1,29 @@
+/*
+ * To change this template, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package tonegod.gui.core.utils;
+
+import java.util.List;
+
+/**
+ *
+ * @author t0neg0d
+ */
+public class ListUtil {
+	/**
+	 * Finishes an in place removal pass.  The pass moved the live entries of the first count
+	 * entries to the front of the list.  This keeps any entries added to the list during the pass
+	 * and drops the rest.
+	 * @param list The updated list
+	 * @param count The size of the list before the pass
+	 * @param live The number of live entries moved to the front of the list
+	 */
+	public static <T> void compact(List<T> list, int count, int live) {
+		if (live == count) return;
+		for (int i = count; i < list.size(); i++)
+			list.set(live++, list.get(i));
+		for (int i = list.size()-1; i >= live; i--)
+			list.remove(i);
+	}
+}
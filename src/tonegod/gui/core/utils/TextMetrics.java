@@ -0,0 +1,219 @@
+package tonegod.gui.core.utils;
+
+import com.jme3.font.BitmapCharacter;
+import com.jme3.font.BitmapCharacterSet;
+import com.jme3.font.BitmapFont;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Measures text for a single BitmapFont directly from the advances and kernings of it's
+ * BitmapCharacterSet.  Nothing is attached to or created in the scene, so measuring a caption
+ * costs a walk over it's characters.
+ * 
+ * Unwrapped line widths of Strings are kept in a small LRU cache keyed on the font size and
+ * String.  Use TextMetrics.get(font) to obtain the shared instance for a font.  The shared
+ * instances and their caches are synchronized, so text may be measured by UIs built off the
+ * render thread.
+ */
+public class TextMetrics {
+	private static final Map<BitmapFont, TextMetrics> metrics = new WeakHashMap<BitmapFont, TextMetrics>();
+	private static final int CACHE_SIZE = 256;
+	
+	private final BitmapCharacterSet charSet;
+	private final WidthKey lookup = new WidthKey();
+	private final Map<WidthKey, Float> widths = new LinkedHashMap<WidthKey, Float>(CACHE_SIZE, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<WidthKey, Float> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
+	
+	/**
+	 * Returns the shared TextMetrics of the provided font
+	 * @param font BitmapFont
+	 * @return TextMetrics
+	 */
+	public static TextMetrics get(BitmapFont font) {
+		synchronized (metrics) {
+			TextMetrics ret = metrics.get(font);
+			if (ret == null) {
+				ret = new TextMetrics(font);
+				metrics.put(font, ret);
+			}
+			return ret;
+		}
+	}
+	
+	private TextMetrics(BitmapFont font) {
+		this.charSet = font.getCharSet();
+	}
+	
+	/**
+	 * Returns the height of a single line of text
+	 * @param size The font size
+	 * @return float
+	 */
+	public float getLineHeight(float size) {
+		return charSet.getLineHeight()*getScale(size);
+	}
+	
+	/**
+	 * Returns the width of the widest line of the provided text.  Lines are only broken at '\n'.
+	 * @param text String
+	 * @param size The font size
+	 * @return float
+	 */
+	public float getLineWidth(String text, float size) {
+		synchronized (widths) {
+			lookup.set(size, text);
+			Float width = widths.get(lookup);
+			if (width == null) {
+				width = getLineWidth(text, 0, text.length(), size);
+				widths.put(new WidthKey(size, text), width);
+			}
+			return width;
+		}
+	}
+	
+	/**
+	 * Returns the width of the widest line of the characters from start to end.  Lines are only
+	 * broken at '\n'.  The result is not cached.
+	 * @param text CharSequence
+	 * @param start int
+	 * @param end int
+	 * @param size The font size
+	 * @return float
+	 */
+	public float getLineWidth(CharSequence text, int start, int end, float size) {
+		float width = 0, lineWidth = 0;
+		BitmapCharacter prev = null;
+		for (int i = start; i < end; i++) {
+			char c = text.charAt(i);
+			if (c == '\n') {
+				if (lineWidth > width) width = lineWidth;
+				lineWidth = 0;
+				prev = null;
+				continue;
+			}
+			BitmapCharacter bc = charSet.getCharacter(c);
+			lineWidth += getAdvance(prev, bc, c);
+			prev = bc;
+		}
+		if (lineWidth > width) width = lineWidth;
+		return width*getScale(size);
+	}
+	
+	/**
+	 * Returns the index that ends the line starting at start when the text is word wrapped to
+	 * maxWidth.  The returned index is exclusive and never includes the '\n' or space the line
+	 * was broken at.  A maxWidth of 0 or less disables wrapping.
+	 * @param text CharSequence
+	 * @param start The index of the first character of the line
+	 * @param size The font size
+	 * @param maxWidth The maximum line width
+	 * @return int
+	 */
+	public int getLineEnd(CharSequence text, int start, float size, float maxWidth) {
+		int length = text.length();
+		float limit = (maxWidth > 0) ? maxWidth/getScale(size) : Float.MAX_VALUE;
+		float lineWidth = 0;
+		int lastSpace = -1;
+		BitmapCharacter prev = null;
+		for (int i = start; i < length; i++) {
+			char c = text.charAt(i);
+			if (c == '\n') return i;
+			BitmapCharacter bc = charSet.getCharacter(c);
+			lineWidth += getAdvance(prev, bc, c);
+			if (c == ' ') {
+				lastSpace = i;
+			} else if (lineWidth > limit && i > start) {
+				return (lastSpace > start) ? lastSpace : i;
+			}
+			prev = bc;
+		}
+		return length;
+	}
+	
+	/**
+	 * Returns the index of the first character of the line following the line that ends at end
+	 * @param text CharSequence
+	 * @param end An index returned by getLineEnd
+	 * @return int
+	 */
+	public int getNextLineStart(CharSequence text, int end) {
+		if (end < text.length() && (text.charAt(end) == '\n' || text.charAt(end) == ' '))
+			return end+1;
+		return end;
+	}
+	
+	/**
+	 * Returns the number of lines the provided text occupies when word wrapped to maxWidth
+	 * @param text CharSequence
+	 * @param size The font size
+	 * @param maxWidth The maximum line width.  0 or less disables wrapping.
+	 * @return int
+	 */
+	public int getLineCount(CharSequence text, float size, float maxWidth) {
+		int count = 1;
+		int start = 0, length = text.length();
+		while (true) {
+			int end = getLineEnd(text, start, size, maxWidth);
+			if (end >= length) break;
+			start = getNextLineStart(text, end);
+			count++;
+		}
+		return count;
+	}
+	
+	/**
+	 * Returns the total height of the provided text when word wrapped to maxWidth
+	 * @param text CharSequence
+	 * @param size The font size
+	 * @param maxWidth The maximum line width.  0 or less disables wrapping.
+	 * @return float
+	 */
+	public float getTotalHeight(CharSequence text, float size, float maxWidth) {
+		return getLineHeight(size)*getLineCount(text, size, maxWidth);
+	}
+	
+	private float getAdvance(BitmapCharacter prev, BitmapCharacter bc, char c) {
+		if (bc == null) return 0;
+		float advance = bc.getXAdvance();
+		if (prev != null) advance += prev.getKerning(c);
+		return advance;
+	}
+	
+	private float getScale(float size) {
+		return size/charSet.getRenderedSize();
+	}
+	
+	private static class WidthKey {
+		float size;
+		String text;
+		
+		WidthKey() {  }
+		
+		WidthKey(float size, String text) {
+			set(size, text);
+		}
+		
+		void set(float size, String text) {
+			this.size = size;
+			this.text = text;
+		}
+		
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof WidthKey)) return false;
+			WidthKey key = (WidthKey)o;
+			return key.size == size && key.text.equals(text);
+		}
+		
+		@Override
+		public int hashCode() {
+			return 31*Float.floatToIntBits(size)+text.hashCode();
+		}
+	}
+}
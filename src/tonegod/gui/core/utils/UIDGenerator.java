@@ -0,0 +1,15 @@
+package tonegod.gui.core.utils;
+
+/**
+ * Supplies the IDs handed out by UIDUtil.getUID() to Elements created without an explicit UID.
+ * Implementations must be safe to call from any thread and must never return the same ID twice.
+ * 
+ * @author t0neg0d
+ */
+public interface UIDGenerator {
+	/**
+	 * Returns a new unique ID
+	 * @return String
+	 */
+	public String nextUID();
+}
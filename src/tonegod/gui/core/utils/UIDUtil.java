@@ -5,13 +5,71 @@
 package tonegod.gui.core.utils;
 
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- *
+ * Generates the IDs of Elements created without an explicit UID.  By default IDs are a short
+ * prefix followed by a base 36 sequence number, which is lock-free and cheap enough to call for
+ * every Label, highlight and AnimLayer.  Call setGenerator to plug in a different scheme, e.g.
+ * RandomUIDGenerator if IDs must be unique across application runs.
+ * 
+ * Generated IDs are not checked against explicit UIDs.  An Element given an explicit UID of the
+ * form #&lt;base 36 number&gt; can collide with a generated one, so avoid that form or use a
+ * different prefix.
+ * 
  * @author t0neg0d
  */
 public class UIDUtil {
+	private static volatile UIDGenerator generator = new SequentialUIDGenerator("#");
+	
 	public static String getUID() {
-		return UUID.randomUUID().toString();
+		return generator.nextUID();
+	}
+	
+	/**
+	 * Sets the generator used by getUID()
+	 * @param generator The UIDGenerator to use
+	 */
+	public static void setGenerator(UIDGenerator generator) {
+		if (generator == null)
+			throw new IllegalArgumentException("generator cannot be null");
+		UIDUtil.generator = generator;
+	}
+	
+	/**
+	 * Returns the generator used by getUID()
+	 * @return UIDGenerator
+	 */
+	public static UIDGenerator getGenerator() {
+		return generator;
+	}
+	
+	/**
+	 * Hands out prefix + a base 36 counter.  The counter is shared by every Screen and SubScreen
+	 * so Elements can be moved between them without their IDs colliding.
+	 */
+	public static class SequentialUIDGenerator implements UIDGenerator {
+		private final AtomicLong counter = new AtomicLong();
+		private final String prefix;
+		
+		public SequentialUIDGenerator(String prefix) {
+			this.prefix = prefix;
+		}
+		
+		@Override
+		public String nextUID() {
+			return prefix.concat(Long.toString(counter.incrementAndGet(), 36));
+		}
+	}
+	
+	/**
+	 * Hands out random UUID strings.  This was the default behavior of getUID() in earlier
+	 * versions.
+	 */
+	public static class RandomUIDGenerator implements UIDGenerator {
+		@Override
+		public String nextUID() {
+			return UUID.randomUUID().toString();
+		}
 	}
 }
@@ -3,6 +3,7 @@ package tonegod.gui.core.utils;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
+import org.xml.sax.Attributes;
 
 /**
  *
@@ -28,4 +29,13 @@ public class XMLHelper {
 	public static String getNodeAttributeValue(Node node, String attributeName) {
 		return ((Element)node).getAttribute(attributeName);
 	}
+
+	/**
+	 * Returns the value of the attribute, or an empty String if the attribute is missing,
+	 * matching getNodeAttributeValue for streamed documents.
+	 */
+	public static String getAttributeValue(Attributes attributes, String attributeName) {
+		String value = attributes.getValue(attributeName);
+		return (value == null) ? "" : value;
+	}
 }
@@ -12,8 +12,12 @@ import com.jme3.scene.Spatial;
 import com.jme3.scene.control.Control;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import tonegod.gui.core.Element;
 import tonegod.gui.core.Screen;
+import tonegod.gui.core.utils.ListUtil;
 
 /**
  *
@@ -26,6 +30,7 @@ public class EffectManager implements Control {
 	private List<Effect> currentEffects = new ArrayList();
 	private List<EffectQueue> currentEffectQueues = new ArrayList();
 	private List<BatchEffect> currentBatchEffects = new ArrayList();
+	private Map<Element, Effect> currentPulseEffects = new IdentityHashMap();
 	
 	public EffectManager(Screen screen) {
 		this.screen = screen;
@@ -33,12 +38,12 @@ public class EffectManager implements Control {
 	
 	public void applyEffect(Effect effect) {
 		if (effect != null) {
-			for (Effect ef : currentEffects) {
-				if (effect.getElement().getUID().equals(ef.getElement().getUID())) {
-					if (ef.getEffectType() == Effect.EffectType.Pulse || ef.getEffectType() == Effect.EffectType.PulseColor)
-						ef.setIsActive(false);
-				}
-			}
+			// Only one pulse can run per Element, any new effect stops it
+			Effect pulse = currentPulseEffects.remove(effect.getElement());
+			if (pulse != null)
+				pulse.setIsActive(false);
+			if (isPulse(effect))
+				currentPulseEffects.put(effect.getElement(), effect);
 			currentEffects.add(effect);
 			if (effect.getAudioFile() != null) {
 				if (screen.getUseUIAudio())
@@ -58,36 +63,50 @@ public class EffectManager implements Control {
 		batch.startBatch();
 	}
 	
+	private boolean isPulse(Effect effect) {
+		return effect.getEffectType() == Effect.EffectType.Pulse || effect.getEffectType() == Effect.EffectType.PulseColor;
+	}
+	
+	/**
+	 * Updates every active effect, queue and batch and retires the inactive ones in the same pass.
+	 * Each list is compacted in place, anything applied while updating is kept and first updated
+	 * on the next frame.
+	 */
 	@Override
 	public void update(float tpf) {
-		try {
-			for (Effect effect : currentEffects) {
-				if (effect.getIsActive())
-					effect.update(tpf);
-				else {
-					currentEffects.remove(effect);
-					break;
-				}
+		int count = currentEffects.size(), live = 0;
+		for (int i = 0; i < count; i++) {
+			Effect effect = currentEffects.get(i);
+			if (effect.getIsActive()) {
+				effect.update(tpf);
+				currentEffects.set(live++, effect);
+			} else if (isPulse(effect) && currentPulseEffects.get(effect.getElement()) == effect) {
+				currentPulseEffects.remove(effect.getElement());
 			}
-		} catch (Exception ex) {
-			// Temporary error consumption for menu rebuild checkbox issue
 		}
-		for (EffectQueue queue : currentEffectQueues) {
-			if (queue.getIsActive())
+		ListUtil.compact(currentEffects, count, live);
+		
+		count = currentEffectQueues.size();
+		live = 0;
+		for (int i = 0; i < count; i++) {
+			EffectQueue queue = currentEffectQueues.get(i);
+			if (queue.getIsActive()) {
 				queue.update(tpf);
-			else {
-				currentEffectQueues.remove(queue);
-				break;
+				currentEffectQueues.set(live++, queue);
 			}
 		}
-		for (BatchEffect batch : currentBatchEffects) {
-			if (batch.getIsActive())
+		ListUtil.compact(currentEffectQueues, count, live);
+		
+		count = currentBatchEffects.size();
+		live = 0;
+		for (int i = 0; i < count; i++) {
+			BatchEffect batch = currentBatchEffects.get(i);
+			if (batch.getIsActive()) {
 				batch.update(tpf);
-			else {
-				currentBatchEffects.remove(batch);
-				break;
+				currentBatchEffects.set(live++, batch);
 			}
 		}
+		ListUtil.compact(currentBatchEffects, count, live);
 	}
 	
 	@Override
@@ -19,6 +19,7 @@ public abstract class TemporalAction implements Cloneable {
 	protected Transformable quad;
 	protected boolean forceJmeTransform = false;
 	protected boolean autoRestart = false;
+	private boolean active = false;
 	private int runCount = 0;
 	
 	public TemporalAction () {
@@ -36,6 +37,13 @@ public abstract class TemporalAction implements Cloneable {
 	public void setTransformable(Transformable quad) { this.quad = quad; }
 	public Transformable getTransformable() { return this.quad; }
 	
+	/**
+	 * Set by the owning Transformable while the action is in it's action list.  Used in place of
+	 * searching the list to find out if the action is still running.
+	 */
+	public void setIsActive(boolean active) { this.active = active; }
+	public boolean getIsActive() { return this.active; }
+	
 	public boolean act (float delta) {
 		if (complete) return true;
 		if (time == 0) begin();
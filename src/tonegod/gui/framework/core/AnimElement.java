@@ -9,6 +9,7 @@ import com.jme3.material.Material;
 import com.jme3.material.RenderState;
 import com.jme3.math.ColorRGBA;
 import com.jme3.math.Vector2f;
+import com.jme3.math.Vector3f;
 import com.jme3.math.Vector4f;
 import com.jme3.scene.Geometry;
 import com.jme3.scene.Node;
@@ -20,6 +21,7 @@ import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import tonegod.gui.core.utils.ListUtil;
 import tonegod.gui.framework.animation.TemporalAction;
 
 /**
@@ -47,6 +49,7 @@ public abstract class AnimElement extends Node implements Transformable {
 	protected Vector2f skew = new Vector2f(0,0);
 	protected ColorRGBA color = new ColorRGBA();
 	protected float rotation;
+	final Transform2D transform2D = new Transform2D();
 	protected Spatial spatial;
 	protected Material mat = null;
 	protected AssetManager am;
@@ -63,6 +66,7 @@ public abstract class AnimElement extends Node implements Transformable {
 	private float worldRotation = 0;
 	private Vector2f tempV = new Vector2f(),
 			tempV2 = new Vector2f();
+	private Vector3f tempV3 = new Vector3f();
 	private Vector4f clippingPosition = new Vector4f(-10000,-10000,10000,10000);
 	
 	public AnimElement(AssetManager am) {
@@ -168,11 +172,18 @@ public abstract class AnimElement extends Node implements Transformable {
 	}
 	
 	public QuadData addQuad(String quadKey, String regionKey, Vector2f position, Vector2f origin) {
+		return addQuad(quadKey, uvs.get(regionKey), position, origin);
+	}
+	
+	/**
+	 * Adds a quad using the provided TextureRegion directly, skipping the region key lookup
+	 */
+	public QuadData addQuad(String quadKey, TextureRegion region, Vector2f position, Vector2f origin) {
 		if (zOrder == -1)
 			zOrder = getPositionZ();
 		Vector2f pos = new Vector2f(position).subtract(origin);
 		
-		QuadData qd = new QuadData(this, quadKey, uvs.get(regionKey), pos.x, pos.y, uvs.get(regionKey).getRegionWidth(), uvs.get(regionKey).getRegionHeight(), origin);
+		QuadData qd = new QuadData(this, quadKey, region, pos.x, pos.y, region.getRegionWidth(), region.getRegionHeight(), origin);
 		quads.put(quadKey, qd);
 		qd.setPositionZ(zOrder);
 		zOrder += zOrderStepMinor;
@@ -187,6 +198,7 @@ public abstract class AnimElement extends Node implements Transformable {
 		
 		QuadData qd = new QuadData(this, quadKey, uvs.get(regionKey), pos.x, pos.y, uvs.get(regionKey).getRegionWidth(), uvs.get(regionKey).getRegionHeight(), origin);
 		qd.parent = quads.get(parentKey);
+		if (qd.parent != null) qd.parent.hasChildren = true;
 	//	qd.setPositionX(qd.getPositionX()-qd.parent.getPositionX());
 	//	qd.setPositionY(qd.getPositionY()-qd.parent.getPositionY());
 		qd.setPositionZ(zOrder);
@@ -206,6 +218,7 @@ public abstract class AnimElement extends Node implements Transformable {
 	public void setQuadParent(String key, String parentKey) {
 		QuadData qd = getQuads().get(key);
 		qd.parent = quads.get(parentKey);
+		if (qd.parent != null) qd.parent.hasChildren = true;
 		qd.setPositionX(qd.getPositionX()-qd.parent.getPositionX());
 		qd.setPositionY(qd.getPositionY()-qd.parent.getPositionY());
 	}
@@ -307,18 +320,21 @@ public abstract class AnimElement extends Node implements Transformable {
 	//	if (mesh.updateCol)
 	//		geom.updateModelBound();
 		
-		for (TemporalAction a : actions) {
+		int count = actions.size(), live = 0;
+		for (int i = 0; i < count; i++) {
+			TemporalAction a = actions.get(i);
 			a.act(tpf);
-			if (a.getTime() >= a.getDuration() && a.getAutoRestart()) {
-				a.restart();
-			}
-		}
-		for (TemporalAction a : actions) {
 			if (a.getTime() >= a.getDuration()) {
-				actions.remove(a);
-				break;
+				if (a.getAutoRestart()) {
+					a.restart();
+				} else {
+					a.setIsActive(false);
+					continue;
+				}
 			}
+			actions.set(live++, a);
 		}
+		ListUtil.compact(actions, count, live);
 		animElementUpdate(tpf);
 		
 		mesh.update(tpf);
@@ -590,11 +606,12 @@ public abstract class AnimElement extends Node implements Transformable {
 	@Override
 	public void addAction(TemporalAction action) {
 		action.setTransformable(this);
+		action.setIsActive(true);
 		actions.add(action);
 	}
 	@Override
 	public boolean getContainsAction(TemporalAction action) {
-		return actions.contains(action);
+		return action.getIsActive() && action.getTransformable() == this;
 	}
 	//</editor-fold>
 	
@@ -652,6 +669,33 @@ public abstract class AnimElement extends Node implements Transformable {
 		if (worldPosition.y+qd.getHeight() < clippingPosition.w) clippingPosition.w = worldPosition.y+qd.getHeight();
 	}
 	
+	/**
+	 * Returns the front-most quad under the provided screen coordinates without using mesh
+	 * collision data, or null if no quad contains the point.
+	 * 
+	 * @param x The screen x coordinate
+	 * @param y The screen y coordinate
+	 * @return QuadData or null
+	 */
+	public QuadData pickQuad(float x, float y) {
+		if (geom == null) return null;
+		tempV3.set(x,y,0);
+		geom.getWorldTransform().transformInverseVector(tempV3, tempV3);
+		return mesh.pickQuad(tempV3.x, tempV3.y);
+	}
+	
+	/**
+	 * Returns the screen space z of the provided quad
+	 * 
+	 * @param qd The QuadData
+	 * @return float
+	 */
+	public float getQuadWorldZ(QuadData qd) {
+		tempV3.set(0,0,qd.getPositionZ());
+		geom.getWorldTransform().transformVector(tempV3, tempV3);
+		return tempV3.z;
+	}
+	
 	public Vector2f getQuadWorldPosition(QuadData qd) {
 		setWorldTransforms(qd);
 		return worldPosition;
@@ -1,26 +1,31 @@
 package tonegod.gui.framework.core;
 
-import com.jme3.math.FastMath;
 import com.jme3.math.Vector2f;
 import com.jme3.scene.Mesh;
+import com.jme3.scene.Node;
 import com.jme3.scene.VertexBuffer;
+import com.jme3.scene.mesh.IndexBuffer;
 import com.jme3.util.BufferUtils;
+import java.nio.Buffer;
 import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
 import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  *
  * @author t0neg0d
  */
 public class AnimElementMesh extends Mesh {
+	public static final int DIRTY_POSITION = 1;
+	public static final int DIRTY_COLOR = 2;
+	public static final int DIRTY_TEXCOORDS = 4;
+	
 	AnimElement batch;
-	private int vCount = 0;
-	private int vIndex = 0;
 	public boolean init = false;
 	private Vector2f dim = new Vector2f(0,0);
 	private Vector2f skew = new Vector2f(0,0);
-	private Vector2f tempV = new Vector2f(0,0);
-	private Vector2f tempV2 = new Vector2f(0,0);
 	
 	public boolean buildPosition = true;
 	public boolean buildTexCoords = true;
@@ -28,17 +33,23 @@ public class AnimElementMesh extends Mesh {
 	public boolean buildIndices = true;
 	
 	private FloatBuffer vb;
-	private ShortBuffer ib;
+	private IndexBuffer ib;
 	private FloatBuffer tcb;
 	private FloatBuffer cb;
 	
-	float[] verts;
-	short[] indices;
-	
-	int bufferSetCount = 0;
-	
 	boolean updateCol = false;
 	
+	private List<QuadData> dirtyQuads = new ArrayList<>();
+	private List<QuadData> animatedQuads = new ArrayList<>();
+	private boolean buffersChanged = false;
+	private boolean positionChanged, colorChanged, texCoordsChanged;
+	private int positionStamp = 0;
+	private int parentStamp = 0;
+	private int transformPass = 0;
+	private int elementTransformPass = -1;
+	private final Transform2D elementTransform = new Transform2D();
+	private final Transform2D quadTransform = new Transform2D();
+	
 	public AnimElementMesh(AnimElement batch) {
 		this.batch = batch;
 	}
@@ -47,238 +58,339 @@ public class AnimElementMesh extends Mesh {
 		vb = BufferUtils.createFloatBuffer(batch.getQuads().size()*3*4);
 		cb = BufferUtils.createFloatBuffer(batch.getQuads().size()*4*4);
 		tcb = BufferUtils.createFloatBuffer(batch.getQuads().size()*2*4);
-		ib = BufferUtils.createShortBuffer(batch.getQuads().size()*6);
+		// Switches to 32 bit indices once the vertex count no longer fits an unsigned short
+		ib = IndexBuffer.createIndexBuffer(batch.getQuads().size()*4, batch.getQuads().size()*6);
+		for (QuadData qd : dirtyQuads) qd.dirty = 0;
+		dirtyQuads.clear();
+		for (QuadData qd : batch.getQuads().values()) qd.index = -1;
+		buffersChanged = true;
 		init = true;
 	}
 	
+	/**
+	 * Flags the provided quad's vertex data for rewriting on the next update
+	 * 
+	 * @param qd The changed QuadData
+	 * @param flags Any combination of DIRTY_POSITION, DIRTY_COLOR and DIRTY_TEXCOORDS
+	 */
+	public void markDirty(QuadData qd, int flags) {
+		if (qd.dirty == 0) dirtyQuads.add(qd);
+		qd.dirty |= flags;
+	}
+	
+	/**
+	 * Registers a quad with running actions so it is updated each frame
+	 * 
+	 * @param qd The QuadData
+	 */
+	public void addAnimatedQuad(QuadData qd) {
+		if (!qd.animated) {
+			qd.animated = true;
+			animatedQuads.add(qd);
+		}
+	}
+	
 	public void update(float tpf) {
 		if (init) {
 			updateCol = false;
-			vb.rewind();
-			if (buildColor) cb.rewind();
-			if (buildTexCoords) tcb.rewind();
-			if (buildIndices) ib.rewind();
 			updateMeshData(tpf);
 		}
 	}
 	
 	private void updateMeshData(float tpf) {
-		vIndex = 0;
-		vCount = 0;
+		transformPass++;
 		
-		for (QuadData qd : batch.getQuads().values()) {
+		for (int i = 0; i < animatedQuads.size(); i++) {
+			QuadData qd = animatedQuads.get(i);
 			qd.update(tpf);
-			addQuad(qd);
-			vIndex++;
+			if (qd.actions.isEmpty()) {
+				qd.animated = false;
+				animatedQuads.set(i, animatedQuads.get(animatedQuads.size()-1));
+				animatedQuads.remove(animatedQuads.size()-1);
+				i--;
+			}
 		}
 		
+		int stamp = getParentStamp();
+		if (stamp != parentStamp) {
+			parentStamp = stamp;
+			buildPosition = true;
+		}
+		
+		if (!buildPosition) {
+			for (QuadData qd : dirtyQuads) {
+				if (qd.hasChildren && (qd.dirty & DIRTY_POSITION) != 0) {
+					buildPosition = true;
+					break;
+				}
+			}
+		}
+		
+		if (buildPosition || buildColor || buildTexCoords || buildIndices || buffersChanged) {
+			int global = 0;
+			if (buildPosition) global |= DIRTY_POSITION;
+			if (buildColor) global |= DIRTY_COLOR;
+			if (buildTexCoords) global |= DIRTY_TEXCOORDS;
+			
+			int index = 0;
+			for (QuadData qd : batch.getQuads().values()) {
+				int flags = global | qd.dirty;
+				if (qd.index != index) {
+					qd.index = index;
+					flags = DIRTY_POSITION | DIRTY_COLOR | DIRTY_TEXCOORDS;
+				}
+				if (flags != 0) writeQuad(qd, flags);
+				if (buildIndices || buffersChanged) writeIndices(qd);
+				index++;
+			}
+			if (buildPosition) positionStamp++;
+		} else {
+			for (QuadData qd : dirtyQuads) {
+				if (qd.element == batch && qd.index >= 0) writeQuad(qd, qd.dirty);
+			}
+		}
+		
+		for (QuadData qd : dirtyQuads) qd.dirty = 0;
+		dirtyQuads.clear();
+		
 		setBuffers();
 	}
 	
-	private void addQuad(QuadData qd) {
-		qd.index = vIndex;
-                
-		dim.set(qd.getWidth(), qd.getHeight());
-		skew.set(qd.getSkew());
-
-		/** VERT 1 **/
-		applyTransforms(qd, -skew.x, -skew.y);
-		vb	.put(tempV.x)
-			.put(tempV.y)
-			.put(qd.getPositionZ());
-
-		/** VERT 2 **/
-		applyTransforms(qd, dim.x-skew.x, -skew.y);
-		vb	.put(tempV.x)
-			.put(tempV.y)
-			.put(qd.getPositionZ());
-
-		/** VERT 3 **/
-		applyTransforms(qd, skew.x, dim.y+skew.y);
-		vb	.put(tempV.x)
-			.put(tempV.y)
-			.put(qd.getPositionZ());
-
-		/** VERT 4 **/
-		applyTransforms(qd, dim.x+skew.x, dim.y+skew.y);
-		vb	.put(tempV.x)
-			.put(tempV.y)
-			.put(qd.getPositionZ());
-
-		if (buildColor) {
-			for (int i = 0; i < 4; i++) {
-				cb	.put(qd.getColorR())
-					.put(qd.getColorG())
-					.put(qd.getColorB())
-					.put(qd.getColorA());
-			}
+	/**
+	 * Returns a value that changes whenever an ancestor AnimElement rebuilt it's positions
+	 */
+	private int getParentStamp() {
+		int stamp = 0;
+		Node parent = batch.getParent();
+		while (parent instanceof AnimElement) {
+			stamp = stamp*31 + ((AnimElement)parent).mesh.positionStamp;
+			parent = parent.getParent();
 		}
-
-		if (buildTexCoords) {
-			tcb	.put(qd.getTextureRegion().getU()+qd.getTCOffsetX())
-				.put(qd.getTextureRegion().getV()+qd.getTCOffsetY());
-			tcb	.put(qd.getTextureRegion().getU2()+qd.getTCOffsetX())
-				.put(qd.getTextureRegion().getV()+qd.getTCOffsetY());
-			tcb	.put(qd.getTextureRegion().getU()+qd.getTCOffsetX())
-				.put(qd.getTextureRegion().getV2()+qd.getTCOffsetY());
-			tcb	.put(qd.getTextureRegion().getU2()+qd.getTCOffsetX())
-				.put(qd.getTextureRegion().getV2()+qd.getTCOffsetY());
+		return stamp;
+	}
+	
+	private void writeQuad(QuadData qd, int flags) {
+		if ((flags & DIRTY_POSITION) != 0) {
+			writePosition(qd);
+			positionChanged = true;
 		}
-
-		if (buildIndices) {
-			ib.put((short)(vCount+2));
-			ib.put((short)(vCount));
-			ib.put((short)(vCount+1));
-			ib.put((short)(vCount+1));
-			ib.put((short)(vCount+3));
-			ib.put((short)(vCount+2));
+		if ((flags & DIRTY_COLOR) != 0) {
+			writeColor(qd);
+			colorChanged = true;
 		}
-
-		vCount += 4;
-		/*
-		 * // Test for Samsung devices... slower than above
-		qd.index = vIndex;
-		
+		if ((flags & DIRTY_TEXCOORDS) != 0) {
+			writeTexCoords(qd);
+			texCoordsChanged = true;
+		}
+	}
+	
+	private void writePosition(QuadData qd) {
 		dim.set(qd.getWidth(), qd.getHeight());
 		skew.set(qd.getSkew());
 		
-		int index = qd.index * 12;
+		int index = qd.index*12;
+		Transform2D m = quadTransform.mult(getElementTransform(), getWorldTransform(qd));
 		
-		applyTransforms(qd, -skew.x, -skew.y);
-		vb.put(index,	tempV.x);
-		vb.put(index+1,	tempV.y);
+		/** VERT 1 **/
+		vb.put(index,	m.transformX(-skew.x, -skew.y));
+		vb.put(index+1,	m.transformY(-skew.x, -skew.y));
 		vb.put(index+2,	qd.getPositionZ());
-
-		applyTransforms(qd, dim.x-skew.x, -skew.y);
-		vb.put(index+3,	tempV.x);
-		vb.put(index+4,	tempV.y);
+		
+		/** VERT 2 **/
+		vb.put(index+3,	m.transformX(dim.x-skew.x, -skew.y));
+		vb.put(index+4,	m.transformY(dim.x-skew.x, -skew.y));
 		vb.put(index+5,	qd.getPositionZ());
-
-		applyTransforms(qd, skew.x, dim.y+skew.y);
-		vb.put(index+6,	tempV.x);
-		vb.put(index+7,	tempV.y);
+		
+		/** VERT 3 **/
+		vb.put(index+6,	m.transformX(skew.x, dim.y+skew.y));
+		vb.put(index+7,	m.transformY(skew.x, dim.y+skew.y));
 		vb.put(index+8,	qd.getPositionZ());
-
-		applyTransforms(qd, dim.x+skew.x, dim.y+skew.y);
-		vb.put(index+9,	tempV.x);
-		vb.put(index+10,tempV.y);
+		
+		/** VERT 4 **/
+		vb.put(index+9,	m.transformX(dim.x+skew.x, dim.y+skew.y));
+		vb.put(index+10,m.transformY(dim.x+skew.x, dim.y+skew.y));
 		vb.put(index+11,qd.getPositionZ());
+	}
+	
+	/**
+	 * Returns the transform of the quad relative to this AnimElement, composed with the
+	 * transforms of it's QuadData parents.  The result is cached per quad and only recomposed
+	 * when the quad's own transform or one of it's parents' changed.
+	 */
+	private Transform2D getWorldTransform(QuadData qd) {
+		if (qd.worldPass == transformPass) return qd.worldTransform2D;
+		qd.worldPass = transformPass;
 		
-		if (buildColor) {
-			index = qd.index*16;
-			int indexX = 0;
-			for (int i = 0; i < 4; i++) {
-				cb.put(index+indexX,	qd.getColorR());
-				cb.put(index+indexX+1,	qd.getColorG());
-				cb.put(index+indexX+2,	qd.getColorB());
-				cb.put(index+indexX+3,	qd.getColorA());
-				indexX += 4;
+		boolean changed = qd.transform2D.setLocal(qd.getPositionX(), qd.getPositionY(), qd.getOriginX(), qd.getOriginY(), qd.getScaleX(), qd.getScaleY(), qd.getRotation(), true);
+		if (qd.parent != null) {
+			Transform2D parentWorld = getWorldTransform(qd.parent);
+			if (changed || qd.parentWorldVersion != qd.parent.worldVersion) {
+				qd.worldTransform2D.mult(parentWorld, qd.transform2D);
+				qd.parentWorldVersion = qd.parent.worldVersion;
+				qd.worldVersion++;
 			}
+		} else if (changed || qd.parentWorldVersion != -1) {
+			qd.worldTransform2D.set(qd.transform2D);
+			qd.parentWorldVersion = -1;
+			qd.worldVersion++;
 		}
-		
-		if (buildTexCoords) {
-			index = qd.index*8;
-			tcb.put(index,	qd.getTextureRegion().getU()+qd.getTCOffsetX());
-			tcb.put(index+1,qd.getTextureRegion().getV()+qd.getTCOffsetY());
-			tcb.put(index+2,qd.getTextureRegion().getU2()+qd.getTCOffsetX());
-			tcb.put(index+3,qd.getTextureRegion().getV()+qd.getTCOffsetY());
-			tcb.put(index+4,qd.getTextureRegion().getU()+qd.getTCOffsetX());
-			tcb.put(index+5,qd.getTextureRegion().getV2()+qd.getTCOffsetY());
-			tcb.put(index+6,qd.getTextureRegion().getU2()+qd.getTCOffsetX());
-			tcb.put(index+7,qd.getTextureRegion().getV2()+qd.getTCOffsetY());
-		}
-		
-		if (buildIndices) {
-			index = qd.index*6;
-			ib.put(index,	(short)(vCount+2));
-			ib.put(index+1,	(short)(vCount));
-			ib.put(index+2,	(short)(vCount+1));
-			ib.put(index+3,	(short)(vCount+1));
-			ib.put(index+4,	(short)(vCount+3));
-			ib.put(index+5,	(short)(vCount+2));
-		}
-		
-		vCount += 4;
-		*/
+		return qd.worldTransform2D;
 	}
 	
-	private void applyTransforms(QuadData qd, float x,  float y) {
-		AnimElement a = batch;
-		QuadData p = qd.parent;
-		tempV.set(x,y);
-		tempV.subtractLocal(qd.getOrigin());
-		tempV.multLocal(tempV2.set(qd.getScaleX(), qd.getScaleY()));
-		tempV.set(rot(tempV, qd.getRotation()));
-		tempV.addLocal(qd.getOrigin());
-		tempV.addLocal(qd.getPositionX(),qd.getPositionY());
-		while (p != null) {
-			tempV.subtractLocal(p.getOriginX(), p.getOriginY());
-			tempV.multLocal(tempV2.set(p.getScaleX(), p.getScaleY()));
-			tempV.set(rot(tempV, p.getRotation()));
-			tempV.addLocal(p.getOriginX(), p.getOriginY());
-			tempV.addLocal(p.getPositionX(),p.getPositionY());
-			p = p.parent;
+	/**
+	 * Returns the composed transform of this AnimElement and it's AnimElement parents,
+	 * evaluated once per update.
+	 */
+	private Transform2D getElementTransform() {
+		if (elementTransformPass != transformPass) {
+			elementTransformPass = transformPass;
+			AnimElement a = batch;
+			while (a != null) {
+				a.transform2D.setLocal(a.getPositionX(), a.getPositionY(), a.getOriginX(), a.getOriginY(), a.getScaleX(), a.getScaleY(), a.getRotation(), false);
+				if (a == batch) elementTransform.set(a.transform2D);
+				else elementTransform.mult(a.transform2D, elementTransform);
+				if (a.getParent() instanceof AnimElement)
+					a = (AnimElement)a.getParent();
+				else
+					a = null;
+			}
 		}
-		while (a != null) {
-			tempV.subtractLocal(a.getOriginX(), a.getOriginY());
-			tempV.set(rot(tempV, a.getRotation()));
-			tempV.multLocal(tempV2.set(a.getScaleX(), a.getScaleY()));
-			tempV.addLocal(a.getOriginX(), a.getOriginY());
-			tempV.addLocal(a.getPositionX(),a.getPositionY());
-			if (a.getParent() instanceof AnimElement)
-				a = (AnimElement)a.getParent();
-			else
-				a = null;
+		return elementTransform;
+	}
+	
+	private void writeColor(QuadData qd) {
+		int index = qd.index*16;
+		for (int i = 0; i < 16; i += 4) {
+			cb.put(index+i,		qd.getColorR());
+			cb.put(index+i+1,	qd.getColorG());
+			cb.put(index+i+2,	qd.getColorB());
+			cb.put(index+i+3,	qd.getColorA());
 		}
 	}
 	
-	float cos, sin, x, y;
-	public Vector2f rot(Vector2f p, float angle) {
-		cos = FastMath.cos(angle*FastMath.DEG_TO_RAD);
-		sin = FastMath.sin(angle*FastMath.DEG_TO_RAD);
-		x = p.x*cos-p.y*sin;
-		y = p.x*sin+p.y*cos;
-		return p.set(x,y);
+	private void writeTexCoords(QuadData qd) {
+		int index = qd.index*8;
+		TextureRegion region = qd.getTextureRegion();
+		tcb.put(index,	region.getU()+qd.getTCOffsetX());
+		tcb.put(index+1,region.getV()+qd.getTCOffsetY());
+		tcb.put(index+2,region.getU2()+qd.getTCOffsetX());
+		tcb.put(index+3,region.getV()+qd.getTCOffsetY());
+		tcb.put(index+4,region.getU()+qd.getTCOffsetX());
+		tcb.put(index+5,region.getV2()+qd.getTCOffsetY());
+		tcb.put(index+6,region.getU2()+qd.getTCOffsetX());
+		tcb.put(index+7,region.getV2()+qd.getTCOffsetY());
+	}
+	
+	private void writeIndices(QuadData qd) {
+		int index = qd.index*6;
+		int vCount = qd.index*4;
+		ib.put(index,	vCount+2);
+		ib.put(index+1,	vCount);
+		ib.put(index+2,	vCount+1);
+		ib.put(index+3,	vCount+1);
+		ib.put(index+4,	vCount+3);
+		ib.put(index+5,	vCount+2);
 	}
 	
 	private void setBuffers() {
-		if (buildPosition) {
-			this.clearBuffer(VertexBuffer.Type.Position);
-			this.setBuffer(VertexBuffer.Type.Position, 3, vb);
-			buildPosition = false;
+		if (buffersChanged) {
+			replaceBuffer(VertexBuffer.Type.Position, 3, vb);
+			replaceBuffer(VertexBuffer.Type.Color, 4, cb);
+			replaceBuffer(VertexBuffer.Type.TexCoord, 2, tcb);
+			replaceBuffer(VertexBuffer.Type.Index, 3, ib.getBuffer());
+			updateCounts();
+			buffersChanged = false;
 			updateCol = true;
+		} else {
+			if (positionChanged) {
+				getBuffer(VertexBuffer.Type.Position).setUpdateNeeded();
+				updateCol = true;
+			}
+			if (colorChanged)
+				getBuffer(VertexBuffer.Type.Color).setUpdateNeeded();
+			if (texCoordsChanged)
+				getBuffer(VertexBuffer.Type.TexCoord).setUpdateNeeded();
+			if (buildIndices) {
+				getBuffer(VertexBuffer.Type.Index).setUpdateNeeded();
+				updateCol = true;
+			}
 		}
 		
-		if (buildColor) {
-			this.clearBuffer(VertexBuffer.Type.Color);
-			this.setBuffer(VertexBuffer.Type.Color, 4, cb);
-			buildColor = false;
-			updateCol = true;
-		}
+		buildPosition = false;
+		buildColor = false;
+		buildTexCoords = false;
+		buildIndices = false;
+		positionChanged = false;
+		colorChanged = false;
+		texCoordsChanged = false;
 		
-		if (buildTexCoords) {
-			this.clearBuffer(VertexBuffer.Type.TexCoord);
-			this.setBuffer(VertexBuffer.Type.TexCoord, 2, tcb);
-			buildTexCoords = false;
-			updateCol = true;
+		if (updateCol) {
+			clearCollisionData();
+			updateBound();
 		}
-			
-		if (buildIndices) {
-			this.clearBuffer(VertexBuffer.Type.Index);
-			this.setBuffer(VertexBuffer.Type.Index, 3, ib);
-			buildIndices = false;
-			updateCol = true;
+	}
+	
+	/**
+	 * Swaps the data of an existing VertexBuffer in place so the GPU buffer object is reused.  The
+	 * buffer is only recreated when the index format changes between 16 and 32 bit.
+	 */
+	private void replaceBuffer(VertexBuffer.Type type, int components, Buffer data) {
+		VertexBuffer.Format format;
+		if (data instanceof ShortBuffer) format = VertexBuffer.Format.UnsignedShort;
+		else if (data instanceof IntBuffer) format = VertexBuffer.Format.UnsignedInt;
+		else format = VertexBuffer.Format.Float;
+		
+		VertexBuffer buffer = getBuffer(type);
+		if (buffer != null && buffer.getFormat() == format) {
+			buffer.updateData(data);
+		} else {
+			if (buffer != null) clearBuffer(type);
+			setBuffer(type, components, format, data);
 		}
+	}
+	
+	/**
+	 * Returns the front-most quad containing the provided point, in mesh coordinates, by testing
+	 * the quad triangles directly against the vertex data.  Front-most matches the order mesh
+	 * collision results are reported in, the quad with the lowest z.
+	 * 
+	 * @param x The x coordinate
+	 * @param y The y coordinate
+	 * @return QuadData or null
+	 */
+	public QuadData pickQuad(float x, float y) {
+		if (!init) return null;
 		
-		if (updateCol) {
-			createCollisionData();
-			updateBound();
+		QuadData picked = null;
+		float pickedZ = Float.POSITIVE_INFINITY;
+		
+		for (QuadData qd : batch.getQuads().values()) {
+			if (qd.index < 0) continue;
+			int index = qd.index*12;
+			float z = vb.get(index+2);
+			if (z >= pickedZ) continue;
+			if (containsPoint(index+6, index, index+3, x, y) || containsPoint(index+3, index+9, index+6, x, y)) {
+				picked = qd;
+				pickedZ = z;
+			}
 		}
+		return picked;
+	}
+	
+	private boolean containsPoint(int v0, int v1, int v2, float x, float y) {
+		float x0 = vb.get(v0), y0 = vb.get(v0+1);
+		float x1 = vb.get(v1), y1 = vb.get(v1+1);
+		float x2 = vb.get(v2), y2 = vb.get(v2+1);
+		float area = (x1-x0)*(y2-y0)-(y1-y0)*(x2-x0);
+		if (area == 0) return false;
+		float s = ((x1-x0)*(y-y0)-(y1-y0)*(x-x0))/area;
+		float t = ((x-x0)*(y2-y0)-(y-y0)*(x2-x0))/area;
+		return s >= 0 && t >= 0 && s+t <= 1;
 	}
 	
 	protected void deallocateBuffers() {
 		BufferUtils.destroyDirectBuffer(vb);
-		BufferUtils.destroyDirectBuffer(ib);
+		BufferUtils.destroyDirectBuffer(ib.getBuffer());
 		BufferUtils.destroyDirectBuffer(tcb);
 		BufferUtils.destroyDirectBuffer(cb);
 	}
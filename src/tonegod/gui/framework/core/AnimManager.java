@@ -20,7 +20,6 @@ import tonegod.gui.framework.core.util.GameTimer;
 public class AnimManager extends AbstractControl {
 	private Screen screen;
 	private List<ActionItem> queue = new ArrayList();
-	private List<ActionItem> remove = new ArrayList();
 	private List<ActionItem> active = new ArrayList();
 	
 	private List<GameTimer> timers = new ArrayList();
@@ -58,7 +57,9 @@ public class AnimManager extends AbstractControl {
 	@Override
 	protected void controlUpdate(float tpf) {
 		time += tpf;
-		for (ActionItem item : queue) {
+		int live = 0;
+		for (int i = 0; i < queue.size(); i++) {
+			ActionItem item = queue.get(i);
 			if (time >= item.startTime) {
 				if (item.item != null) {
 					item.item.addAction(item.action);
@@ -66,24 +67,20 @@ public class AnimManager extends AbstractControl {
 						((QuadData)item.item).show();
 				}
 				active.add(item);
-				remove.add(item);
+			} else {
+				queue.set(live++, item);
 			}
 		}
-		if (!remove.isEmpty()) {
-			queue.removeAll(remove);
-			remove.clear();
-		}
-		if (!active.isEmpty()) {
-			for (ActionItem item : active) {
-				if (!item.item.getContainsAction(item.action)) {
-					remove.add(item);
-				}
+		truncate(queue, live);
+		
+		live = 0;
+		for (int i = 0; i < active.size(); i++) {
+			ActionItem item = active.get(i);
+			if (item.item != null && item.item.getContainsAction(item.action)) {
+				active.set(live++, item);
 			}
 		}
-		if (!remove.isEmpty()) {
-			active.removeAll(remove);
-			remove.clear();
-		}
+		truncate(active, live);
 		// GameTimers
 		for(GameTimer timer : timers) {
 			if (timer.isActive()) {
@@ -100,6 +97,11 @@ public class AnimManager extends AbstractControl {
 		}
 	}
 
+	private void truncate(List<ActionItem> items, int size) {
+		for (int i = items.size()-1; i >= size; i--)
+			items.remove(i);
+	}
+	
 	@Override
 	protected void controlRender(RenderManager rm, ViewPort vp) {  }
 	
@@ -22,7 +22,7 @@ import com.jme3.math.ColorRGBA;
 import com.jme3.math.Vector2f;
 import com.jme3.math.Vector4f;
 import com.jme3.texture.Texture;
-import java.util.LinkedList;
+import java.util.Arrays;
 
 /**
  *
@@ -37,15 +37,18 @@ public class AnimText extends AnimElement {
 		Italic,
 		Bold
 	}
-	private LinkedList<Tag> tags = new LinkedList();
+	private static volatile String[] quadKeys = new String[0];
+	private Tag[] tags = new Tag[4], nextTags = new Tag[4];
+	private int tagCount = 0, nextTagCount = 0;
 	protected BitmapFont font;
 	private String text;
 	private int imgHeight;
 	private boolean fadeIn = false;
 	private boolean fadeOut = false;
-	private char[] characters;
-	private Character c;
-	private QuadData[] letters;
+	private char[] characters = new char[16], nextCharacters = new char[16];
+	private int charCount = 0, nextCharCount = 0;
+	private QuadData[] letters = new QuadData[16];
+	private int letterCount = 0;
 	private QuadData[] lines;
 	private QuadData qd;
 	private QuadData line;
@@ -85,6 +88,14 @@ public class AnimText extends AnimElement {
 	float lineSize = 2;
 	float skewSize = 3;
 	
+	// Glyph runs
+	private float[] charX = new float[17];
+	private int[] charLetter = new int[17];
+	private TextureRegion[] glyphRegions = new TextureRegion[128];
+	private float builtSize = -1;
+	private boolean recolor = false;
+	private int wrappedChars = 0;
+	
 	// Temp vars
 	private Vector2f align = new Vector2f();
 	private Vector2f pos = new Vector2f();
@@ -127,37 +138,55 @@ public class AnimText extends AnimElement {
 	}
 	
 	public final void setText(String text) {
+		boolean hadLines = hasLines;
 		lineCount = 0;
 		hasLines = false;
 		lineDisplay.quads.clear();
 		lineDisplay.detachAllChildren();
 		
-		this.uvs.clear();
-		this.quads.clear();
+		tokenize(text);
+		int common = (size == builtSize && !hasLines && !hadLines && !recolor) ? getUnchangedLength() : 0;
+		
+		char[] swapChars = characters;
+		characters = nextCharacters;
+		nextCharacters = swapChars;
+		charCount = nextCharCount;
+		Tag[] swapTags = tags;
+		tags = nextTags;
+		nextTags = swapTags;
+		tagCount = nextTagCount;
+		
+		builtSize = size;
+		recolor = false;
+		if (wrappedChars > common) wrappedChars = common;
+		if (charX.length < charCount+1) {
+			charX = Arrays.copyOf(charX, (charCount+1)*2);
+			charLetter = Arrays.copyOf(charLetter, (charCount+1)*2);
+		}
+		
 		bcSpc = font.getCharSet().getCharacter('i');
-		lIndex = 0;
-		lineWidth = 0;
-		int textIndex = 0;
-		text = stripTags(text);
+		lIndex = charLetter[common];
+		lineWidth = charX[common];
 		
 		lineHeight = font.getCharSet().getLineHeight()*size;
 		
-		for (int i = 0; i < text.length(); i++) {
-			c = text.charAt(i);
-			bc = font.getCharSet().getCharacter(c.charValue());
+		for (int i = common; i < charCount; i++) {
+			char c = characters[i];
+			charX[i] = lineWidth;
+			charLetter[i] = lIndex;
+			bc = font.getCharSet().getCharacter(c);
 			
 			if (bc != null) {
 				if (c != ' ') {
-					tr = addTextureRegion(String.valueOf(c.hashCode()), bc.getX(), imgHeight-bc.getY()-bc.getHeight(), bc.getWidth(), bc.getHeight());
-					tr.flip(false, true);
+					tr = getGlyphRegion(c, bc);
 					align.set(bc.getWidth()*size/2, bc.getHeight()*size/2);
 					pos.set(lineWidth,font.getCharSet().getBase()-bc.getHeight()-bc.getYOffset()*size);
-					qd = addQuad(String.valueOf(lIndex), String.valueOf(c.hashCode()), pos, align);
-					qd.setDimensions(qd.getTextureRegion().getRegionWidth()*size,qd.getTextureRegion().getRegionHeight()*size);
+					qd = obtainLetter(lIndex, tr);
+					qd.setDimensions(tr.getRegionWidth()*size,tr.getRegionHeight()*size);
 					qd.setColor(fontColor);
-					qd.userIndex = lIndex;//textIndex;
+					qd.userIndex = lIndex;
 					if (hasLines) {
-						line = lineDisplay.addQuad(String.valueOf(lIndex), "trLine", pos, align);
+						line = lineDisplay.addQuad(getQuadKey(lIndex), "trLine", pos, align);
 						line.setDimensions(bc.getXAdvance()*size,(lineSize*size < 1) ? 1 : lineSize*size);
 						line.setColor(fontColor);
 					}
@@ -167,20 +196,24 @@ public class AnimText extends AnimElement {
 					lineWidth += bcSpc.getXAdvance()*size;
 				}
 			}
-			textIndex++;
 		}
+		charX[charCount] = lineWidth;
+		charLetter[charCount] = lIndex;
+		
+		boolean resized = lIndex != letterCount;
+		for (int i = lIndex; i < letterCount; i++) {
+			quads.remove(letters[i].key);
+			letters[i] = null;
+		}
+		letterCount = lIndex;
 		
 		setOrigin(getWidth()/2,getHeight()/2);
-		mesh.initialize();
+		if (resized) mesh.initialize();
 		mesh.update(0);
 		
 		mesh.updateBound();
 		
-		characters = text.toCharArray();
-		
-		letters = quads.values().toArray(new QuadData[0]);
-		
-		this.text = text;
+		this.text = new String(characters, 0, charCount);
 		
 		if (hasLines) {
 			lineDisplay.initialize();
@@ -198,39 +231,141 @@ public class AnimText extends AnimElement {
 		lines = lineDisplay.quads.values().toArray(new QuadData[0]);
 	}
 	
-	private String stripTags(String text) {
-		tags.clear();
-		int sIndex = 0, eIndex = 0;
+	/**
+	 * Splits the provided text into the next glyph run and tag array in a single pass.  Tags are
+	 * stored in the order they appear, so the tag array is sorted by index.
+	 */
+	private void tokenize(String text) {
+		int length = text.length();
+		if (nextCharacters.length < length)
+			nextCharacters = new char[length*2];
+		nextCharCount = 0;
+		nextTagCount = 0;
 		
-		sIndex = text.indexOf("<");
-		int lineIndex = 0;
-		while (sIndex > -1) {
-			eIndex = text.indexOf(">");
-			if (eIndex > -1) {
-				String tagName = text.substring(sIndex, eIndex+1);
-				TagType type = getTagType(tagName);
-				Tag tag = new Tag(sIndex,type);
-				if (tagName.indexOf("</") != -1)
-					tag.close = true;
-				switch(type) {
-					case Paragraph:
-						if (tagName.indexOf("align") != -1) {
-							tag.align = Align.valueOf(tagName.substring(tagName.indexOf("=")+1,tagName.indexOf(">")));
+		for (int i = 0; i < length; i++) {
+			char ch = text.charAt(i);
+			if (ch == '<') {
+				int eIndex = text.indexOf('>', i);
+				if (eIndex > -1) {
+					String tagName = text.substring(i, eIndex+1);
+					TagType type = getTagType(tagName);
+					if (type != null) {
+						Tag tag = obtainTag(nextCharCount, type);
+						if (tagName.indexOf("</") != -1)
+							tag.close = true;
+						switch(type) {
+							case Paragraph:
+								if (tagName.indexOf("align") != -1) {
+									tag.align = Align.valueOf(tagName.substring(tagName.indexOf("=")+1,tagName.indexOf(">")));
+								}
+								break;
+							case Underline:
+								hasLines = true;
+								break;
 						}
-						break;
-					case Underline:
-						hasLines = true;
-						break;
+						i = eIndex;
+						continue;
+					}
 				}
-				
-				tags.add(tag);
-				text = text.replaceFirst(tagName, "");
-			} else {
-				break;
 			}
-			sIndex = text.indexOf("<");
+			nextCharacters[nextCharCount++] = ch;
+		}
+	}
+	
+	private Tag obtainTag(int index, TagType type) {
+		if (nextTagCount == nextTags.length)
+			nextTags = Arrays.copyOf(nextTags, nextTags.length*2);
+		Tag tag = nextTags[nextTagCount];
+		if (tag == null) {
+			tag = new Tag(index, type);
+			nextTags[nextTagCount] = tag;
+		} else {
+			tag.index = index;
+			tag.type = type;
+			tag.align = null;
+			tag.close = false;
+		}
+		nextTagCount++;
+		return tag;
+	}
+	
+	/**
+	 * Returns the number of leading characters of the next glyph run whose quads and layout can
+	 * be kept from the current one.  Any tag change at or before that point invalidates the run.
+	 */
+	private int getUnchangedLength() {
+		int common = 0;
+		int max = Math.min(charCount, nextCharCount);
+		while (common < max && characters[common] == nextCharacters[common])
+			common++;
+		
+		for (int t = 0; t < tagCount || t < nextTagCount; t++) {
+			Tag tag = (t < tagCount) ? tags[t] : null;
+			Tag next = (t < nextTagCount) ? nextTags[t] : null;
+			if (tag != null && next != null && tag.index == next.index && tag.type == next.type && tag.close == next.close && tag.align == next.align) {
+				if (tag.index > common) break;
+				continue;
+			}
+			int index = Math.min((tag != null) ? tag.index : Integer.MAX_VALUE, (next != null) ? next.index : Integer.MAX_VALUE);
+			if (index <= common) return 0;
+			break;
+		}
+		return common;
+	}
+	
+	/**
+	 * Returns the glyph quad at the provided index, reusing the existing quad when there is one
+	 */
+	private QuadData obtainLetter(int index, TextureRegion region) {
+		if (index < letterCount) {
+			QuadData quad = letters[index];
+			if (quad.getTextureRegion() != region)
+				quad.setTextureRegion(region);
+			quad.setOrigin(align);
+			quad.setPosition(pos.x-align.x, pos.y-align.y);
+			quad.setSkew(0,0);
+			return quad;
+		}
+		if (index >= letters.length)
+			letters = Arrays.copyOf(letters, letters.length*2);
+		QuadData quad = addQuad(getQuadKey(index), region, pos, align);
+		letters[index] = quad;
+		return quad;
+	}
+	
+	private TextureRegion getGlyphRegion(char c, BitmapCharacter bc) {
+		if (c >= glyphRegions.length)
+			glyphRegions = Arrays.copyOf(glyphRegions, Math.max(c+1, glyphRegions.length*2));
+		TextureRegion region = glyphRegions[c];
+		if (region == null) {
+			region = addTextureRegion(String.valueOf((int)c), bc.getX(), imgHeight-bc.getY()-bc.getHeight(), bc.getWidth(), bc.getHeight());
+			region.flip(false, true);
+			glyphRegions[c] = region;
+		}
+		return region;
+	}
+	
+	private static String getQuadKey(int index) {
+		String[] keys = quadKeys;
+		if (index >= keys.length)
+			keys = growQuadKeys(index);
+		return keys[index];
+	}
+	
+	/**
+	 * Grows the shared key table.  The filled copy is only published after all keys are set, so
+	 * readers never see a partially filled table.
+	 */
+	private static synchronized String[] growQuadKeys(int index) {
+		String[] keys = quadKeys;
+		if (index >= keys.length) {
+			String[] grown = Arrays.copyOf(keys, Math.max(index+1, keys.length*2));
+			for (int i = keys.length; i < grown.length; i++)
+				grown[i] = String.valueOf(i);
+			quadKeys = grown;
+			keys = grown;
 		}
-		return text;
+		return keys;
 	}
 	
 	private TagType getTagType(String tagName) {
@@ -256,37 +391,49 @@ public class AnimText extends AnimElement {
 	public void setAlpha(float alpha) {
 		for (QuadData quad : quads.values())
 			quad.setColorA(alpha);
+		recolor = true;
 	}
 	
 	public void wrapTextNoWrap() {
-		int i = 0;
-		x = 0; y = -(font.getCharSet().getBase()/2)*size;
-		lnWidth = 0;
-		lIndex = 0;
+		// Left aligned runs without underlines resume after the glyphs setText kept in place
+		int start = (textAlign == Align.Left && !hasLines) ? wrappedChars : 0;
+		x = charX[start]; y = -(font.getCharSet().getBase()/2)*size;
+		lnWidth = x;
+		lIndex = charLetter[start];
 		bcSpc = font.getCharSet().getCharacter('i');
-		for (char c : characters) {
+		ul = false;
+		int tagIndex = 0;
+		for (; tagIndex < tagCount && tags[tagIndex].index < start; tagIndex++) {
+			Tag t = tags[tagIndex];
+			if (t.type == TagType.Italic && !t.close)
+				italicSIndex = charLetter[t.index];
+			else if (t.type == TagType.Underline)
+				ul = !t.close;
+		}
+		for (int i = start; i < charCount; i++) {
+			char c = characters[i];
 			bc = font.getCharSet().getCharacter(c);
 			
 			if (bc != null) {
-				for (Tag t : tags) {
-					if (t.index == i) {
-						switch (t.type) {
-							case Italic:
-								if (t.close) {
-									italicEIndex = lIndex;
-									formatItalic();
-								} else {
-									italicSIndex = lIndex;
-								}
-								break;
-							case Underline:
-								if (t.close) {
-									ul = false;
-								} else {
-									ul = true;
-								}
-								break;
-						}
+				for (; tagIndex < tagCount && tags[tagIndex].index <= i; tagIndex++) {
+					Tag t = tags[tagIndex];
+					if (t.index != i) continue;
+					switch (t.type) {
+						case Italic:
+							if (t.close) {
+								italicEIndex = lIndex;
+								formatItalic();
+							} else {
+								italicSIndex = lIndex;
+							}
+							break;
+						case Underline:
+							if (t.close) {
+								ul = false;
+							} else {
+								ul = true;
+							}
+							break;
 					}
 				}
 				if (c != ' ') {
@@ -324,7 +471,6 @@ public class AnimText extends AnimElement {
 					if (hasLines && ul) line.setWidth(line.getWidth()+(bcSpc.getXAdvance()*size));
 				}
 			}
-			i++;
 		}
 		
 		lineWidth = lnWidth;
@@ -339,8 +485,10 @@ public class AnimText extends AnimElement {
 		mesh.updateBound();
 		lineDisplay.update(0);
 		alignToBoundsV();
+		wrappedChars = (textAlign == Align.Left && !hasLines) ? charCount : 0;
 	}
 	public void wrapTextToCharacter(float width) {
+		wrappedChars = 0;
 		float scaled = width*getScale().x;
 		float diff = scaled-width;
 		width -= diff;
@@ -353,8 +501,8 @@ public class AnimText extends AnimElement {
 		int lIndex = 0;
 		int newLineCount = 0;
 		
-		for (char c : characters) {
-			c = text.charAt(i);
+		for (; i < charCount; i++) {
+			char c = characters[i];
 			bc = font.getCharSet().getCharacter(c);
 			
 			if (bc != null) {
@@ -393,7 +541,6 @@ public class AnimText extends AnimElement {
 				newLine = true;
 				newLineCount++;
 			}
-			i++;
 		}
 		
 		updateLineForAlignment(lineIndex, lIndex, lnWidth);
@@ -405,6 +552,7 @@ public class AnimText extends AnimElement {
 		alignToBoundsV();
 	}
 	public void wrapTextToWord(float width) {
+		wrappedChars = 0;
 		bcSpc = font.getCharSet().getCharacter('i');
 		wordSIndex = 0; wordEIndex = 0;
 		lineSIndex = 0; lineEIndex = 0;
@@ -412,39 +560,40 @@ public class AnimText extends AnimElement {
 		lnWidth = 0; wordWidth = 0;
 		lIndex = 0;
 		placeWord = false;
-		int i = 0;
 		lineIndex = 0;
+		int tagIndex = 0;
 		
-		for (char c : characters) {
+		for (int i = 0; i < charCount; i++) {
+			char c = characters[i];
 			bc = font.getCharSet().getCharacter(c);
 			
 			if (bc != null) {
 				wordEIndex = lIndex;
-				for (Tag t : tags) {
-					if (t.index == i) {
-						switch (t.type) {
-							case NewLine:
-								formatNewLine(width);
-								break;
-							case Paragraph:
-								formatParagraph(t,width);
-								break;
-							case Italic:
-								if (t.close) {
-									italicEIndex = lIndex;
-									formatItalic();
-								} else {
-									italicSIndex = lIndex;
-								}
-								break;
-							case Underline:
-								if (t.close) {
-									ul = false;
-								} else {
-									ul = true;
-								}
-								break;
-						}
+				for (; tagIndex < tagCount && tags[tagIndex].index <= i; tagIndex++) {
+					Tag t = tags[tagIndex];
+					if (t.index != i) continue;
+					switch (t.type) {
+						case NewLine:
+							formatNewLine(width);
+							break;
+						case Paragraph:
+							formatParagraph(t,width);
+							break;
+						case Italic:
+							if (t.close) {
+								italicEIndex = lIndex;
+								formatItalic();
+							} else {
+								italicSIndex = lIndex;
+							}
+							break;
+						case Underline:
+							if (t.close) {
+								ul = false;
+							} else {
+								ul = true;
+							}
+							break;
 					}
 				}
 				if (c == ' ') {
@@ -470,11 +619,11 @@ public class AnimText extends AnimElement {
 					x += bc.getXAdvance()*size;
 					wordWidth += bc.getXAdvance()*size;
 					
-					if (i+1 < text.length()) {
-						char ch = text.charAt(i+1);
+					if (i+1 < charCount) {
+						char ch = characters[i+1];
 						if (ch == ' ')
 							placeWord = true;
-					} else if (i+1 >= text.length()) {
+					} else if (i+1 >= charCount) {
 						placeWord = true;
 					}
 					if (placeWord) {
@@ -495,27 +644,26 @@ public class AnimText extends AnimElement {
 					lIndex++;
 				}
 			}
-			i++;
 		}
-		wordEIndex = letters.length-1;
-		for (Tag t : tags) {
-			if (t.index == i) {
-				switch (t.type) {
-					case NewLine:
-						formatNewLine(width);
-						break;
-					case Paragraph:
-						formatParagraph(t,width);
-						break;
-					case Italic:
-						if (t.close) {
-							italicEIndex = lIndex;
-							formatItalic();
-						} else {
-							italicSIndex = lIndex;
-						}
-						break;
-				}
+		wordEIndex = letterCount-1;
+		for (; tagIndex < tagCount; tagIndex++) {
+			Tag t = tags[tagIndex];
+			if (t.index != charCount) continue;
+			switch (t.type) {
+				case NewLine:
+					formatNewLine(width);
+					break;
+				case Paragraph:
+					formatParagraph(t,width);
+					break;
+				case Italic:
+					if (t.close) {
+						italicEIndex = lIndex;
+						formatItalic();
+					} else {
+						italicSIndex = lIndex;
+					}
+					break;
 			}
 		}
 		setOrigin(getWidth()/2,getHeight()/2);
@@ -605,7 +753,7 @@ public class AnimText extends AnimElement {
 		}
 	}
 	private void updateLineForAlignment(Align textAlign, int head, int tail, float width, float lnWidth) {
-		if (tail == letters.length-1) tail = letters.length;
+		if (tail == letterCount-1) tail = letterCount;
 		switch (textAlign) {
 			case Right:
 				for (int xi = head; xi < tail; xi++) {
@@ -658,6 +806,7 @@ public class AnimText extends AnimElement {
 	
 	public void setFontSize(float size) {
 		this.size = size/font.getPreferredSize();
+		wrappedChars = 0;
 		float tempScale = size/font.getPreferredSize();
 	//	setScale(
 	//		tempScale,
@@ -711,7 +860,7 @@ public class AnimText extends AnimElement {
 	}
 	
 	public QuadData getQuadDataAt(int index) {
-		return (QuadData)quads.values().toArray()[index];
+		return letters[index];
 	}
 	
 	public int length() {
@@ -840,6 +989,16 @@ public class AnimText extends AnimElement {
 		setTexture(bfTexture);
 		imgHeight = (int)bfTexture.getImage().getHeight();
 		
+		glyphRegions = new TextureRegion[128];
+		uvs.clear();
+		quads.clear();
+		Arrays.fill(letters, null);
+		letterCount = 0;
+		charCount = 0;
+		tagCount = 0;
+		wrappedChars = 0;
+		builtSize = -1;
+		
 		setText(".");
 		initialize();
 	}
@@ -847,6 +1006,7 @@ public class AnimText extends AnimElement {
 	public BitmapFont getFont() { return this.font; }
 	
 	public void setSubStringColor(String subString, ColorRGBA color, boolean allInstances, int... whichInstances) {
+		recolor = true;
 		String temp = text;
 		int lastIndex = 0;
 		int sIndex = 1;
@@ -8,6 +8,7 @@ import com.jme3.math.ColorRGBA;
 import com.jme3.math.Vector2f;
 import java.util.ArrayList;
 import java.util.List;
+import tonegod.gui.core.utils.ListUtil;
 import tonegod.gui.framework.animation.TemporalAction;
 
 /**
@@ -21,7 +22,15 @@ public class QuadData implements Transformable {
 	public String key;
 	private TextureRegion region;
 	public int userIndex;
-	public int index;
+	public int index = -1;
+	int dirty = 0;
+	boolean animated = false;
+	boolean hasChildren = false;
+	final Transform2D transform2D = new Transform2D();
+	final Transform2D worldTransform2D = new Transform2D();
+	int worldPass = -1;
+	int worldVersion = 0;
+	int parentWorldVersion = -1;
 	private Vector2f position = new Vector2f(0f,0f);
 	private Vector2f initPosition = new Vector2f(0f,0f);
 	private float z = 1;
@@ -52,7 +61,7 @@ public class QuadData implements Transformable {
 	
 	public void setTextureRegion(TextureRegion region) {
 		this.region = region;
-		element.mesh.buildTexCoords = true;
+		element.mesh.markDirty(this, AnimElementMesh.DIRTY_TEXCOORDS);
 	}
 	
 	public TextureRegion getTextureRegion() { return this.region; }
@@ -60,29 +69,34 @@ public class QuadData implements Transformable {
 	@Override
 	public void addAction(TemporalAction action) {
 		action.setTransformable(this);
+		action.setIsActive(true);
 		actions.add(action);
+		element.mesh.addAnimatedQuad(this);
 	}
 	
 	public void update(float tpf) {
-		for (TemporalAction a : actions) {
+		int count = actions.size(), live = 0;
+		for (int i = 0; i < count; i++) {
+			TemporalAction a = actions.get(i);
 			a.act(tpf);
-			if (a.getTime() >= a.getDuration() && a.getAutoRestart())
-				a.restart();
-		}
-		
-		for (TemporalAction a : actions) {
 			if (a.getTime() >= a.getDuration()) {
-				actions.remove(a);
-				break;
+				if (a.getAutoRestart()) {
+					a.restart();
+				} else {
+					a.setIsActive(false);
+					continue;
+				}
 			}
+			actions.set(live++, a);
 		}
+		ListUtil.compact(actions, count, live);
 	}
 	
 	public void hide() {
 		if (visible) {
 			initDimensions.set(dimensions);
 			dimensions.set(0f,0f);
-			element.mesh.buildPosition = true;
+			element.mesh.markDirty(this, AnimElementMesh.DIRTY_POSITION);
 			visible = false;
 		}
 	}
@@ -90,7 +104,7 @@ public class QuadData implements Transformable {
 	public void show() {
 		if (!visible) {
 			dimensions.set(initDimensions);
-			element.mesh.buildPosition = true;
+			element.mesh.markDirty(this, AnimElementMesh.DIRTY_POSITION);
 			visible = true;
 		}
 	}
@@ -102,128 +116,128 @@ public class QuadData implements Transformable {
 	@Override
 	public void setPositionX(float x) {
 		this.position.x = x;
-		element.mesh.buildPosition = true;
+		element.mesh.markDirty(this, AnimElementMesh.DIRTY_POSITION);
 	}
 
 	@Override
 	public void setPositionY(float y) {
 		this.position.y = y;
-		element.mesh.buildPosition = true;
+		element.mesh.markDirty(this, AnimElementMesh.DIRTY_POSITION);
 	}
 
 	@Override
 	public void setPositionZ(float z) {
 		this.z = z;
-		element.mesh.buildPosition = true;
+		element.mesh.markDirty(this, AnimElementMesh.DIRTY_POSITION);
 	}
 
 	@Override
 	public void setPosition(float x, float y) {
 		this.position.set(x,y);
-		element.mesh.buildPosition = true;
+		element.mesh.markDirty(this, AnimElementMesh.DIRTY_POSITION);
 	}
 
 	@Override
 	public void setPosition(Vector2f pos) {
 		this.position.set(pos);
-		element.mesh.buildPosition = true;
+		element.mesh.markDirty(this, AnimElementMesh.DIRTY_POSITION);
 	}
 
 	@Override
 	public void setRotation(float rotation) {
 		this.rotation = rotation;
-		element.mesh.buildPosition = true;
+		element.mesh.markDirty(this, AnimElementMesh.DIRTY_POSITION);
 	}
 
 	@Override
 	public void setScaleX(float scaleX) {
 		this.scale.x = scaleX;
-		element.mesh.buildPosition = true;
+		element.mesh.markDirty(this, AnimElementMesh.DIRTY_POSITION);
 	}
 
 	@Override
 	public void setScaleY(float scaleY) {
 		this.scale.y = scaleY;
-		element.mesh.buildPosition = true;
+		element.mesh.markDirty(this, AnimElementMesh.DIRTY_POSITION);
 	}
 
 	@Override
 	public void setScale(float x, float y) {
 		this.scale.set(x,y);
-		element.mesh.buildPosition = true;
+		element.mesh.markDirty(this, AnimElementMesh.DIRTY_POSITION);
 		
 	}
 
 	@Override
 	public void setScale(Vector2f scale) {
 		this.scale.set(scale);
-		element.mesh.buildPosition = true;
+		element.mesh.markDirty(this, AnimElementMesh.DIRTY_POSITION);
 	}
 
 	@Override
 	public void setOrigin(float x, float y) {
 		this.origin.set(x,y);
-		element.mesh.buildPosition = true;
+		element.mesh.markDirty(this, AnimElementMesh.DIRTY_POSITION);
 	}
 
 	@Override
 	public void setOrigin(Vector2f origin) {
 		this.origin.set(origin);
-		element.mesh.buildPosition = true;
+		element.mesh.markDirty(this, AnimElementMesh.DIRTY_POSITION);
 	}
 
 	@Override
 	public void setOriginX(float originX) {
 		this.origin.x = originX;
-		element.mesh.buildPosition = true;
+		element.mesh.markDirty(this, AnimElementMesh.DIRTY_POSITION);
 	}
 
 	@Override
 	public void setOriginY(float originY) {
 		this.origin.y = originY;
-		element.mesh.buildPosition = true;
+		element.mesh.markDirty(this, AnimElementMesh.DIRTY_POSITION);
 	}
 
 	@Override
 	public void setColor(ColorRGBA color) {
 		this.color.set(color);
-		element.mesh.buildColor = true;
+		element.mesh.markDirty(this, AnimElementMesh.DIRTY_COLOR);
 	}
 
 	@Override
 	public void setColorR(float r) {
 		this.color.r = r;
-		element.mesh.buildColor = true;
+		element.mesh.markDirty(this, AnimElementMesh.DIRTY_COLOR);
 	}
 
 	@Override
 	public void setColorG(float g) {
 		this.color.g = g;
-		element.mesh.buildColor = true;
+		element.mesh.markDirty(this, AnimElementMesh.DIRTY_COLOR);
 	}
 
 	@Override
 	public void setColorB(float b) {
 		this.color.b = b;
-		element.mesh.buildColor = true;
+		element.mesh.markDirty(this, AnimElementMesh.DIRTY_COLOR);
 	}
 
 	@Override
 	public void setColorA(float a) {
 		this.color.a = a;
-		element.mesh.buildColor = true;
+		element.mesh.markDirty(this, AnimElementMesh.DIRTY_COLOR);
 	}
 
 	@Override
 	public void setTCOffsetX(float x) {
 		this.tcOffset.x = x;
-		element.mesh.buildTexCoords = true;
+		element.mesh.markDirty(this, AnimElementMesh.DIRTY_TEXCOORDS);
 	}
 
 	@Override
 	public void setTCOffsetY(float y) {
 		this.tcOffset.y = y;
-		element.mesh.buildTexCoords = true;
+		element.mesh.markDirty(this, AnimElementMesh.DIRTY_TEXCOORDS);
 	}
 	@Override
 	public void setIgnoreMouse(boolean ignoreMouse) {
@@ -346,42 +360,42 @@ public class QuadData implements Transformable {
 	@Override
 	public void setDimensions(Vector2f dim) {
 		this.dimensions.set(dim);
-		element.mesh.buildPosition = true;
+		element.mesh.markDirty(this, AnimElementMesh.DIRTY_POSITION);
 	}
 	@Override
 	public void setDimensions(float w, float h) {
 		this.dimensions.set(w,h);
-		element.mesh.buildPosition = true;
+		element.mesh.markDirty(this, AnimElementMesh.DIRTY_POSITION);
 	}
 	@Override
 	public void setWidth(float w) {
 		this.dimensions.setX(w);
-		element.mesh.buildPosition = true;
+		element.mesh.markDirty(this, AnimElementMesh.DIRTY_POSITION);
 	}
 	@Override
 	public void setHeight(float h) {
 		this.dimensions.setY(h);
-		element.mesh.buildPosition = true;
+		element.mesh.markDirty(this, AnimElementMesh.DIRTY_POSITION);
 	}
 	@Override
 	public void setSkew(Vector2f skew) {
 		this.skew.set(skew);
-		element.mesh.buildPosition = true;
+		element.mesh.markDirty(this, AnimElementMesh.DIRTY_POSITION);
 	}
 	@Override
 	public void setSkew(float x, float y) {
 		this.skew.set(x,y);
-		element.mesh.buildPosition = true;
+		element.mesh.markDirty(this, AnimElementMesh.DIRTY_POSITION);
 	}
 	@Override
 	public void setSkewX(float x) {
 		this.skew.setX(x);
-		element.mesh.buildPosition = true;
+		element.mesh.markDirty(this, AnimElementMesh.DIRTY_POSITION);
 	}
 	@Override
 	public void setSkewY(float y) {
 		this.skew.setY(y);
-		element.mesh.buildPosition = true;
+		element.mesh.markDirty(this, AnimElementMesh.DIRTY_POSITION);
 	}
 	@Override
 	public Vector2f getSkew() {
@@ -406,7 +420,7 @@ public class QuadData implements Transformable {
 	
 	@Override
 	public boolean getContainsAction(TemporalAction action) {
-		return actions.contains(action);
+		return action.getIsActive() && action.getTransformable() == this;
 	}
 	
 	public void setBorders(Vector2f borders) {
@@ -0,0 +1,90 @@
+/*
+ * To change this template, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package tonegod.gui.framework.core;
+
+import com.jme3.math.FastMath;
+
+/**
+ * 2D affine matrix used to cache the local and composed transforms of QuadData and AnimElement.
+ * The rotation sin/cos pair is only recomputed when the rotation changes and the matrix itself
+ * only when one of the transform inputs changes.
+ * 
+ * @author t0neg0d
+ */
+public class Transform2D {
+	float m00 = 1, m01 = 0, m02 = 0;
+	float m10 = 0, m11 = 1, m12 = 0;
+	
+	private float x, y, originX, originY, scaleX = 1, scaleY = 1, rotation = 0;
+	private float cos = 1, sin = 0;
+	private boolean init = false;
+	
+	/**
+	 * Sets this matrix to translate(position + origin) * rotate * scale * translate(-origin), or
+	 * with scale and rotate swapped when scaleFirst is false.
+	 * 
+	 * @return true if the matrix changed
+	 */
+	public boolean setLocal(float x, float y, float originX, float originY, float scaleX, float scaleY, float rotation, boolean scaleFirst) {
+		if (init && this.x == x && this.y == y && this.originX == originX && this.originY == originY &&
+				this.scaleX == scaleX && this.scaleY == scaleY && this.rotation == rotation) {
+			return false;
+		}
+		
+		if (!init || this.rotation != rotation) {
+			cos = FastMath.cos(rotation*FastMath.DEG_TO_RAD);
+			sin = FastMath.sin(rotation*FastMath.DEG_TO_RAD);
+		}
+		
+		this.x = x;
+		this.y = y;
+		this.originX = originX;
+		this.originY = originY;
+		this.scaleX = scaleX;
+		this.scaleY = scaleY;
+		this.rotation = rotation;
+		init = true;
+		
+		if (scaleFirst) {
+			m00 = cos*scaleX;	m01 = -sin*scaleY;
+			m10 = sin*scaleX;	m11 = cos*scaleY;
+		} else {
+			m00 = scaleX*cos;	m01 = -scaleX*sin;
+			m10 = scaleY*sin;	m11 = scaleY*cos;
+		}
+		m02 = originX + x - (m00*originX + m01*originY);
+		m12 = originY + y - (m10*originX + m11*originY);
+		return true;
+	}
+	
+	public Transform2D set(Transform2D t) {
+		m00 = t.m00;	m01 = t.m01;	m02 = t.m02;
+		m10 = t.m10;	m11 = t.m11;	m12 = t.m12;
+		return this;
+	}
+	
+	/**
+	 * Stores a * b in this matrix.  Either argument may be this matrix.
+	 */
+	public Transform2D mult(Transform2D a, Transform2D b) {
+		float n00 = a.m00*b.m00 + a.m01*b.m10;
+		float n01 = a.m00*b.m01 + a.m01*b.m11;
+		float n02 = a.m00*b.m02 + a.m01*b.m12 + a.m02;
+		float n10 = a.m10*b.m00 + a.m11*b.m10;
+		float n11 = a.m10*b.m01 + a.m11*b.m11;
+		float n12 = a.m10*b.m02 + a.m11*b.m12 + a.m12;
+		m00 = n00;	m01 = n01;	m02 = n02;
+		m10 = n10;	m11 = n11;	m12 = n12;
+		return this;
+	}
+	
+	public float transformX(float x, float y) {
+		return m00*x + m01*y + m02;
+	}
+	
+	public float transformY(float x, float y) {
+		return m10*x + m11*y + m12;
+	}
+}
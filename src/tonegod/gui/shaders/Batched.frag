@@ -0,0 +1,27 @@
+#if defined(HAS_COLORMAP)
+	uniform sampler2D m_ColorMap;
+#endif
+
+uniform float m_GlobalAlpha;
+
+varying vec4 pos;
+varying vec2 texCoord1;
+varying vec4 clipping;
+varying vec4 vertColor;
+
+void main(){
+	if (pos.x < clipping.x || pos.x > clipping.z || 
+		pos.y < clipping.y || pos.y > clipping.w) {
+		discard;
+	}
+	
+	vec4 color = vertColor;
+	
+	#if defined(HAS_COLORMAP)
+		color *= texture2D(m_ColorMap, texCoord1);
+	#endif
+	
+	color.a *= m_GlobalAlpha;
+	
+    gl_FragColor = color;
+}
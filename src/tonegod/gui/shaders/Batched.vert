@@ -0,0 +1,20 @@
+uniform mat4 g_WorldViewProjectionMatrix;
+uniform mat4 g_WorldViewMatrix;
+attribute vec3 inPosition;
+attribute vec2 inTexCoord;
+attribute vec4 inTexCoord2;
+attribute vec4 inColor;
+
+varying vec4 pos;
+varying vec2 texCoord1;
+varying vec4 clipping;
+varying vec4 vertColor;
+
+void main(){
+    pos = g_WorldViewMatrix * vec4(inPosition, 1.0);
+	texCoord1 = inTexCoord;
+	clipping = inTexCoord2;
+	vertColor = inColor;
+
+    gl_Position = g_WorldViewProjectionMatrix * vec4(inPosition, 1.0);
+}
@@ -3,10 +3,8 @@
  * and open the template in the editor.
  */
 package tonegod.gui.style;
-
+        
 import com.jme3.app.state.AbstractAppState;
-import com.jme3.asset.AssetKey;
-import com.jme3.asset.AssetNotFoundException;
 import com.jme3.font.BitmapFont;
 import com.jme3.font.LineWrapMode;
 import com.jme3.input.event.MouseButtonEvent;
@@ -16,16 +14,15 @@ import com.jme3.math.Vector2f;
 import com.jme3.math.Vector3f;
 import com.jme3.math.Vector4f;
 import com.jme3.texture.Texture;
-import java.io.InputStream;
+import java.io.IOException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.Map;
 import java.util.StringTokenizer;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import org.w3c.dom.Document;
-import org.w3c.dom.NodeList;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
 import tonegod.gui.controls.buttons.Button;
 import tonegod.gui.controls.buttons.ButtonAdapter;
 import tonegod.gui.controls.buttons.CheckBox;
@@ -56,11 +53,11 @@ import tonegod.gui.controls.windows.TabControl;
 import tonegod.gui.controls.windows.Window;
 import tonegod.gui.core.Element;
 import tonegod.gui.core.Element.Orientation;
+import tonegod.gui.core.ElementManager;
 import tonegod.gui.core.Screen;
-import tonegod.gui.core.utils.UIDUtil;
 import tonegod.gui.core.utils.XMLHelper;
 import tonegod.gui.effects.Effect;
-
+        
 /**
  *
  * @author t0neg0d
@@ -69,1010 +66,623 @@ public class LayoutParser {
         Screen screen;
         AbstractAppState state;
         
-        List<Class> controls = new ArrayList();
+        private static final Map<String, LayoutPlan> plans = new HashMap();
+        private static final Map<String, LayoutPlan.ElementFactory> factories = createFactories();
         
         public LayoutParser(Screen screen) {
                 this.screen = screen;
-                
-                
-                controls.add(OSRViewPort.class);
-                controls.add(Indicator.class);
-                controls.add(Slider.class);
-                controls.add(Dial.class);
-                controls.add(CheckBox.class);
-                controls.add(RadioButton.class);
-                controls.add(Button.class);
-                controls.add(ChatBox.class);
-                controls.add(ChatBoxExt.class);
-                controls.add(Panel.class);
-                controls.add(ColorWheel.class);
-                controls.add(LoginBox.class);
-                controls.add(AlertBox.class);
-                controls.add(DialogBox.class);
-                controls.add(Window.class);
-                controls.add(TabControl.class);
-                controls.add(SelectBox.class);
-                controls.add(ComboBox.class);
-                controls.add(Menu.class);
-                controls.add(SelectList.class);
-                controls.add(ScrollArea.class);
-                controls.add(SlideTray.class);
-                controls.add(Spinner.class);
-                controls.add(Label.class);
-                controls.add(Password.class);
-                controls.add(TextField.class);
         }
         
+        /**
+         * Builds the layout for the provided state.  The layout document is compiled once per path
+         * and reused by every following call.
+         * @param filePath The asset path of the layout document
+         * @param state The state event methods are forwarded to
+         */
         public void parseLayout(String filePath, AbstractAppState state) {
-                this.state = state;
                 try {
-                        // Get Cursors
-						/*
-                        InputStream file = Screen.class.getClassLoader().getResourceAsStream(
-                                filePath
-                        );
-                        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-                        DocumentBuilder db = dbf.newDocumentBuilder();
-                        Document doc = db.parse(file);
-                        doc.getDocumentElement().normalize();
-						*/
-						Document doc = screen.getApplication().getAssetManager().loadAsset(new AssetKey<Document>(filePath));
-						if (doc == null) {
-							throw new AssetNotFoundException(String.format("Could not find style %s", filePath));
-						}
-                        NodeList screenNodeLst = doc.getElementsByTagName("screen");
-                        org.w3c.dom.Node screenNode = screenNodeLst.item(0);
-                        NodeList nodeLst = screenNode.getChildNodes();
-                        
-                        parseNodeList(nodeLst, null);
-                        
-                        doc = null;
+                        instantiate(getLayoutPlan(filePath), state);
                 } catch (Exception e) {
                         e.printStackTrace();
                 }
         }
         
-        private void parseNodeList(NodeList nodeLst, Element el) {
-                for (int s = 0; s < nodeLst.getLength(); s++) {
-                        org.w3c.dom.Node fstNode = nodeLst.item(s);
-                        if (fstNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                if (fstNode.getNodeName().equals("component")) {
-                                        String type, id, pos, dim, rsb, img, ori, flag;
-                                        type = XMLHelper.getNodeAttributeValue(fstNode, "type");
-                                        try { id = XMLHelper.getNodeAttributeValue(fstNode, "id"); } catch (NoSuchElementException ex) { id = UIDUtil.getUID(); }
-                                        try { pos = XMLHelper.getNodeAttributeValue(fstNode, "position"); } catch (NoSuchElementException ex) { pos = null; }
-                                        try { dim = XMLHelper.getNodeAttributeValue(fstNode, "dimensions"); } catch (NoSuchElementException ex) { dim = null; }
-                                        try { rsb = XMLHelper.getNodeAttributeValue(fstNode, "resizeBorders"); } catch (NoSuchElementException ex) {  rsb = null; }
-                                        try { img = XMLHelper.getNodeAttributeValue(fstNode, "defaultImg"); } catch (NoSuchElementException ex) { img = null; }
-                                        try { ori = XMLHelper.getNodeAttributeValue(fstNode, "orientation"); } catch (NoSuchElementException ex) { ori = null; }
-                                        try { flag = XMLHelper.getNodeAttributeValue(fstNode, "tracSurroundsThumb"); } catch (NoSuchElementException ex) { flag = null; }
-                                        if (flag == null) {
-                                                try { flag = XMLHelper.getNodeAttributeValue(fstNode, "isScrollable"); } catch (NoSuchElementException ex) { flag = null; }
-                                        }
-                                        if (flag == null) {
-                                                try { flag = XMLHelper.getNodeAttributeValue(fstNode, "cycle"); } catch (NoSuchElementException ex) { flag = null; }
-                                        }
-                                        
-                                        NodeList childNodes = fstNode.getChildNodes();
-                                        Element element = null;
-                                        Class cl = null;
-                                        
-                                        for (Class c : controls) {
-                                                if (c.getName().substring(c.getName().lastIndexOf(".")+1).equals(type)) {
-                                                        element = createElement(el, c, id, pos, dim, rsb, img, ori, flag, childNodes);
-                                                        cl = c;
-                                                        break;
-                                                }
-                                        }
-                                        
-                                        parseMethods(childNodes, element, cl);
-                                        parseNodeList(childNodes, element);
-                                        parseEffects(childNodes, element);
-                                        
-                                        if (el == null) screen.addElement(element);
-                                        else                    el.addChild(element);
-                                }
+        /**
+         * Returns the compiled layout for the provided path, compiling the layout document on first use
+         * @param filePath The asset path of the layout document
+         * @return LayoutPlan
+         */
+        public LayoutPlan getLayoutPlan(String filePath) {
+                synchronized (plans) {
+                        LayoutPlan plan = plans.get(filePath);
+                        if (plan == null) {
+                                plan = compileLayout(filePath);
+                                plans.put(filePath, plan);
                         }
+                        return plan;
                 }
         }
         
-        private void parseMethods(NodeList childNodes, Element el, Class c) {
-                for (int n = 0; n < childNodes.getLength(); n++) {
-                        org.w3c.dom.Node childNode = childNodes.item(n);
-                        if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                if (childNode.getNodeName().equals("method")) {
-                                        String name = XMLHelper.getNodeAttributeValue(childNode, "name");
-                                        parseParamters(el,c,name,childNode);
-                                }
-                        }
+        /**
+         * Removes all compiled layouts, forcing layout documents to be reloaded on next use
+         */
+        public static void clearLayoutPlans() {
+                synchronized (plans) {
+                        plans.clear();
                 }
         }
         
-        private void parseParamters(Element el, Class c, String name, org.w3c.dom.Node childNode) {
+        /**
+         * Parses the layout document and resolves all component types, methods and method parameters
+         * @param filePath The asset path of the layout document
+         * @return LayoutPlan
+         */
+        public LayoutPlan compileLayout(String filePath) {
+                final LayoutPlan plan = new LayoutPlan();
                 try {
-                        Method method = null;
-                        Class<?> clazz = c;
-                        while (method == null) {
-                                Method[] methods = clazz.getDeclaredMethods();
-                                for (Method m : methods) {
-                                        if (m.getName().equals(name)) {
-                                                method = m;
-                                                break;
-                                        }
-                                }
-                                clazz = clazz.getSuperclass();
-                                if (clazz == Object.class)
-                                        break;
+                        StyleLoader.parse(screen.getApplication().getAssetManager(), filePath, new DefaultHandler() {
+                                List<LayoutPlan.Component> stack = new ArrayList();
+                                boolean inScreen = false;
+                                
+                                @Override
+                                public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                                        if (qName.equals("screen")) {
+                                                inScreen = true;
+                                        } else if (!inScreen) {
+                                                return;
+                                        } else if (qName.equals("component")) {
+                                                LayoutPlan.Component comp = compileComponent(attributes);
+                                                if (stack.isEmpty()) plan.components.add(comp);
+                                                else                 stack.get(stack.size()-1).children.add(comp);
+                                                stack.add(comp);
+                                        } else if (!stack.isEmpty()) {
+                                                LayoutPlan.Component comp = stack.get(stack.size()-1);
+                                                if (qName.equals("method")) {
+                                                        compileMethod(comp, attributes);
+                                                } else if (qName.equals("eventMethod")) {
+                                                        comp.events.add(
+                                                                XMLHelper.getAttributeValue(attributes, "name"),
+                                                                XMLHelper.getAttributeValue(attributes, "stateMethodName")
+                                                        );
+                                                } else if (qName.equals("effect")) {
+                                                        comp.effects.add(compileEffect(attributes));
+                                                }
+                                        }
+                                }
+                                
+                                @Override
+                                public void endElement(String uri, String localName, String qName) {
+                                        if (qName.equals("screen")) {
+                                                inScreen = false;
+                                        } else if (inScreen && qName.equals("component")) {
+                                                stack.remove(stack.size()-1);
+                                        }
+                                }
+                        });
+                } catch (IOException ex) {
+                        throw new IllegalArgumentException(String.format("Could not parse layout %s", filePath), ex);
+                }
+                return plan;
+        }
+        
+        /**
+         * Builds the compiled layout for the provided state
+         * @param plan The compiled layout
+         * @param state The state event methods are forwarded to
+         */
+        public void instantiate(LayoutPlan plan, AbstractAppState state) {
+                this.state = state;
+                instantiateComponents(plan.components, null);
+        }
+        
+        private void instantiateComponents(List<LayoutPlan.Component> components, Element el) {
+                for (LayoutPlan.Component comp : components) {
+                        Element element = createElement(el, comp);
+                        
+                        for (LayoutPlan.MethodCall call : comp.methodCalls) {
+                                call.invoke(element, screen);
                         }
+                        instantiateComponents(comp.children, element);
+                        for (LayoutPlan.EffectDef def : comp.effects) {
+                                element.addEffect(createEffect(def));
+                        }
+                        
+                        if (el == null) screen.addElement(element);
+                        else            el.addChild(element);
+                }
+        }
+        
+        private LayoutPlan.Component compileComponent(Attributes attributes) {
+                LayoutPlan.Component comp = new LayoutPlan.Component();
+                String type = XMLHelper.getAttributeValue(attributes, "type");
+                comp.factory = factories.get(type);
+                if (comp.factory == null) {
+                        throw new IllegalArgumentException(String.format("Unknown component type %s", type));
+                }
+                comp.id = XMLHelper.getAttributeValue(attributes, "id");
+                comp.pos = XMLHelper.getAttributeValue(attributes, "position");
+                comp.dim = XMLHelper.getAttributeValue(attributes, "dimensions");
+                comp.rsb = XMLHelper.getAttributeValue(attributes, "resizeBorders");
+                comp.img = XMLHelper.getAttributeValue(attributes, "defaultImg");
+                comp.ori = XMLHelper.getAttributeValue(attributes, "orientation");
+                comp.flag = XMLHelper.getAttributeValue(attributes, "tracSurroundsThumb");
+                if (comp.flag.equals("")) comp.flag = XMLHelper.getAttributeValue(attributes, "isScrollable");
+                if (comp.flag.equals("")) comp.flag = XMLHelper.getAttributeValue(attributes, "cycle");
+                return comp;
+        }
+        
+        private void compileMethod(LayoutPlan.Component comp, Attributes attributes) {
+                String name = XMLHelper.getAttributeValue(attributes, "name");
+                try {
+                        Method method = LayoutPlan.findMethod(comp.factory.type, name);
                         if (method != null) {
-                                method.setAccessible(true);
+                                LayoutPlan.MethodCall call = new LayoutPlan.MethodCall(method);
                                 Class<?>[] params = method.getParameterTypes();
-                                Object[] finalParams = new Object[params.length];
-                                int index = 0;
-                                for (Class paramClass : params) {
+                                for (int index = 0; index < params.length; index++) {
+                                        Class paramClass = params[index];
+                                        String value = XMLHelper.getAttributeValue(attributes, "param" + index);
+                                        int kind = LayoutPlan.MethodCall.VALUE;
+                                        Object param = null;
                                         if (paramClass == Integer.class || paramClass == Integer.TYPE) {
-                                                finalParams[index] = Integer.parseInt(XMLHelper.getNodeAttributeValue(childNode, "param" + index));
+                                                param = Integer.parseInt(value);
                                         } else if (paramClass == Float.class || paramClass == Float.TYPE) {
-                                                finalParams[index] = Float.parseFloat(XMLHelper.getNodeAttributeValue(childNode, "param" + index));
+                                                param = Float.parseFloat(value);
                                         } else if (paramClass == String.class) {
-                                                finalParams[index] = XMLHelper.getNodeAttributeValue(childNode, "param" + index);
+                                                param = value;
                                         } else if (paramClass == Object.class) {
-                                                finalParams[index] = (Object)XMLHelper.getNodeAttributeValue(childNode, "param" + index);
+                                                param = (Object)value;
                                         } else if (paramClass == Boolean.class || paramClass == Boolean.TYPE) {
-                                                finalParams[index] = Boolean.parseBoolean(XMLHelper.getNodeAttributeValue(childNode, "param" + index));
+                                                param = Boolean.parseBoolean(value);
                                         } else if (paramClass == Menu.class) {
-                                                finalParams[index] = (Menu)screen.getElementById(XMLHelper.getNodeAttributeValue(childNode, "param" + index));
+                                                kind = LayoutPlan.MethodCall.ELEMENT_ID;
+                                                param = value;
                                         } else if (paramClass == BitmapFont.Align.class) {
-                                                finalParams[index] = BitmapFont.Align.valueOf(XMLHelper.getNodeAttributeValue(childNode, "param" + index));
+                                                param = BitmapFont.Align.valueOf(value);
                                         } else if (paramClass == BitmapFont.VAlign.class) {
-                                                finalParams[index] = BitmapFont.VAlign.valueOf(XMLHelper.getNodeAttributeValue(childNode, "param" + index));
+                                                param = BitmapFont.VAlign.valueOf(value);
                                         } else if (paramClass == LineWrapMode.class) {
-                                                finalParams[index] = LineWrapMode.valueOf(XMLHelper.getNodeAttributeValue(childNode, "param" + index));
+                                                param = LineWrapMode.valueOf(value);
                                         } else if (paramClass == TextField.Type.class) {
-                                                finalParams[index] = TextField.Type.valueOf(XMLHelper.getNodeAttributeValue(childNode, "param" + index));
+                                                param = TextField.Type.valueOf(value);
                                         } else if (paramClass == ColorRGBA.class) {
-                                                finalParams[index] = parseColorRGBA(XMLHelper.getNodeAttributeValue(childNode, "param" + index));
+                                                kind = LayoutPlan.MethodCall.CLONE;
+                                                param = parseColorRGBA(value);
                                         } else if (paramClass == Vector2f.class) {
-                                                finalParams[index] = parseVector2f(XMLHelper.getNodeAttributeValue(childNode, "param" + index));
+                                                kind = LayoutPlan.MethodCall.CLONE;
+                                                param = parseVector2f(value);
                                         } else if (paramClass == Vector3f.class) {
-                                                finalParams[index] = parseVector3f(XMLHelper.getNodeAttributeValue(childNode, "param" + index));
+                                                kind = LayoutPlan.MethodCall.CLONE;
+                                                param = parseVector3f(value);
                                         } else if (paramClass == Vector4f.class) {
-                                                finalParams[index] = parseVector4f(XMLHelper.getNodeAttributeValue(childNode, "param" + index));
+                                                kind = LayoutPlan.MethodCall.CLONE;
+                                                param = parseVector4f(value);
+                                        } else {
+                                                kind = LayoutPlan.MethodCall.NONE;
                                         }
-                                        index++;
+                                        call.kinds[index] = kind;
+                                        call.values[index] = param;
                                 }
-                                method.invoke(c.cast(el), finalParams);
+                                comp.methodCalls.add(call);
                         }
                 } catch (Exception ex) { ex.printStackTrace(); }
         }
         
-        public Method getMethod(Class<?> clazz, String name) {  
-                System.out.println(name + " : " + clazz.getName());
-                Method m = null;
-                try {
-                        m = clazz.getDeclaredMethod(name);
-                        System.out.println(m);
-                //      System.out.println("Hello:");
-                //      if (m == null)
-                //              m = getMethod(clazz.getSuperclass(), name);
-                //      else {
-                //              if (clazz == Object.class) {  
-                //                      return null;
-                //              } else {
-                //                      return getMethod(clazz.getSuperclass(), name);  
-                //              }
-                //      }
-                } catch (Exception e) { 
-                        try {
-                                m = getMethod(clazz.getSuperclass(), name);
-                        } catch (Exception ex) {  }
-                //      if (clazz != Object.class)
-                //              return getMethod(clazz.getSuperclass(), name);
-                }
-                return m;
-        //      Class<?> c = clazz.getSuperclass();
-        //      System.out.println(c);
-        //      return m;  
-    }
-        
-        private Element createElement(Element el, Class c, String id, String pos, String dim, String rsb, String img, String ori, String flag, final NodeList childNodes) {
+        private Element createElement(Element el, LayoutPlan.Component comp) {
+                LayoutPlan.ElementFactory factory = comp.factory;
                 Vector2f position, dimensions;
                 Vector4f resizeBorders;
-                String styleName = "";
-                String className = c.getName().substring(c.getName().lastIndexOf(".")+1);
-                styleName = className;
-                if (className.equals("ComboBox")) styleName = "TextField";
-                if (className.equals("TabControl") ||
-                        className.equals("LoginBox") ||
-                        className.equals("DialogBox") ||
-                        className.equals("AlertBox") ||
-                        className.equals("ChatBox") ||
-                        className.equals("ChatBoxExt") ||
-                        className.equals("OSRViewPort")) styleName = "Window";
-                position = parsePositionalVector2f(pos, el);
-                if (dim == null || dim.equals(""))      dimensions = screen.getStyle(styleName).getVector2f("defaultSize");
-                else                                                            dimensions = parsePositionalVector2f(dim, el);
-                if (className.equals("ColorWheel")) styleName = "Window";
-                if (rsb == null || rsb.equals(""))      try { resizeBorders = screen.getStyle(styleName).getVector4f("resizeBorders"); } catch (Exception e) { resizeBorders = Vector4f.ZERO; }
-                else                                                            resizeBorders = parseVector4f(rsb);
-                if (img == null || img.equals(""))      try { img = screen.getStyle(styleName).getString("defaultImg"); } catch (Exception e) { img = null; };
+                String img = comp.img;
+                position = parsePositionalVector2f(comp.pos, el);
+                if (comp.dim == null || comp.dim.equals(""))    dimensions = screen.getStyle(factory.styleName).getVector2f("defaultSize");
+                else                                                            dimensions = parsePositionalVector2f(comp.dim, el);
+                if (comp.rsb == null || comp.rsb.equals(""))    try { resizeBorders = screen.getStyle(factory.frameStyleName).getVector4f("resizeBorders"); } catch (Exception e) { resizeBorders = Vector4f.ZERO; }
+                else                                                            resizeBorders = parseVector4f(comp.rsb);
+                if (img == null || img.equals(""))      try { img = screen.getStyle(factory.frameStyleName).getString("defaultImg"); } catch (Exception e) { img = null; };
                 
-                if (className.equals("Label")) {
-                        return new Label(screen, id, position, dimensions, resizeBorders, img);
-                } else if (className.equals("OSRViewPort")) {
-                        return new OSRViewPort(screen, id, position, dimensions, resizeBorders, img);
-                } else if (className.equals("Spinner")) {
-                        Spinner.Orientation orientation = Spinner.Orientation.valueOf(ori);
-                        Boolean bool = Boolean.parseBoolean(flag);
-                        return new Spinner(screen, id, position, dimensions, resizeBorders, img, orientation, bool) {
-                                @Override
-                                public void onChange(int selectedIndex, String value) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onChange")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), selectedIndex, value);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                        };
-                } else if (className.equals("Slider")) {
-                        Slider.Orientation orientation = Slider.Orientation.valueOf(ori);
-                        Boolean bool = Boolean.parseBoolean(flag);
-                        return new Slider(screen, id, position, dimensions, resizeBorders, img, orientation, bool) {
-                                @Override
-                                public void onChange(int selectedIndex, Object value) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onChange")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), selectedIndex, value);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                        };
-                } else if (className.equals("Dial")) {
-                        return new Dial(screen, id, position, dimensions, resizeBorders, img) {
-                                @Override
-                                public void onChange(int selectedIndex, Object value) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onChange")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), selectedIndex, value);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                        };
-                } else if (className.equals("TextField")) {
-                        return new TextField(screen, id, position, dimensions, resizeBorders, img);
-                } else if (className.equals("Password")) {
-                        return new Password(screen, id, position, dimensions, resizeBorders, img);
-                } else if (className.equals("ColorWheel")) {
-                        return new ColorWheel(screen, id, position, dimensions, resizeBorders, img) {
-                                @Override
-                                public void onChange(ColorRGBA color) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onChange")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), color);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                                @Override
-                                public void onComplete(ColorRGBA color) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onComplete")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), color);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                        };
-                } else if (className.equals("Indicator")) {
-                        Indicator.Orientation orientation = Indicator.Orientation.valueOf(ori);
-                        return new Indicator(screen, id, position, dimensions, resizeBorders, img, orientation) {
-                                @Override
-                                public void onChange(float currentValue, float currentPercentage) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onChange")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), currentValue, currentPercentage);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                        };
-                } else if (className.equals("Window")) {
-                        return new Window(screen, id, position, dimensions, resizeBorders, img);
-                } else if (className.equals("SlideTray")) {
-                        SlideTray.Orientation orientation = SlideTray.Orientation.valueOf(ori);
-                        return new SlideTray(screen, id, position, dimensions, resizeBorders, img, orientation);
-                } else if (className.equals("Panel")) {
-                        return new Panel(screen, id, position, dimensions, resizeBorders, img);
-                } else if (className.equals("TabControl")) {
-                        return new TabControl(screen, id, position, dimensions, resizeBorders, img, Orientation.HORIZONTAL) {
-						@Override
-						public void onTabSelect(int index) {
-							for (int n = 0; n < childNodes.getLength(); n++) {
-								org.w3c.dom.Node childNode = childNodes.item(n);
-								if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-									if (childNode.getNodeName().equals("eventMethod")) {
-										if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onTabSelect")) {
-											try {
-												for (Method method : state.getClass().getDeclaredMethods()) {
-													if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-														method.invoke(state.getClass().cast(state), index);
-												}
-											} catch (Exception ex) { ex.printStackTrace(); }
-										}
-									}
-								}
-							}
-						}
-					};
-                } else if (className.equals("ChatBox")) {
-					return new ChatBox(screen, id, position, dimensions, resizeBorders, img) {
-						@Override
-						public void onSendMsg(String msg) {
-							for (int n = 0; n < childNodes.getLength(); n++) {
-								org.w3c.dom.Node childNode = childNodes.item(n);
-								if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-									if (childNode.getNodeName().equals("eventMethod")) {
-										if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onSendMsg")) {
-											try {
-												for (Method method : state.getClass().getDeclaredMethods()) {
-													if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-														method.invoke(state.getClass().cast(state), msg);
-												}
-											} catch (Exception ex) { ex.printStackTrace(); }
-										}
-									}
-								}
-							}
-						}
-					};
-                } else if (className.equals("ChatBoxExt")) {
-                        return new ChatBoxExt(screen, id, position, dimensions, resizeBorders, img) {
-                                @Override
-                                public void onSendMsg(Object command, String msg) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onSendMsg")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), command, msg);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                        };
-                } else if (className.equals("LoginBox")) {
-                        return new LoginBox(screen, id, position, dimensions, resizeBorders, img) {
-                                @Override
-                                public void onButtonCancelPressed(MouseButtonEvent evt, boolean toggled) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onButtonCancelPressed")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), evt, toggled);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                                @Override
-                                public void onButtonLoginPressed(MouseButtonEvent evt, boolean toggled) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onButtonLoginPressed")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), evt, toggled);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                        };
-                } else if (className.equals("AlertBox")) {
-                        return new AlertBox(screen, id, position, dimensions, resizeBorders, img) {
-                                @Override
-                                public void onButtonOkPressed(MouseButtonEvent evt, boolean toggled) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onButtonOkPressed")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), evt, toggled);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                        };
-                } else if (className.equals("DialogBox")) {
-                        return new DialogBox(screen, id, position, dimensions, resizeBorders, img) {
-                                @Override
-                                public void onButtonCancelPressed(MouseButtonEvent evt, boolean toggled) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onButtonCancelPressed")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), evt, toggled);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                                @Override
-                                public void onButtonOkPressed(MouseButtonEvent evt, boolean toggled) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onButtonOkPressed")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), evt, toggled);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                        };
-                } else if (className.equals("SelectBox")) {
-                        return new SelectBox(screen, id, position, dimensions, resizeBorders, img) {
-                                @Override
-                                public void onChange(int selectedIndex, Object value) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onChange")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), selectedIndex, value);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                        };
-                } else if (className.equals("ComboBox")) {
-                        return new ComboBox(screen, id, position, dimensions, resizeBorders, img) {
-                                @Override
-                                public void onChange(int selectedIndex, Object value) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onChange")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), selectedIndex, value);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                        };
-                } else if (className.equals("SelectList")) {
-                        return new SelectList(screen, id, position, dimensions, resizeBorders, img) {
-                                @Override
-                                public void onChange() {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onChange")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state));
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                        };
-                } else if (className.equals("Menu")) {
-                        Boolean bool = Boolean.parseBoolean(flag);
-                        return new Menu(screen, id, position, dimensions, resizeBorders, img, bool) {
-                                @Override
-                                public void onMenuItemClicked(int index, Object value, boolean isToggled) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onMenuItemClicked")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), index, value, isToggled);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                        };
-                } else if (className.equals("Button")) {
-                        return new ButtonAdapter(screen, id, position, dimensions, resizeBorders, img) {
-                                @Override
-                                public void onButtonMouseLeftDown(MouseButtonEvent evt, boolean isToggled) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onButtonMouseLeftDown")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), evt, isToggled);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                                @Override
-                                public void onButtonMouseLeftUp(MouseButtonEvent evt, boolean isToggled) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onButtonMouseLeftUp")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), evt, isToggled);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                                @Override
-                                public void onButtonMouseRightDown(MouseButtonEvent evt, boolean isToggled) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onButtonMouseRightDown")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), evt, isToggled);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                                @Override
-                                public void onButtonMouseRightUp(MouseButtonEvent evt, boolean isToggled) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onButtonMouseRightUp")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), evt, isToggled);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                                @Override
-                                public void onButtonFocus(MouseMotionEvent evt) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onButtonFocus")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), evt);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                                @Override
-                                public void onButtonLostFocus(MouseMotionEvent evt) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onButtonLostFocus")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), evt);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                        };
-                } else if (className.equals("CheckBox")) {
-                        return new CheckBox(screen, id, position, dimensions, resizeBorders, img) {
-                                @Override
-                                public void onButtonMouseLeftDown(MouseButtonEvent evt, boolean isToggled) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onButtonMouseLeftDown")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), evt, isToggled);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                                @Override
-                                public void onButtonMouseLeftUp(MouseButtonEvent evt, boolean isToggled) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onButtonMouseLeftUp")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), evt, isToggled);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                                @Override
-                                public void onButtonMouseRightDown(MouseButtonEvent evt, boolean isToggled) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onButtonMouseRightDown")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), evt, isToggled);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                                @Override
-                                public void onButtonMouseRightUp(MouseButtonEvent evt, boolean isToggled) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onButtonMouseRightUp")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), evt, isToggled);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                                @Override
-                                public void onButtonFocus(MouseMotionEvent evt) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onButtonFocus")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), evt);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                                @Override
-                                public void onButtonLostFocus(MouseMotionEvent evt) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onButtonLostFocus")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), evt);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                        };
-                } else if (className.equals("RadioButton")) {
-                        return new RadioButton(screen, id, position, dimensions, resizeBorders, img) {
-                                @Override
-                                public void onButtonMouseLeftDown(MouseButtonEvent evt, boolean isToggled) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onButtonMouseLeftDown")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), evt, isToggled);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                                @Override
-                                public void onButtonMouseLeftUp(MouseButtonEvent evt, boolean isToggled) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onButtonMouseLeftUp")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), evt, isToggled);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                                @Override
-                                public void onButtonMouseRightDown(MouseButtonEvent evt, boolean isToggled) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onButtonMouseRightDown")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), evt, isToggled);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                                @Override
-                                public void onButtonMouseRightUp(MouseButtonEvent evt, boolean isToggled) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onButtonMouseRightUp")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), evt, isToggled);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                                @Override
-                                public void onButtonFocus(MouseMotionEvent evt) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onButtonFocus")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), evt);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                                @Override
-                                public void onButtonLostFocus(MouseMotionEvent evt) {
-                                        for (int n = 0; n < childNodes.getLength(); n++) {
-                                                org.w3c.dom.Node childNode = childNodes.item(n);
-                                                if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                                        if (childNode.getNodeName().equals("eventMethod")) {
-                                                                if (XMLHelper.getNodeAttributeValue(childNode, "name").equals("onButtonLostFocus")) {
-                                                                        try {
-                                                                                for (Method method : state.getClass().getDeclaredMethods()) {
-                                                                                        if (method.getName().equals(XMLHelper.getNodeAttributeValue(childNode, "stateMethodName")))
-                                                                                                method.invoke(state.getClass().cast(state), evt);
-                                                                                }
-                                                                        } catch (Exception ex) { ex.printStackTrace(); }
-                                                                }
-                                                        }
-                                                }
-                                        }
-                                }
-                        };
-                } else if (className.equals("ScrollArea")) {
-                        return new ScrollAreaAdapter(screen, id, position, dimensions, resizeBorders, img);
-                } else
-                        return new Element(screen, id, position, dimensions, resizeBorders, img);
+                return factory.create(screen, comp, position, dimensions, resizeBorders, img, state);
         }
         
-        private void parseEffects(NodeList childNodes, Element el) {
-                for (int n = 0; n < childNodes.getLength(); n++) {
-                        org.w3c.dom.Node childNode = childNodes.item(n);
-                        if (childNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                                if (childNode.getNodeName().equals("effect")) {
-                                        Effect.EffectType type = Effect.EffectType.valueOf(XMLHelper.getNodeAttributeValue(childNode, "type"));
-                                        Effect.EffectEvent event = Effect.EffectEvent.valueOf(XMLHelper.getNodeAttributeValue(childNode, "event"));
-                                        float duration = Float.parseFloat(XMLHelper.getNodeAttributeValue(childNode, "duration"));
-                                        Effect effect = new Effect(type, event, duration);
-                                        switch(type) {
-                                                case ImageSwap:
-                                                case Pulse:
-                                                        String imagePath = XMLHelper.getNodeAttributeValue(childNode, "blendImage");
-                                                        Texture tex = screen.getApplication().getAssetManager().loadTexture(imagePath);
-                                                        tex.setMagFilter(Texture.MagFilter.Bilinear);
-                                                        tex.setMinFilter(Texture.MinFilter.BilinearNoMipMaps);
-                                                        tex.setWrap(Texture.WrapMode.Repeat);
-                                                        effect.setBlendImage(tex);
-                                                        break;
-                                                case ColorSwap:
-                                                case PulseColor:
-                                                        effect.setColor(parseColorRGBA(XMLHelper.getNodeAttributeValue(childNode, "color")));
-                                                        break;
-                                                case SlideIn:
-                                                case SlideOut:
-                                                        effect.setEffectDirection(Effect.EffectDirection.valueOf(XMLHelper.getNodeAttributeValue(childNode, "direction")));
-                                                        break;
-                                                case SlideTo:
-                                                        effect.setEffectDestination(parseVector2f(XMLHelper.getNodeAttributeValue(childNode, "destination")));
-                                                        break;
-                                        }
-                                        String audioFile = XMLHelper.getNodeAttributeValue(childNode, "audioFile");
-                                        if (!audioFile.equals("")) effect.setAudioFile(audioFile);
-                                        float audioVolume = 1;
-                                        try { audioVolume = Float.parseFloat(XMLHelper.getNodeAttributeValue(childNode, "volume")); } catch (Exception exa) { audioVolume = 1; }
-                                        effect.setAudioVolume(audioVolume);
-                                        
-                                        el.addEffect(effect);
-                                }
+        /**
+         * Registers the factory of each supported component type.  Events of the created controls are
+         * forwarded to the state methods listed in the layout.
+         */
+        private static Map<String, LayoutPlan.ElementFactory> createFactories() {
+                Map<String, LayoutPlan.ElementFactory> types = new HashMap();
+                types.put("Label", new LayoutPlan.ElementFactory(Label.class, "Label") {
+                        @Override
+                        Element create(ElementManager screen, LayoutPlan.Component comp, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String img, Object state) {
+                                return new Label(screen, comp.id, position, dimensions, resizeBorders, img);
+                        }
+                });
+                types.put("OSRViewPort", new LayoutPlan.ElementFactory(OSRViewPort.class, "Window") {
+                        @Override
+                        Element create(ElementManager screen, LayoutPlan.Component comp, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String img, Object state) {
+                                return new OSRViewPort(screen, comp.id, position, dimensions, resizeBorders, img);
+                        }
+                });
+                types.put("Spinner", new LayoutPlan.ElementFactory(Spinner.class, "Spinner") {
+                        @Override
+                        Element create(ElementManager screen, LayoutPlan.Component comp, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String img, final Object state) {
+                                final LayoutPlan.Events events = comp.events;
+                                Spinner.Orientation orientation = Spinner.Orientation.valueOf(comp.ori);
+                                Boolean bool = Boolean.parseBoolean(comp.flag);
+                                return new Spinner(screen, comp.id, position, dimensions, resizeBorders, img, orientation, bool) {
+                                        @Override
+                                        public void onChange(int selectedIndex, String value) {
+                                                events.fire(state, "onChange", selectedIndex, value);
+                                        }
+                                };
+                        }
+                });
+                types.put("Slider", new LayoutPlan.ElementFactory(Slider.class, "Slider") {
+                        @Override
+                        Element create(ElementManager screen, LayoutPlan.Component comp, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String img, final Object state) {
+                                final LayoutPlan.Events events = comp.events;
+                                Slider.Orientation orientation = Slider.Orientation.valueOf(comp.ori);
+                                Boolean bool = Boolean.parseBoolean(comp.flag);
+                                return new Slider(screen, comp.id, position, dimensions, resizeBorders, img, orientation, bool) {
+                                        @Override
+                                        public void onChange(int selectedIndex, Object value) {
+                                                events.fire(state, "onChange", selectedIndex, value);
+                                        }
+                                };
+                        }
+                });
+                types.put("Dial", new LayoutPlan.ElementFactory(Dial.class, "Dial") {
+                        @Override
+                        Element create(ElementManager screen, LayoutPlan.Component comp, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String img, final Object state) {
+                                final LayoutPlan.Events events = comp.events;
+                                return new Dial(screen, comp.id, position, dimensions, resizeBorders, img) {
+                                        @Override
+                                        public void onChange(int selectedIndex, Object value) {
+                                                events.fire(state, "onChange", selectedIndex, value);
+                                        }
+                                };
+                        }
+                });
+                types.put("TextField", new LayoutPlan.ElementFactory(TextField.class, "TextField") {
+                        @Override
+                        Element create(ElementManager screen, LayoutPlan.Component comp, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String img, Object state) {
+                                return new TextField(screen, comp.id, position, dimensions, resizeBorders, img);
+                        }
+                });
+                types.put("Password", new LayoutPlan.ElementFactory(Password.class, "Password") {
+                        @Override
+                        Element create(ElementManager screen, LayoutPlan.Component comp, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String img, Object state) {
+                                return new Password(screen, comp.id, position, dimensions, resizeBorders, img);
+                        }
+                });
+                types.put("ColorWheel", new LayoutPlan.ElementFactory(ColorWheel.class, "ColorWheel", "Window") {
+                        @Override
+                        Element create(ElementManager screen, LayoutPlan.Component comp, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String img, final Object state) {
+                                final LayoutPlan.Events events = comp.events;
+                                return new ColorWheel(screen, comp.id, position, dimensions, resizeBorders, img) {
+                                        @Override
+                                        public void onChange(ColorRGBA color) {
+                                                events.fire(state, "onChange", color);
+                                        }
+                                        @Override
+                                        public void onComplete(ColorRGBA color) {
+                                                events.fire(state, "onComplete", color);
+                                        }
+                                };
+                        }
+                });
+                types.put("Indicator", new LayoutPlan.ElementFactory(Indicator.class, "Indicator") {
+                        @Override
+                        Element create(ElementManager screen, LayoutPlan.Component comp, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String img, final Object state) {
+                                final LayoutPlan.Events events = comp.events;
+                                Indicator.Orientation orientation = Indicator.Orientation.valueOf(comp.ori);
+                                return new Indicator(screen, comp.id, position, dimensions, resizeBorders, img, orientation) {
+                                        @Override
+                                        public void onChange(float currentValue, float currentPercentage) {
+                                                events.fire(state, "onChange", currentValue, currentPercentage);
+                                        }
+                                };
+                        }
+                });
+                types.put("Window", new LayoutPlan.ElementFactory(Window.class, "Window") {
+                        @Override
+                        Element create(ElementManager screen, LayoutPlan.Component comp, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String img, Object state) {
+                                return new Window(screen, comp.id, position, dimensions, resizeBorders, img);
                         }
+                });
+                types.put("SlideTray", new LayoutPlan.ElementFactory(SlideTray.class, "SlideTray") {
+                        @Override
+                        Element create(ElementManager screen, LayoutPlan.Component comp, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String img, Object state) {
+                                SlideTray.Orientation orientation = SlideTray.Orientation.valueOf(comp.ori);
+                                return new SlideTray(screen, comp.id, position, dimensions, resizeBorders, img, orientation);
+                        }
+                });
+                types.put("Panel", new LayoutPlan.ElementFactory(Panel.class, "Panel") {
+                        @Override
+                        Element create(ElementManager screen, LayoutPlan.Component comp, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String img, Object state) {
+                                return new Panel(screen, comp.id, position, dimensions, resizeBorders, img);
+                        }
+                });
+                types.put("TabControl", new LayoutPlan.ElementFactory(TabControl.class, "Window") {
+                        @Override
+                        Element create(ElementManager screen, LayoutPlan.Component comp, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String img, final Object state) {
+                                final LayoutPlan.Events events = comp.events;
+                                return new TabControl(screen, comp.id, position, dimensions, resizeBorders, img, Orientation.HORIZONTAL) {
+                                        @Override
+                                        public void onTabSelect(int index) {
+                                                events.fire(state, "onTabSelect", index);
+                                        }
+                                };
+                        }
+                });
+                types.put("ChatBox", new LayoutPlan.ElementFactory(ChatBox.class, "Window") {
+                        @Override
+                        Element create(ElementManager screen, LayoutPlan.Component comp, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String img, final Object state) {
+                                final LayoutPlan.Events events = comp.events;
+                                return new ChatBox(screen, comp.id, position, dimensions, resizeBorders, img) {
+                                        @Override
+                                        public void onSendMsg(String msg) {
+                                                events.fire(state, "onSendMsg", msg);
+                                        }
+                                };
+                        }
+                });
+                types.put("ChatBoxExt", new LayoutPlan.ElementFactory(ChatBoxExt.class, "Window") {
+                        @Override
+                        Element create(ElementManager screen, LayoutPlan.Component comp, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String img, final Object state) {
+                                final LayoutPlan.Events events = comp.events;
+                                return new ChatBoxExt(screen, comp.id, position, dimensions, resizeBorders, img) {
+                                        @Override
+                                        public void onSendMsg(Object command, String msg) {
+                                                events.fire(state, "onSendMsg", command, msg);
+                                        }
+                                };
+                        }
+                });
+                types.put("LoginBox", new LayoutPlan.ElementFactory(LoginBox.class, "Window") {
+                        @Override
+                        Element create(ElementManager screen, LayoutPlan.Component comp, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String img, final Object state) {
+                                final LayoutPlan.Events events = comp.events;
+                                return new LoginBox(screen, comp.id, position, dimensions, resizeBorders, img) {
+                                        @Override
+                                        public void onButtonCancelPressed(MouseButtonEvent evt, boolean toggled) {
+                                                events.fire(state, "onButtonCancelPressed", evt, toggled);
+                                        }
+                                        @Override
+                                        public void onButtonLoginPressed(MouseButtonEvent evt, boolean toggled) {
+                                                events.fire(state, "onButtonLoginPressed", evt, toggled);
+                                        }
+                                };
+                        }
+                });
+                types.put("AlertBox", new LayoutPlan.ElementFactory(AlertBox.class, "Window") {
+                        @Override
+                        Element create(ElementManager screen, LayoutPlan.Component comp, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String img, final Object state) {
+                                final LayoutPlan.Events events = comp.events;
+                                return new AlertBox(screen, comp.id, position, dimensions, resizeBorders, img) {
+                                        @Override
+                                        public void onButtonOkPressed(MouseButtonEvent evt, boolean toggled) {
+                                                events.fire(state, "onButtonOkPressed", evt, toggled);
+                                        }
+                                };
+                        }
+                });
+                types.put("DialogBox", new LayoutPlan.ElementFactory(DialogBox.class, "Window") {
+                        @Override
+                        Element create(ElementManager screen, LayoutPlan.Component comp, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String img, final Object state) {
+                                final LayoutPlan.Events events = comp.events;
+                                return new DialogBox(screen, comp.id, position, dimensions, resizeBorders, img) {
+                                        @Override
+                                        public void onButtonCancelPressed(MouseButtonEvent evt, boolean toggled) {
+                                                events.fire(state, "onButtonCancelPressed", evt, toggled);
+                                        }
+                                        @Override
+                                        public void onButtonOkPressed(MouseButtonEvent evt, boolean toggled) {
+                                                events.fire(state, "onButtonOkPressed", evt, toggled);
+                                        }
+                                };
+                        }
+                });
+                types.put("SelectBox", new LayoutPlan.ElementFactory(SelectBox.class, "SelectBox") {
+                        @Override
+                        Element create(ElementManager screen, LayoutPlan.Component comp, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String img, final Object state) {
+                                final LayoutPlan.Events events = comp.events;
+                                return new SelectBox(screen, comp.id, position, dimensions, resizeBorders, img) {
+                                        @Override
+                                        public void onChange(int selectedIndex, Object value) {
+                                                events.fire(state, "onChange", selectedIndex, value);
+                                        }
+                                };
+                        }
+                });
+                types.put("ComboBox", new LayoutPlan.ElementFactory(ComboBox.class, "TextField") {
+                        @Override
+                        Element create(ElementManager screen, LayoutPlan.Component comp, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String img, final Object state) {
+                                final LayoutPlan.Events events = comp.events;
+                                return new ComboBox(screen, comp.id, position, dimensions, resizeBorders, img) {
+                                        @Override
+                                        public void onChange(int selectedIndex, Object value) {
+                                                events.fire(state, "onChange", selectedIndex, value);
+                                        }
+                                };
+                        }
+                });
+                types.put("SelectList", new LayoutPlan.ElementFactory(SelectList.class, "SelectList") {
+                        @Override
+                        Element create(ElementManager screen, LayoutPlan.Component comp, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String img, final Object state) {
+                                final LayoutPlan.Events events = comp.events;
+                                return new SelectList(screen, comp.id, position, dimensions, resizeBorders, img) {
+                                        @Override
+                                        public void onChange() {
+                                                events.fire(state, "onChange");
+                                        }
+                                };
+                        }
+                });
+                types.put("Menu", new LayoutPlan.ElementFactory(Menu.class, "Menu") {
+                        @Override
+                        Element create(ElementManager screen, LayoutPlan.Component comp, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String img, final Object state) {
+                                final LayoutPlan.Events events = comp.events;
+                                Boolean bool = Boolean.parseBoolean(comp.flag);
+                                return new Menu(screen, comp.id, position, dimensions, resizeBorders, img, bool) {
+                                        @Override
+                                        public void onMenuItemClicked(int index, Object value, boolean isToggled) {
+                                                events.fire(state, "onMenuItemClicked", index, value, isToggled);
+                                        }
+                                };
+                        }
+                });
+                types.put("Button", new LayoutPlan.ElementFactory(Button.class, "Button") {
+                        @Override
+                        Element create(ElementManager screen, LayoutPlan.Component comp, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String img, final Object state) {
+                                final LayoutPlan.Events events = comp.events;
+                                return new ButtonAdapter(screen, comp.id, position, dimensions, resizeBorders, img) {
+                                        @Override
+                                        public void onButtonMouseLeftDown(MouseButtonEvent evt, boolean isToggled) {
+                                                events.fire(state, "onButtonMouseLeftDown", evt, isToggled);
+                                        }
+                                        @Override
+                                        public void onButtonMouseLeftUp(MouseButtonEvent evt, boolean isToggled) {
+                                                events.fire(state, "onButtonMouseLeftUp", evt, isToggled);
+                                        }
+                                        @Override
+                                        public void onButtonMouseRightDown(MouseButtonEvent evt, boolean isToggled) {
+                                                events.fire(state, "onButtonMouseRightDown", evt, isToggled);
+                                        }
+                                        @Override
+                                        public void onButtonMouseRightUp(MouseButtonEvent evt, boolean isToggled) {
+                                                events.fire(state, "onButtonMouseRightUp", evt, isToggled);
+                                        }
+                                        @Override
+                                        public void onButtonFocus(MouseMotionEvent evt) {
+                                                events.fire(state, "onButtonFocus", evt);
+                                        }
+                                        @Override
+                                        public void onButtonLostFocus(MouseMotionEvent evt) {
+                                                events.fire(state, "onButtonLostFocus", evt);
+                                        }
+                                };
+                        }
+                });
+                types.put("CheckBox", new LayoutPlan.ElementFactory(CheckBox.class, "CheckBox") {
+                        @Override
+                        Element create(ElementManager screen, LayoutPlan.Component comp, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String img, final Object state) {
+                                final LayoutPlan.Events events = comp.events;
+                                return new CheckBox(screen, comp.id, position, dimensions, resizeBorders, img) {
+                                        @Override
+                                        public void onButtonMouseLeftDown(MouseButtonEvent evt, boolean isToggled) {
+                                                events.fire(state, "onButtonMouseLeftDown", evt, isToggled);
+                                        }
+                                        @Override
+                                        public void onButtonMouseLeftUp(MouseButtonEvent evt, boolean isToggled) {
+                                                events.fire(state, "onButtonMouseLeftUp", evt, isToggled);
+                                        }
+                                        @Override
+                                        public void onButtonMouseRightDown(MouseButtonEvent evt, boolean isToggled) {
+                                                events.fire(state, "onButtonMouseRightDown", evt, isToggled);
+                                        }
+                                        @Override
+                                        public void onButtonMouseRightUp(MouseButtonEvent evt, boolean isToggled) {
+                                                events.fire(state, "onButtonMouseRightUp", evt, isToggled);
+                                        }
+                                        @Override
+                                        public void onButtonFocus(MouseMotionEvent evt) {
+                                                events.fire(state, "onButtonFocus", evt);
+                                        }
+                                        @Override
+                                        public void onButtonLostFocus(MouseMotionEvent evt) {
+                                                events.fire(state, "onButtonLostFocus", evt);
+                                        }
+                                };
+                        }
+                });
+                types.put("RadioButton", new LayoutPlan.ElementFactory(RadioButton.class, "RadioButton") {
+                        @Override
+                        Element create(ElementManager screen, LayoutPlan.Component comp, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String img, final Object state) {
+                                final LayoutPlan.Events events = comp.events;
+                                return new RadioButton(screen, comp.id, position, dimensions, resizeBorders, img) {
+                                        @Override
+                                        public void onButtonMouseLeftDown(MouseButtonEvent evt, boolean isToggled) {
+                                                events.fire(state, "onButtonMouseLeftDown", evt, isToggled);
+                                        }
+                                        @Override
+                                        public void onButtonMouseLeftUp(MouseButtonEvent evt, boolean isToggled) {
+                                                events.fire(state, "onButtonMouseLeftUp", evt, isToggled);
+                                        }
+                                        @Override
+                                        public void onButtonMouseRightDown(MouseButtonEvent evt, boolean isToggled) {
+                                                events.fire(state, "onButtonMouseRightDown", evt, isToggled);
+                                        }
+                                        @Override
+                                        public void onButtonMouseRightUp(MouseButtonEvent evt, boolean isToggled) {
+                                                events.fire(state, "onButtonMouseRightUp", evt, isToggled);
+                                        }
+                                        @Override
+                                        public void onButtonFocus(MouseMotionEvent evt) {
+                                                events.fire(state, "onButtonFocus", evt);
+                                        }
+                                        @Override
+                                        public void onButtonLostFocus(MouseMotionEvent evt) {
+                                                events.fire(state, "onButtonLostFocus", evt);
+                                        }
+                                };
+                        }
+                });
+                types.put("ScrollArea", new LayoutPlan.ElementFactory(ScrollArea.class, "ScrollArea") {
+                        @Override
+                        Element create(ElementManager screen, LayoutPlan.Component comp, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String img, Object state) {
+                                return new ScrollAreaAdapter(screen, comp.id, position, dimensions, resizeBorders, img);
+                        }
+                });
+                return types;
+        }
+        
+        private LayoutPlan.EffectDef compileEffect(Attributes attributes) {
+                LayoutPlan.EffectDef def = new LayoutPlan.EffectDef();
+                def.type = Effect.EffectType.valueOf(XMLHelper.getAttributeValue(attributes, "type"));
+                def.event = Effect.EffectEvent.valueOf(XMLHelper.getAttributeValue(attributes, "event"));
+                def.duration = Float.parseFloat(XMLHelper.getAttributeValue(attributes, "duration"));
+                switch(def.type) {
+                        case ImageSwap:
+                        case Pulse:
+                                def.blendImage = XMLHelper.getAttributeValue(attributes, "blendImage");
+                                break;
+                        case ColorSwap:
+                        case PulseColor:
+                                def.color = parseColorRGBA(XMLHelper.getAttributeValue(attributes, "color"));
+                                break;
+                        case SlideIn:
+                        case SlideOut:
+                                def.direction = Effect.EffectDirection.valueOf(XMLHelper.getAttributeValue(attributes, "direction"));
+                                break;
+                        case SlideTo:
+                                def.destination = parseVector2f(XMLHelper.getAttributeValue(attributes, "destination"));
+                                break;
                 }
+                String audioFile = XMLHelper.getAttributeValue(attributes, "audioFile");
+                if (!audioFile.equals("")) def.audioFile = audioFile;
+                try { def.audioVolume = Float.parseFloat(XMLHelper.getAttributeValue(attributes, "volume")); } catch (Exception exa) { def.audioVolume = 1; }
+                return def;
+        }
+        
+        private Effect createEffect(LayoutPlan.EffectDef def) {
+                Effect effect = new Effect(def.type, def.event, def.duration);
+                if (def.blendImage != null) {
+                        Texture tex = screen.getApplication().getAssetManager().loadTexture(def.blendImage);
+                        tex.setMagFilter(Texture.MagFilter.Bilinear);
+                        tex.setMinFilter(Texture.MinFilter.BilinearNoMipMaps);
+                        tex.setWrap(Texture.WrapMode.Repeat);
+                        effect.setBlendImage(tex);
+                }
+                if (def.color != null) effect.setColor(def.color.clone());
+                if (def.direction != null) effect.setEffectDirection(def.direction);
+                if (def.destination != null) effect.setEffectDestination(def.destination.clone());
+                if (def.audioFile != null) effect.setAudioFile(def.audioFile);
+                effect.setAudioVolume(def.audioVolume);
+                return effect;
         }
         
         private Vector2f parsePositionalVector2f(String str, Element el) {
                 StringTokenizer st;
                 float x, y, z, w;
-
+        
                 st = new StringTokenizer(str,",");
                 String xComp = st.nextToken();
                 String yComp = st.nextToken();
@@ -1093,7 +703,7 @@ public class LayoutParser {
         private Vector2f parseVector2f(String str) {
                 StringTokenizer st;
                 float x, y, z, w;
-
+        
                 st = new StringTokenizer(str,",");
                 String xComp = st.nextToken();
                 String yComp = st.nextToken();
@@ -1105,7 +715,7 @@ public class LayoutParser {
         private Vector3f parseVector3f(String str) {
                 StringTokenizer st;
                 float x, y, z;
-
+        
                 st = new StringTokenizer(str,",");
                 String xComp = st.nextToken();
                 String yComp = st.nextToken();
@@ -1119,7 +729,7 @@ public class LayoutParser {
         private Vector4f parseVector4f(String str) {
                 StringTokenizer st;
                 float x, y, z, w;
-
+        
                 st = new StringTokenizer(str,",");
                 String xComp = st.nextToken();
                 String yComp = st.nextToken();
@@ -1135,7 +745,7 @@ public class LayoutParser {
         private ColorRGBA parseColorRGBA(String str) {
                 StringTokenizer st;
                 float x, y, z, w;
-
+        
                 st = new StringTokenizer(str,",");
                 String xComp = st.nextToken();
                 String yComp = st.nextToken();
@@ -0,0 +1,234 @@
+/*
+ * To change this template, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package tonegod.gui.style;
+
+import com.jme3.math.ColorRGBA;
+import com.jme3.math.Vector2f;
+import com.jme3.math.Vector3f;
+import com.jme3.math.Vector4f;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import tonegod.gui.core.Element;
+import tonegod.gui.core.ElementManager;
+import tonegod.gui.effects.Effect;
+
+/**
+ * A compiled layout document.  LayoutParser.compileLayout resolves every component type, setter
+ * method and method parameter of a layout once, after which LayoutParser.instantiate can build
+ * the layout any number of times without touching the XML document or looking anything up
+ * reflectively.  Values that depend on the parent Element, like percentage positions, and
+ * Elements referenced by ID are still resolved per instantiation.
+ * 
+ * @author t0neg0d
+ */
+public class LayoutPlan {
+	private static final Map<Class, Map<String, Method>> methods = new HashMap();
+	private static final Map<Class, Map<String, Method[]>> stateMethods = new HashMap();
+	
+	final List<Component> components = new ArrayList();
+	
+	/**
+	 * Returns the number of top level components in the layout
+	 * @return int
+	 */
+	public int getComponentCount() {
+		return components.size();
+	}
+	
+	/**
+	 * Returns the first method with the provided name declared by the class or one of it's
+	 * super classes.  Lookups are cached per class and name.
+	 */
+	static Method findMethod(Class c, String name) {
+		synchronized (methods) {
+			Map<String, Method> classMethods = methods.get(c);
+			if (classMethods == null) {
+				classMethods = new HashMap();
+				methods.put(c, classMethods);
+			}
+			if (classMethods.containsKey(name))
+				return classMethods.get(name);
+			
+			Method method = null;
+			Class<?> clazz = c;
+			while (method == null) {
+				for (Method m : clazz.getDeclaredMethods()) {
+					if (m.getName().equals(name)) {
+						method = m;
+						break;
+					}
+				}
+				clazz = clazz.getSuperclass();
+				if (clazz == null || clazz == Object.class)
+					break;
+			}
+			if (method != null)
+				method.setAccessible(true);
+			classMethods.put(name, method);
+			return method;
+		}
+	}
+	
+	/**
+	 * Returns all methods with the provided name declared by the class itself.  Lookups are cached
+	 * per class and name.
+	 */
+	static Method[] getDeclaredMethods(Class c, String name) {
+		synchronized (stateMethods) {
+			Map<String, Method[]> classMethods = stateMethods.get(c);
+			if (classMethods == null) {
+				classMethods = new HashMap();
+				stateMethods.put(c, classMethods);
+			}
+			Method[] declared = classMethods.get(name);
+			if (declared == null) {
+				List<Method> matches = new ArrayList();
+				for (Method m : c.getDeclaredMethods()) {
+					if (m.getName().equals(name))
+						matches.add(m);
+				}
+				declared = matches.toArray(new Method[matches.size()]);
+				classMethods.put(name, declared);
+			}
+			return declared;
+		}
+	}
+	
+	/**
+	 * A single component node of the layout
+	 */
+	public static class Component {
+		ElementFactory factory;
+		String id, pos, dim, rsb, img, ori, flag;
+		final List<MethodCall> methodCalls = new ArrayList();
+		final List<Component> children = new ArrayList();
+		final List<EffectDef> effects = new ArrayList();
+		final Events events = new Events();
+	}
+	
+	/**
+	 * Creates the Element of a single component type.  The factory of a component is resolved once
+	 * when the layout is compiled.
+	 */
+	abstract static class ElementFactory {
+		final Class type;
+		final String styleName;
+		final String frameStyleName;
+		
+		ElementFactory(Class type, String styleName) {
+			this(type, styleName, styleName);
+		}
+		
+		/**
+		 * @param type The control class, used to look up setter methods
+		 * @param styleName The style the default size is read from
+		 * @param frameStyleName The style the default resize borders and image are read from
+		 */
+		ElementFactory(Class type, String styleName, String frameStyleName) {
+			this.type = type;
+			this.styleName = styleName;
+			this.frameStyleName = frameStyleName;
+		}
+		
+		abstract Element create(ElementManager screen, Component comp, Vector2f position, Vector2f dimensions, Vector4f resizeBorders, String img, Object state);
+	}
+	
+	/**
+	 * A setter call with it's parameters converted ahead of time
+	 */
+	static class MethodCall {
+		static final int NONE = 0;
+		static final int VALUE = 1;
+		static final int CLONE = 2;
+		static final int ELEMENT_ID = 3;
+		
+		final Method method;
+		final int[] kinds;
+		final Object[] values;
+		
+		MethodCall(Method method) {
+			this.method = method;
+			int count = method.getParameterTypes().length;
+			this.kinds = new int[count];
+			this.values = new Object[count];
+		}
+		
+		void invoke(Element el, ElementManager screen) {
+			Object[] params = new Object[values.length];
+			for (int i = 0; i < values.length; i++) {
+				switch (kinds[i]) {
+					case VALUE:
+						params[i] = values[i];
+						break;
+					case CLONE:
+						params[i] = copy(values[i]);
+						break;
+					case ELEMENT_ID:
+						params[i] = screen.getElementById((String)values[i]);
+						break;
+				}
+			}
+			try {
+				method.invoke(el, params);
+			} catch (Exception ex) { ex.printStackTrace(); }
+		}
+		
+		private static Object copy(Object value) {
+			if (value instanceof Vector2f) return ((Vector2f)value).clone();
+			if (value instanceof Vector3f) return ((Vector3f)value).clone();
+			if (value instanceof Vector4f) return ((Vector4f)value).clone();
+			if (value instanceof ColorRGBA) return ((ColorRGBA)value).clone();
+			return value;
+		}
+	}
+	
+	/**
+	 * The parsed attributes of an effect node
+	 */
+	static class EffectDef {
+		Effect.EffectType type;
+		Effect.EffectEvent event;
+		float duration;
+		String blendImage;
+		ColorRGBA color;
+		Effect.EffectDirection direction;
+		Vector2f destination;
+		String audioFile;
+		float audioVolume = 1;
+	}
+	
+	/**
+	 * The state methods a component forwards it's events to
+	 */
+	public static class Events {
+		private final List<String> events = new ArrayList();
+		private final List<String> stateMethodNames = new ArrayList();
+		
+		void add(String event, String stateMethodName) {
+			events.add(event);
+			stateMethodNames.add(stateMethodName);
+		}
+		
+		/**
+		 * Invokes the state methods registered for the event
+		 * @param state The state the layout was instantiated for
+		 * @param event The event name, e.g. onChange
+		 * @param args The arguments of the event
+		 */
+		public void fire(Object state, String event, Object... args) {
+			for (int i = 0; i < events.size(); i++) {
+				if (!events.get(i).equals(event)) continue;
+				try {
+					for (Method method : getDeclaredMethods(state.getClass(), stateMethodNames.get(i))) {
+						method.invoke(state, args);
+					}
+				} catch (Exception ex) { ex.printStackTrace(); }
+			}
+		}
+	}
+}
@@ -13,16 +13,86 @@ import java.util.Map;
 import tonegod.gui.effects.Effect;
 
 /**
+ * The tags of a control style.  Tags can be looked up by name, in which case vectors and colors
+ * are returned as copies, or by StyleKey, which reads the tag from an array slot and returns the
+ * stored instance.  Values returned for a StyleKey are shared by every control using the Style
+ * and must not be modified.
  *
  * @author t0neg0d
  */
 public class Style {
 	Map<String, Object> styleTags = new HashMap();
+	private Object[] values = new Object[0];
 	
 	public Style() {  }
 	
 	public void putTag(String key, Object value) {
 		styleTags.put(key, value);
+		
+		int id = StyleKey.get(key).id;
+		if (id >= values.length) {
+			Object[] newValues = new Object[Math.max(id + 1, values.length * 2)];
+			System.arraycopy(values, 0, newValues, 0, values.length);
+			values = newValues;
+		}
+		values[id] = value;
+	}
+	
+	/**
+	 * Returns the tag stored for the key or null if the Style does not define it
+	 * @param key The StyleKey
+	 * @return Object
+	 */
+	public Object get(StyleKey key) {
+		return key.id < values.length ? values[key.id] : null;
+	}
+	
+	public String getString(StyleKey key) {
+		return (String)get(key);
+	}
+	
+	public float getFloat(StyleKey key) {
+		return ((Float)get(key)).floatValue();
+	}
+	
+	public int getInt(StyleKey key) {
+		return ((Integer)get(key)).intValue();
+	}
+	
+	public boolean getBoolean(StyleKey key) {
+		return ((Boolean)get(key)).booleanValue();
+	}
+	
+	/**
+	 * Returns the shared Vector2f stored for the key.  Do not modify it.
+	 */
+	public Vector2f getVector2f(StyleKey key) {
+		return (Vector2f)get(key);
+	}
+	
+	/**
+	 * Returns the shared Vector3f stored for the key.  Do not modify it.
+	 */
+	public Vector3f getVector3f(StyleKey key) {
+		return (Vector3f)get(key);
+	}
+	
+	/**
+	 * Returns the shared Vector4f stored for the key.  Do not modify it.
+	 */
+	public Vector4f getVector4f(StyleKey key) {
+		return (Vector4f)get(key);
+	}
+	
+	/**
+	 * Returns the shared ColorRGBA stored for the key.  Do not modify it.
+	 */
+	public ColorRGBA getColorRGBA(StyleKey key) {
+		return (ColorRGBA)get(key);
+	}
+	
+	public Effect getEffect(StyleKey key) {
+		return (Effect)get(key);
 	}
 	
 	public String getString(String key) {
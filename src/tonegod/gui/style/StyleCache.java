@@ -0,0 +1,323 @@
+/*
+ * To change this template, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package tonegod.gui.style;
+
+import com.jme3.asset.AssetInfo;
+import com.jme3.asset.AssetKey;
+import com.jme3.asset.AssetManager;
+import com.jme3.math.ColorRGBA;
+import com.jme3.math.Vector2f;
+import com.jme3.math.Vector3f;
+import com.jme3.math.Vector4f;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import tonegod.gui.effects.Effect;
+import tonegod.gui.style.StyleManager.CursorType;
+
+/**
+ * The resolved contents of a style map: cursor and audio definitions and the Style of every
+ * control.  StyleManager.compileStyles fills it from the XML documents and it can be written to
+ * and read back from a compact binary file, which lets later Screens skip XML parsing entirely.
+ * A cache file is only used while the source documents it was compiled from are unchanged.
+ * 
+ * @author t0neg0d
+ */
+public class StyleCache {
+	private static final int MAGIC = 0x54475343;
+	private static final int VERSION = 1;
+	
+	private static final byte TYPE_STRING = 0;
+	private static final byte TYPE_FLOAT = 1;
+	private static final byte TYPE_INT = 2;
+	private static final byte TYPE_BOOLEAN = 3;
+	private static final byte TYPE_VECTOR2F = 4;
+	private static final byte TYPE_VECTOR3F = 5;
+	private static final byte TYPE_VECTOR4F = 6;
+	private static final byte TYPE_COLORRGBA = 7;
+	private static final byte TYPE_EFFECT = 8;
+	
+	final List<String> sources = new ArrayList();
+	final List<CursorType> cursorTypes = new ArrayList();
+	final List<String> cursorPaths = new ArrayList();
+	final List<int[]> cursorHotSpots = new ArrayList();
+	final Map<String, String> audioPaths = new LinkedHashMap();
+	final Map<String, Style> styles = new LinkedHashMap();
+	
+	// False if a document could not be loaded while compiling, such a cache is not written
+	boolean valid = true;
+	
+	/**
+	 * Records a document the cache is compiled from
+	 * @param path The asset path of the document
+	 */
+	void addSource(String path) {
+		sources.add(path);
+	}
+	
+	/**
+	 * Records a cursor definition
+	 * @param type The CursorType
+	 * @param path The asset path of the cursor
+	 * @param hotSpot The x and y hot spot or null to keep the cursor's own
+	 */
+	void addCursor(CursorType type, String path, int[] hotSpot) {
+		cursorTypes.add(type);
+		cursorPaths.add(path);
+		cursorHotSpots.add(hotSpot);
+	}
+	
+	/**
+	 * Records an audio file definition
+	 * @param key The key the AudioNode is looked up by
+	 * @param path The asset path of the audio file
+	 */
+	void addAudio(String key, String path) {
+		audioPaths.put(key, path);
+	}
+	
+	/**
+	 * Records the Style of a control
+	 * @param key The name of the control
+	 * @param style The Style
+	 */
+	void addStyle(String key, Style style) {
+		styles.put(key, style);
+	}
+	
+	/**
+	 * Returns a checksum of the paths and contents of all source documents
+	 * @param assetManager The AssetManager the documents are located with
+	 * @param sources The asset paths of the documents
+	 * @return long checksum
+	 * @throws IOException If a source document can not be read
+	 */
+	static long getSourceHash(AssetManager assetManager, List<String> sources) throws IOException {
+		CRC32 crc = new CRC32();
+		byte[] buffer = new byte[8192];
+		for (String path : sources) {
+			crc.update(path.getBytes("UTF-8"));
+			AssetInfo info = assetManager.locateAsset(new AssetKey(path));
+			if (info == null)
+				throw new IOException(String.format("Could not find style %s", path));
+			InputStream in = info.openStream();
+			try {
+				int read;
+				while ((read = in.read(buffer)) != -1) {
+					crc.update(buffer, 0, read);
+				}
+			} finally {
+				in.close();
+			}
+		}
+		return crc.getValue();
+	}
+	
+	/**
+	 * Writes the cache to the provided file, creating it's parent folders if needed
+	 * @param assetManager The AssetManager the source documents are located with
+	 * @param file The cache file
+	 * @throws IOException 
+	 */
+	public void write(AssetManager assetManager, File file) throws IOException {
+		File parent = file.getParentFile();
+		if (parent != null && !parent.exists() && !parent.mkdirs())
+			throw new IOException("Could not create style cache folder " + parent);
+		
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+		try {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			
+			out.writeInt(sources.size());
+			for (String path : sources) {
+				out.writeUTF(path);
+			}
+			out.writeLong(getSourceHash(assetManager, sources));
+			
+			out.writeInt(cursorTypes.size());
+			for (int i = 0; i < cursorTypes.size(); i++) {
+				out.writeUTF(cursorTypes.get(i).name());
+				out.writeUTF(cursorPaths.get(i));
+				int[] hotSpot = cursorHotSpots.get(i);
+				out.writeBoolean(hotSpot != null);
+				if (hotSpot != null) {
+					out.writeInt(hotSpot[0]);
+					out.writeInt(hotSpot[1]);
+				}
+			}
+			
+			out.writeInt(audioPaths.size());
+			for (Map.Entry<String, String> entry : audioPaths.entrySet()) {
+				out.writeUTF(entry.getKey());
+				out.writeUTF(entry.getValue());
+			}
+			
+			out.writeInt(styles.size());
+			for (Map.Entry<String, Style> entry : styles.entrySet()) {
+				out.writeUTF(entry.getKey());
+				Map<String, Object> tags = entry.getValue().styleTags;
+				out.writeInt(tags.size());
+				for (Map.Entry<String, Object> tag : tags.entrySet()) {
+					out.writeUTF(tag.getKey());
+					writeValue(out, tag.getValue());
+				}
+			}
+		} finally {
+			out.close();
+		}
+	}
+	
+	/**
+	 * Reads a cache file.  Returns null if the file does not exist, was written by a different
+	 * version or any of the source documents it was compiled from has changed.
+	 * @param assetManager The AssetManager the source documents are located with
+	 * @param file The cache file
+	 * @return StyleCache or null
+	 * @throws IOException If the file exists but can not be read
+	 */
+	public static StyleCache read(AssetManager assetManager, File file) throws IOException {
+		if (!file.isFile()) return null;
+		
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+		try {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) return null;
+			
+			StyleCache cache = new StyleCache();
+			
+			int count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				cache.addSource(in.readUTF());
+			}
+			long hash = in.readLong();
+			try {
+				if (getSourceHash(assetManager, cache.sources) != hash) return null;
+			} catch (IOException ex) {
+				return null;
+			}
+			
+			count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				CursorType type = CursorType.valueOf(in.readUTF());
+				String path = in.readUTF();
+				int[] hotSpot = null;
+				if (in.readBoolean())
+					hotSpot = new int[] { in.readInt(), in.readInt() };
+				cache.addCursor(type, path, hotSpot);
+			}
+			
+			count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				cache.addAudio(in.readUTF(), in.readUTF());
+			}
+			
+			count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				String key = in.readUTF();
+				Style style = new Style();
+				int tagCount = in.readInt();
+				for (int t = 0; t < tagCount; t++) {
+					String name = in.readUTF();
+					style.putTag(name, readValue(in));
+				}
+				cache.addStyle(key, style);
+			}
+			
+			return cache;
+		} finally {
+			in.close();
+		}
+	}
+	
+	private static void writeValue(DataOutputStream out, Object value) throws IOException {
+		if (value instanceof String) {
+			out.writeByte(TYPE_STRING);
+			out.writeUTF((String)value);
+		} else if (value instanceof Float) {
+			out.writeByte(TYPE_FLOAT);
+			out.writeFloat((Float)value);
+		} else if (value instanceof Integer) {
+			out.writeByte(TYPE_INT);
+			out.writeInt((Integer)value);
+		} else if (value instanceof Boolean) {
+			out.writeByte(TYPE_BOOLEAN);
+			out.writeBoolean((Boolean)value);
+		} else if (value instanceof Vector2f) {
+			Vector2f v = (Vector2f)value;
+			out.writeByte(TYPE_VECTOR2F);
+			out.writeFloat(v.x);
+			out.writeFloat(v.y);
+		} else if (value instanceof Vector3f) {
+			Vector3f v = (Vector3f)value;
+			out.writeByte(TYPE_VECTOR3F);
+			out.writeFloat(v.x);
+			out.writeFloat(v.y);
+			out.writeFloat(v.z);
+		} else if (value instanceof Vector4f) {
+			Vector4f v = (Vector4f)value;
+			out.writeByte(TYPE_VECTOR4F);
+			out.writeFloat(v.x);
+			out.writeFloat(v.y);
+			out.writeFloat(v.z);
+			out.writeFloat(v.w);
+		} else if (value instanceof ColorRGBA) {
+			ColorRGBA c = (ColorRGBA)value;
+			out.writeByte(TYPE_COLORRGBA);
+			out.writeFloat(c.r);
+			out.writeFloat(c.g);
+			out.writeFloat(c.b);
+			out.writeFloat(c.a);
+		} else if (value instanceof Effect) {
+			Effect effect = (Effect)value;
+			out.writeByte(TYPE_EFFECT);
+			out.writeUTF(effect.getEffectType().name());
+			out.writeUTF(effect.getEffectEvent().name());
+			out.writeFloat(effect.getDuration());
+		} else {
+			throw new IOException("Unsupported style tag value " + value);
+		}
+	}
+	
+	private static Object readValue(DataInputStream in) throws IOException {
+		byte type = in.readByte();
+		switch (type) {
+			case TYPE_STRING:
+				return in.readUTF();
+			case TYPE_FLOAT:
+				return in.readFloat();
+			case TYPE_INT:
+				return in.readInt();
+			case TYPE_BOOLEAN:
+				return in.readBoolean();
+			case TYPE_VECTOR2F:
+				return new Vector2f(in.readFloat(), in.readFloat());
+			case TYPE_VECTOR3F:
+				return new Vector3f(in.readFloat(), in.readFloat(), in.readFloat());
+			case TYPE_VECTOR4F:
+				return new Vector4f(in.readFloat(), in.readFloat(), in.readFloat(), in.readFloat());
+			case TYPE_COLORRGBA:
+				return new ColorRGBA(in.readFloat(), in.readFloat(), in.readFloat(), in.readFloat());
+			case TYPE_EFFECT:
+				return new Effect(
+					Effect.EffectType.valueOf(in.readUTF()),
+					Effect.EffectEvent.valueOf(in.readUTF()),
+					in.readFloat()
+				);
+			default:
+				throw new IOException("Unknown style tag type " + type);
+		}
+	}
+}
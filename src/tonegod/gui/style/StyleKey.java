@@ -0,0 +1,83 @@
+/*
+ * To change this template, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package tonegod.gui.style;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A style tag name resolved to a numeric slot.  Controls look tags up with static StyleKey
+ * constants, which reads the tag from an array in the Style instead of hashing the name.
+ * 
+ * @author t0neg0d
+ */
+public final class StyleKey {
+	private static final Map<String, StyleKey> keys = new HashMap();
+	private static final List<StyleKey> effectEvents = new ArrayList();
+	
+	public static final StyleKey DEFAULT_SIZE = get("defaultSize");
+	public static final StyleKey RESIZE_BORDERS = get("resizeBorders");
+	public static final StyleKey DEFAULT_IMG = get("defaultImg");
+	public static final StyleKey HOVER_IMG = get("hoverImg");
+	public static final StyleKey HOVER_COLOR = get("hoverColor");
+	public static final StyleKey PRESSED_IMG = get("pressedImg");
+	public static final StyleKey PRESSED_COLOR = get("pressedColor");
+	public static final StyleKey FONT_COLOR = get("fontColor");
+	public static final StyleKey FONT_SIZE = get("fontSize");
+	public static final StyleKey TEXT_ALIGN = get("textAlign");
+	public static final StyleKey TEXT_V_ALIGN = get("textVAlign");
+	public static final StyleKey TEXT_WRAP = get("textWrap");
+	public static final StyleKey TEXT_PADDING = get("textPadding");
+	public static final StyleKey HIGHLIGHT_COLOR = get("highlightColor");
+	
+	private final String name;
+	final int id;
+	
+	private StyleKey(String name, int id) {
+		this.name = name;
+		this.id = id;
+	}
+	
+	/**
+	 * Returns the key of the provided tag name, creating it on first use
+	 * @param name The tag name
+	 * @return StyleKey
+	 */
+	public static synchronized StyleKey get(String name) {
+		StyleKey key = keys.get(name);
+		if (key == null) {
+			key = new StyleKey(name, keys.size());
+			keys.put(name, key);
+		}
+		return key;
+	}
+	
+	/**
+	 * Returns the key of the "event" + index tag used to define a control's effects
+	 * @param index The effect index
+	 * @return StyleKey
+	 */
+	public static synchronized StyleKey getEffectEvent(int index) {
+		while (effectEvents.size() <= index) {
+			effectEvents.add(get("event" + effectEvents.size()));
+		}
+		return effectEvents.get(index);
+	}
+	
+	/**
+	 * Returns the tag name
+	 * @return String
+	 */
+	public String getName() {
+		return name;
+	}
+	
+	@Override
+	public String toString() {
+		return name;
+	}
+}
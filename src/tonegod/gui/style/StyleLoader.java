@@ -1,16 +1,24 @@
 package tonegod.gui.style;
 
 import com.jme3.asset.AssetInfo;
+import com.jme3.asset.AssetKey;
 import com.jme3.asset.AssetLoader;
+import com.jme3.asset.AssetManager;
+import com.jme3.asset.AssetNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
 import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
 
 /**
+ * Loads gui.xml documents.  Registered with the AssetManager the loader returns the whole DOM
+ * Document.  The style and layout parsers use parse instead, which streams the document through a
+ * SAX handler in a single pass without building or caching a DOM tree.
  * 
  * @author rockfire
  */
@@ -33,4 +41,30 @@ public class StyleLoader implements AssetLoader {
             file.close();
         }
     }
+
+    /**
+     * Streams the document at the provided asset path through the handler.
+     * 
+     * @param assetManager The AssetManager used to locate the document
+     * @param path The asset path of the document
+     * @param handler The handler receiving the document's events
+     * @throws IOException If the document can not be read or is malformed
+     */
+    public static void parse(AssetManager assetManager, String path, DefaultHandler handler) throws IOException {
+        AssetInfo info = assetManager.locateAsset(new AssetKey(path));
+        if (info == null) {
+            throw new AssetNotFoundException(String.format("Could not find style %s", path));
+        }
+        InputStream file = info.openStream();
+        try {
+            SAXParserFactory spf = SAXParserFactory.newInstance();
+            spf.newSAXParser().parse(file, handler);
+        } catch (ParserConfigurationException pce) {
+            throw new IOException("Failed to configure XML parse.", pce);
+        } catch (SAXException se) {
+            throw new IOException("Failed to parse XML document.", se);
+        } finally {
+            file.close();
+        }
+    }
 }
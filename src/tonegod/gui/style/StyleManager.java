@@ -5,22 +5,23 @@
 package tonegod.gui.style;
 
 import com.jme3.app.Application;
-import com.jme3.asset.AssetKey;
-import com.jme3.asset.AssetNotFoundException;
+import com.jme3.asset.AssetManager;
 import com.jme3.audio.AudioNode;
 import com.jme3.cursors.plugins.JmeCursor;
 import com.jme3.math.ColorRGBA;
 import com.jme3.math.Vector2f;
 import com.jme3.math.Vector3f;
 import com.jme3.math.Vector4f;
+import com.jme3.system.JmeSystem;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
 import tonegod.gui.core.Screen;
 import tonegod.gui.core.utils.XMLHelper;
 import tonegod.gui.effects.Effect;
@@ -55,9 +56,14 @@ public class StyleManager {
 	Application app;
 	private Map<String, Style> styles = new HashMap();
 	private Map<CursorType, JmeCursor> cursors = new HashMap();
-	private Map<String, AudioNode> audioNodes = new HashMap();
+	private Map<String, String> audioPaths = new HashMap();
+	private LinkedHashMap<String, AudioNode> audioNodes = new LinkedHashMap(16, 0.75f, true);
+	private int maxAudioNodes = 0;
 	private String styleMap;
 	
+	private static boolean useStyleCache = true;
+	private static File styleCacheFolder = null;
+	
 	public StyleManager(Screen screen, String styleMap) {
 		this.screen = screen;
 		this.app = screen.getApplication();
@@ -68,278 +74,365 @@ public class StyleManager {
 		return this.styleMap;
 	}
 	
+	/**
+	 * Enables/disables reading and writing the binary style cache.  Enabled by default.
+	 * @param useStyleCache boolean
+	 */
+	public static void setUseStyleCache(boolean useStyleCache) {
+		StyleManager.useStyleCache = useStyleCache;
+	}
+	
+	public static boolean getUseStyleCache() {
+		return useStyleCache;
+	}
+	
+	/**
+	 * Sets the folder binary style caches are written to.  Defaults to a tonegodgui folder in the
+	 * application's storage folder.
+	 * @param styleCacheFolder File
+	 */
+	public static void setStyleCacheFolder(File styleCacheFolder) {
+		StyleManager.styleCacheFolder = styleCacheFolder;
+	}
+	
+	public static File getStyleCacheFolder() {
+		if (styleCacheFolder == null)
+			styleCacheFolder = new File(JmeSystem.getStorageFolder(), "tonegodgui");
+		return styleCacheFolder;
+	}
+	
+	/**
+	 * Returns the binary cache file used for the provided style map
+	 * @param path The asset path of the style map
+	 * @return File
+	 */
+	public static File getStyleCacheFile(String path) {
+		return new File(getStyleCacheFolder(), path.replaceAll("[^A-Za-z0-9._-]", "_") + ".cache");
+	}
+	
 	public void parseStyles(String path) {
-		List<String> docPaths = new ArrayList();
-		try {
-			// Cursors
-			Document doc = app.getAssetManager().loadAsset(new AssetKey<Document>(path));
-			if (doc == null) {
-				throw new AssetNotFoundException(String.format("Could not find style %s", path));
-			}
-			NodeList nodeLst = doc.getElementsByTagName("cursors");
-			
-			for (int s = 0; s < nodeLst.getLength(); s++) {
-				Node fstNode = nodeLst.item(0);
-				if (fstNode.getNodeType() == Node.ELEMENT_NODE) {
-					String cursorDocPath = XMLHelper.getNodeAttributeValue(fstNode, "path");
-					docPaths.add(cursorDocPath);
-				}
-			}
-			
-			parseCursors(docPaths);
-			docPaths.clear();
-			
-			// Audio nodes
-			doc = app.getAssetManager().loadAsset(new AssetKey<Document>(path));
-			if (doc == null) {
-				throw new AssetNotFoundException(String.format("Could not find style %s", path));
+		StyleCache cache = null;
+		File cacheFile = null;
+		
+		if (useStyleCache) {
+			try {
+				cacheFile = getStyleCacheFile(path);
+				cache = StyleCache.read(app.getAssetManager(), cacheFile);
+			} catch (Exception ex) {
+				System.err.println("Problem reading style cache: " + ex);
 			}
-			nodeLst = doc.getElementsByTagName("audio");
-			
-			for (int s = 0; s < nodeLst.getLength(); s++) {
-				Node fstNode = nodeLst.item(0);
-				if (fstNode.getNodeType() == Node.ELEMENT_NODE) {
-					String audioDocPath = XMLHelper.getNodeAttributeValue(fstNode, "path");
-					docPaths.add(audioDocPath);
+		}
+		
+		if (cache == null) {
+			cache = compileStyles(app.getAssetManager(), path);
+			if (cacheFile != null && cache.valid) {
+				try {
+					cache.write(app.getAssetManager(), cacheFile);
+				} catch (Exception ex) {
+					System.err.println("Problem writing style cache: " + ex);
 				}
 			}
-			
-			parseAudios(docPaths);
-			docPaths.clear();
-			
-			// Control style definitions
-			doc = app.getAssetManager().loadAsset(new AssetKey<Document>(path));
-			if (doc == null) {
-				throw new AssetNotFoundException(String.format("Could not find style %s", path));
-			}
-			nodeLst = doc.getElementsByTagName("style");
-			
-			for (int s = 0; s < nodeLst.getLength(); s++) {
-				Node fstNode = nodeLst.item(s);
-				if (fstNode.getNodeType() == Node.ELEMENT_NODE) {
-					String styleDocPath = XMLHelper.getNodeAttributeValue(fstNode, "path");
-					docPaths.add(styleDocPath);
+		}
+		
+		loadCursors(cache);
+		loadAudios(cache);
+		styles.putAll(cache.styles);
+	}
+	
+	/**
+	 * Parses the style map and all of the documents it references.  Can be used at build time
+	 * to write the binary cache Screens load in place of the XML documents.
+	 * @param assetManager The AssetManager used to load the documents
+	 * @param path The asset path of the style map
+	 * @return StyleCache The resolved styles
+	 */
+	public static StyleCache compileStyles(AssetManager assetManager, String path) {
+		StyleCache cache = new StyleCache();
+		final List<String> cursorDocPaths = new ArrayList();
+		final List<String> audioDocPaths = new ArrayList();
+		final List<String> styleDocPaths = new ArrayList();
+		try {
+			StyleLoader.parse(assetManager, path, new DefaultHandler() {
+				@Override
+				public void startElement(String uri, String localName, String qName, Attributes attributes) {
+					if (qName.equals("cursors")) {
+						// Cursors
+						cursorDocPaths.add(XMLHelper.getAttributeValue(attributes, "path"));
+					} else if (qName.equals("audio")) {
+						// Audio nodes
+						audioDocPaths.add(XMLHelper.getAttributeValue(attributes, "path"));
+					} else if (qName.equals("style")) {
+						// Control style definitions
+						styleDocPaths.add(XMLHelper.getAttributeValue(attributes, "path"));
+					}
 				}
-			}
+			});
+			cache.addSource(path);
 			
-			parseStyleDefs(docPaths);
-			docPaths.clear();
-			docPaths = null;
-			doc = null;
+			parseCursors(assetManager, cursorDocPaths, cache);
+			parseAudios(assetManager, audioDocPaths, cache);
+			parseStyleDefs(assetManager, styleDocPaths, cache);
 		} catch (Exception e) {
+			cache.valid = false;
 			System.err.println("Problem loading style map: " + e);
 		}
+		return cache;
 	}
 	
-	private void parseCursors(List<String> docPaths) {
+	private static void parseCursors(AssetManager assetManager, List<String> docPaths, final StyleCache cache) {
 		for (String docPath : docPaths) {
 			try {
-				Document doc = app.getAssetManager().loadAsset(new AssetKey<Document>(docPath));
-				if (doc == null) {
-					throw new AssetNotFoundException(String.format("Could not find style %s", docPath));
-				}
-				NodeList nLst = doc.getElementsByTagName("cursor");
-
-				for (int s = 0; s < nLst.getLength(); s++) {
-					Node fstNode = nLst.item(s);
-					if (fstNode.getNodeType() == Node.ELEMENT_NODE) {
-						Element fstElmnt = (Element) fstNode;
-						String key = XMLHelper.getNodeAttributeValue(fstNode, "type");
-						String curPath = XMLHelper.getNodeAttributeValue(fstNode, "path");
+				StyleLoader.parse(assetManager, docPath, new DefaultHandler() {
+					@Override
+					public void startElement(String uri, String localName, String qName, Attributes attributes) {
+						if (!qName.equals("cursor")) return;
+						String key = XMLHelper.getAttributeValue(attributes, "type");
+						String curPath = XMLHelper.getAttributeValue(attributes, "path");
 						
-						JmeCursor jmeCursor = (JmeCursor)app.getAssetManager().loadAsset(curPath);//new JmeCursor();
+						int[] hotSpot = null;
 						try {
-							int hsX = Integer.valueOf(XMLHelper.getNodeAttributeValue(fstNode, "x"));
-							int hsY = Integer.valueOf(XMLHelper.getNodeAttributeValue(fstNode, "y"));
-							jmeCursor.setxHotSpot(hsX);
-							jmeCursor.setyHotSpot(hsY);
+							int hsX = Integer.valueOf(XMLHelper.getAttributeValue(attributes, "x"));
+							int hsY = Integer.valueOf(XMLHelper.getAttributeValue(attributes, "y"));
+							hotSpot = new int[] { hsX, hsY };
 						} catch (Exception npe) {  }
 						
-						cursors.put(
-							CursorType.valueOf(key), 
-							(JmeCursor)app.getAssetManager().loadAsset(curPath)
-						);
+						cache.addCursor(CursorType.valueOf(key), curPath, hotSpot);
 					}
+				});
+				cache.addSource(docPath);
+			} catch (Exception ex) {
+				cache.valid = false;
+				System.err.println("Problem loading cursor definition: " + ex);
+			}
+		}
+	}
+	
+	private void loadCursors(StyleCache cache) {
+		for (int i = 0; i < cache.cursorTypes.size(); i++) {
+			String curPath = cache.cursorPaths.get(i);
+			try {
+				JmeCursor jmeCursor = (JmeCursor)app.getAssetManager().loadAsset(curPath);//new JmeCursor();
+				int[] hotSpot = cache.cursorHotSpots.get(i);
+				if (hotSpot != null) {
+					jmeCursor.setxHotSpot(hotSpot[0]);
+					jmeCursor.setyHotSpot(hotSpot[1]);
 				}
+				
+				cursors.put(
+					cache.cursorTypes.get(i), 
+					(JmeCursor)app.getAssetManager().loadAsset(curPath)
+				);
 			} catch (Exception ex) {
 				System.err.println("Problem loading cursor definition: " + ex);
 			}
 		}
 	}
 	
-	private void parseAudios(List<String> docPaths) {
+	private static void parseAudios(AssetManager assetManager, List<String> docPaths, final StyleCache cache) {
 		for (String docPath : docPaths) {
 			try {
-				Document doc = app.getAssetManager().loadAsset(new AssetKey<Document>(docPath));
-				if (doc == null) {
-					throw new AssetNotFoundException(String.format("Could not find style %s", docPath));
-				}
-				NodeList nLst = doc.getElementsByTagName("audiofile");
-
-				for (int s = 0; s < nLst.getLength(); s++) {
-					Node fstNode = nLst.item(s);
-					if (fstNode.getNodeType() == Node.ELEMENT_NODE) {
-						Element fstElmnt = (Element) fstNode;
-						String key = XMLHelper.getNodeAttributeValue(fstNode, "key");
-						String audioPath = XMLHelper.getNodeAttributeValue(fstNode, "path");
-
-						AudioNode audioNode = new AudioNode(app.getAssetManager(), audioPath, false);
-						audioNode.setPositional(false);
-						audioNode.setReverbEnabled(false);
-						audioNodes.put(key, audioNode);
-						screen.getGUINode().attachChild(audioNode);
+				StyleLoader.parse(assetManager, docPath, new DefaultHandler() {
+					@Override
+					public void startElement(String uri, String localName, String qName, Attributes attributes) {
+						if (!qName.equals("audiofile")) return;
+						String key = XMLHelper.getAttributeValue(attributes, "key");
+						String audioPath = XMLHelper.getAttributeValue(attributes, "path");
+						cache.addAudio(key, audioPath);
 					}
-				}
+				});
+				cache.addSource(docPath);
 			} catch (Exception ex) {
+				cache.valid = false;
 				System.err.println("Problem loading audio file: " + ex);
 			}
 		}
 	}
 	
-	private void parseStyleDefs(List<String> docPaths) {
+	private void loadAudios(StyleCache cache) {
+		audioPaths.putAll(cache.audioPaths);
+	}
+	
+	private AudioNode loadAudioNode(String key) {
+		String audioPath = audioPaths.get(key);
+		if (audioPath == null)
+			return null;
+		try {
+			AudioNode audioNode = new AudioNode(app.getAssetManager(), audioPath, false);
+			audioNode.setPositional(false);
+			audioNode.setReverbEnabled(false);
+			audioNodes.put(key, audioNode);
+			screen.getGUINode().attachChild(audioNode);
+			trimAudioNodes();
+			return audioNode;
+		} catch (Exception ex) {
+			System.err.println("Problem loading audio file: " + ex);
+			audioPaths.remove(key);
+			return null;
+		}
+	}
+	
+	private void trimAudioNodes() {
+		if (maxAudioNodes <= 0)
+			return;
+		Iterator<AudioNode> it = audioNodes.values().iterator();
+		while (audioNodes.size() > maxAudioNodes && it.hasNext()) {
+			AudioNode audioNode = it.next();
+			it.remove();
+			audioNode.removeFromParent();
+		}
+	}
+	
+	/**
+	 * Loads the AudioNodes associated to the provided keys ahead of their first use.  AudioNodes
+	 * are otherwise loaded the first time they are played.
+	 * @param keys The String keys of the audio files
+	 */
+	public void preloadAudioNodes(String... keys) {
+		for (String key : keys) {
+			getAudioNode(key);
+		}
+	}
+	
+	/**
+	 * Sets the maximum number of loaded AudioNodes.  The least recently played AudioNodes are
+	 * released once the limit is exceeded and reloaded when played again.  0 (the default) keeps
+	 * every loaded AudioNode.
+	 * @param maxAudioNodes int
+	 */
+	public void setMaxAudioNodes(int maxAudioNodes) {
+		this.maxAudioNodes = maxAudioNodes;
+		trimAudioNodes();
+	}
+	
+	public int getMaxAudioNodes() {
+		return this.maxAudioNodes;
+	}
+	
+	private static void parseStyleDefs(AssetManager assetManager, List<String> docPaths, StyleCache cache) {
 		for (String docPath : docPaths) {
 			try {
-				Document doc = app.getAssetManager().loadAsset(new AssetKey<Document>(docPath));
-				if (doc == null) {
-					throw new AssetNotFoundException(String.format("Could not find style %s", docPath));
-				}
-				NodeList nLst = doc.getElementsByTagName("element");
-
-				for (int s = 0; s < nLst.getLength(); s++) {
-					Node fstNode = nLst.item(s);
-					if (fstNode.getNodeType() == Node.ELEMENT_NODE) {
-						Element fstElmnt = (Element) fstNode;
-						String key = XMLHelper.getNodeAttributeValue(fstNode, "name");
-
-						Style style = new Style();
-
-						try {
-							Node nds = fstElmnt.getElementsByTagName("attributes").item(0);
-							Element el = (Element) nds;
-							NodeList nodes = el.getElementsByTagName("property");
-
-							for (int n = 0; n < nodes.getLength(); n++) {
-								Node nNode = nodes.item(n);
-								if (nNode.getNodeType() == Node.ELEMENT_NODE) {
-									Element nElmnt = (Element) nNode;
-									addStyleTag(style, nNode, nElmnt);
-								}
-							}
-
-							nds = fstElmnt.getElementsByTagName("images").item(0);
-							el = (Element) nds;
-							nodes = el.getElementsByTagName("property");
-
-							for (int n = 0; n < nodes.getLength(); n++) {
-								Node nNode = nodes.item(n);
-								if (nNode.getNodeType() == Node.ELEMENT_NODE) {
-									Element nElmnt = (Element) nNode;
-									addStyleTag(style, nNode, nElmnt);
-								}
-							}
-
-							nds = fstElmnt.getElementsByTagName("font").item(0);
-							el = (Element) nds;
-							nodes = el.getElementsByTagName("property");
-
-							for (int n = 0; n < nodes.getLength(); n++) {
-								Node nNode = nodes.item(n);
-								if (nNode.getNodeType() == Node.ELEMENT_NODE) {
-									Element nElmnt = (Element) nNode;
-									addStyleTag(style, nNode, nElmnt);
-								}
-							}
-
-							nds = fstElmnt.getElementsByTagName("effects").item(0);
-							el = (Element) nds;
-							nodes = el.getElementsByTagName("property");
-
-							for (int n = 0; n < nodes.getLength(); n++) {
-								Node nNode = nodes.item(n);
-								if (nNode.getNodeType() == Node.ELEMENT_NODE) {
-									Element nElmnt = (Element) nNode;
-									addStyleTag(style, nNode, nElmnt);
-								}
-							}
-						} catch (Exception ex) {
-							System.err.println("Problem parsing attributes: " + ex);
-						}
-						styles.put(key, style);
-					}
-				}
+				StyleLoader.parse(assetManager, docPath, new StyleDefHandler(cache));
+				cache.addSource(docPath);
 			} catch (Exception ex) {
+				cache.valid = false;
 				System.err.println("Problem loading control definition: " + ex);
 			}
 		}
 	}
 	
-	private void addStyleTag(Style style, Node nNode, Element nElmnt) {
-		String name = XMLHelper.getNodeAttributeValue(nNode, "name");
-		String type = XMLHelper.getNodeAttributeValue(nNode, "type");
+	/**
+	 * Builds a Style for each element of a style definition document as the document is streamed.
+	 * Property values made up of child nodes (vectors, colors and effects) are collected until the
+	 * property closes.
+	 */
+	private static class StyleDefHandler extends DefaultHandler {
+		private final StyleCache cache;
+		private final Map<String, String> components = new HashMap();
+		private String key, name, type, value;
+		private Style style;
+		
+		StyleDefHandler(StyleCache cache) {
+			this.cache = cache;
+		}
+		
+		@Override
+		public void startElement(String uri, String localName, String qName, Attributes attributes) {
+			if (qName.equals("element")) {
+				key = XMLHelper.getAttributeValue(attributes, "name");
+				style = new Style();
+			} else if (style != null) {
+				if (qName.equals("property")) {
+					name = XMLHelper.getAttributeValue(attributes, "name");
+					type = XMLHelper.getAttributeValue(attributes, "type");
+					value = XMLHelper.getAttributeValue(attributes, "value");
+					components.clear();
+				} else if (name != null) {
+					components.put(qName, XMLHelper.getAttributeValue(attributes, "value"));
+				}
+			}
+		}
+		
+		@Override
+		public void endElement(String uri, String localName, String qName) {
+			if (qName.equals("element") && style != null) {
+				cache.addStyle(key, style);
+				style = null;
+			} else if (qName.equals("property") && name != null) {
+				try {
+					addStyleTag(style, name, type, value, components);
+				} catch (Exception ex) {
+					System.err.println("Problem parsing attributes: " + ex);
+				}
+				name = null;
+			}
+		}
+	}
+	
+	private static void addStyleTag(Style style, String name, String type, String value, Map<String, String> components) {
 		if (type.equals("Vector2f")) {
 			style.putTag(
 				name,
 				new Vector2f(
-					Float.parseFloat(XMLHelper.getNodeAttributeValue(nElmnt.getElementsByTagName("x").item(0), "value")),
-					Float.parseFloat(XMLHelper.getNodeAttributeValue(nElmnt.getElementsByTagName("y").item(0), "value"))
+					Float.parseFloat(components.get("x")),
+					Float.parseFloat(components.get("y"))
 				)
 			);
 		} else if (type.equals("Vector3f")) {
 			style.putTag(
 				name,
 				new Vector3f(
-					Float.parseFloat(XMLHelper.getNodeAttributeValue(nElmnt.getElementsByTagName("x").item(0), "value")),
-					Float.parseFloat(XMLHelper.getNodeAttributeValue(nElmnt.getElementsByTagName("y").item(0), "value")),
-					Float.parseFloat(XMLHelper.getNodeAttributeValue(nElmnt.getElementsByTagName("z").item(0), "value"))
+					Float.parseFloat(components.get("x")),
+					Float.parseFloat(components.get("y")),
+					Float.parseFloat(components.get("z"))
 				)
 			);
 		} else if (type.equals("Vector4f")) {
 			style.putTag(
 				name,
 				new Vector4f(
-					Float.parseFloat(XMLHelper.getNodeAttributeValue(nElmnt.getElementsByTagName("x").item(0), "value")),
-					Float.parseFloat(XMLHelper.getNodeAttributeValue(nElmnt.getElementsByTagName("y").item(0), "value")),
-					Float.parseFloat(XMLHelper.getNodeAttributeValue(nElmnt.getElementsByTagName("z").item(0), "value")),
-					Float.parseFloat(XMLHelper.getNodeAttributeValue(nElmnt.getElementsByTagName("w").item(0), "value"))
+					Float.parseFloat(components.get("x")),
+					Float.parseFloat(components.get("y")),
+					Float.parseFloat(components.get("z")),
+					Float.parseFloat(components.get("w"))
 				)
 			);
 		} else if (type.equals("ColorRGBA")) {
 			style.putTag(
 				name,
 				new ColorRGBA(
-					Float.parseFloat(XMLHelper.getNodeAttributeValue(nElmnt.getElementsByTagName("r").item(0), "value")),
-					Float.parseFloat(XMLHelper.getNodeAttributeValue(nElmnt.getElementsByTagName("g").item(0), "value")),
-					Float.parseFloat(XMLHelper.getNodeAttributeValue(nElmnt.getElementsByTagName("b").item(0), "value")),
-					Float.parseFloat(XMLHelper.getNodeAttributeValue(nElmnt.getElementsByTagName("a").item(0), "value"))
+					Float.parseFloat(components.get("r")),
+					Float.parseFloat(components.get("g")),
+					Float.parseFloat(components.get("b")),
+					Float.parseFloat(components.get("a"))
 				)
 			);
 		} else if (type.equals("float")) {
 			style.putTag(
 				name,
-				Float.parseFloat(XMLHelper.getNodeAttributeValue(nNode, "value"))
+				Float.parseFloat(value)
 			);
 		} else if (type.equals("int")) {
 			style.putTag(
 				name,
-				Integer.parseInt(XMLHelper.getNodeAttributeValue(nNode, "value"))
+				Integer.parseInt(value)
 			);
 		} else if (type.equals("boolean")) {
 			style.putTag(
 				name,
-				Boolean.parseBoolean(XMLHelper.getNodeAttributeValue(nNode, "value"))
+				Boolean.parseBoolean(value)
 			);
 		} else if (type.equals("String")) {
 			style.putTag(
 				name,
-				XMLHelper.getNodeAttributeValue(nNode, "value")
+				value
 			);
 		} else if (type.equals("Effect")) {
 			style.putTag(
 				name,
 				new Effect(
-					Effect.EffectType.valueOf(XMLHelper.getNodeAttributeValue(nElmnt.getElementsByTagName("effect").item(0), "value")),
-					Effect.EffectEvent.valueOf(XMLHelper.getNodeAttributeValue(nElmnt.getElementsByTagName("event").item(0), "value")),
-					Float.parseFloat(XMLHelper.getNodeAttributeValue(nElmnt.getElementsByTagName("speed").item(0), "value"))
+					Effect.EffectType.valueOf(components.get("effect")),
+					Effect.EffectEvent.valueOf(components.get("event")),
+					Float.parseFloat(components.get("speed"))
 				)
 			);
 		}
@@ -354,8 +447,16 @@ public class StyleManager {
 		return this.styles.get(key);
 	}
 	
+	/**
+	 * Returns the AudioNode associated to the provided key, loading it on first use
+	 * @param key The String key of the audio file
+	 * @return AudioNode audioNode or null if the key is not defined
+	 */
 	public AudioNode getAudioNode(String key) {
-		return this.audioNodes.get(key);
+		AudioNode audioNode = this.audioNodes.get(key);
+		if (audioNode == null)
+			audioNode = loadAudioNode(key);
+		return audioNode;
 	}
 	
 	public JmeCursor getCursor(CursorType cursorType) {